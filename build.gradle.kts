@@ -1,5 +1,12 @@
+import com.piyush.playwright_examples.build.ShardPlanSource
+import com.piyush.playwright_examples.build.ShardPlanner
+import com.piyush.playwright_examples.build.TestDurationListener
+import com.piyush.playwright_examples.build.TestDurationService
+import com.piyush.playwright_examples.build.TimingRegressionGate
+
 plugins {
     id("java")
+    id("java-test-fixtures")
 }
 
 group = "org.example"
@@ -17,21 +24,188 @@ java {
 }
 
 
+// Infrastructure shared by all the suites (support.* extensions, listeners, fixtures, test data) lives in src/testFixtures.
 dependencies {
-    testImplementation(platform("org.junit:junit-bom:5.9.1"))
-    testImplementation("org.junit.jupiter:junit-jupiter")
-    testImplementation(
+    testFixturesApi(platform("org.junit:junit-bom:5.9.1"))
+    testFixturesApi("org.junit.jupiter:junit-jupiter")
+    testFixturesApi("org.junit.platform:junit-platform-launcher")
+    testFixturesApi(
         group = "com.microsoft.playwright",
         name = "playwright",
         version = "1.48.0"
     )
 
-    testImplementation("org.assertj:assertj-core:3.27.0")
-    testImplementation("com.fasterxml.jackson.core:jackson-databind:2.18.2")
-    testImplementation("com.github.javafaker:javafaker:1.0.2")
-    testImplementation("io.github.uchagani:junit-playwright:2.0")
+    testFixturesApi("org.assertj:assertj-core:3.27.0")
+    testFixturesApi("com.fasterxml.jackson.core:jackson-databind:2.18.2")
+    testFixturesImplementation("com.fasterxml.jackson.module:jackson-module-blackbird:2.18.2")
+    testFixturesApi("com.github.javafaker:javafaker:1.0.2")
+    testFixturesApi("io.github.uchagani:junit-playwright:2.0")
+}
+
+// apiTest (BE) and uiTest (UI) are separate suites with their own JVM settings. With the configuration cache (on in
+// gradle.properties) both run at the same time, so ./gradlew apiTest uiTest reports the API results within seconds.
+testing {
+    suites {
+        // Unit tests of the support code, plus the benchmarks with : ./gradlew test -Pbenchmarks
+        val test by getting(JvmTestSuite::class) {
+            useJUnitJupiter("5.9.1")
+            dependencies {
+                implementation(testFixtures(project()))
+            }
+        }
+
+        // No browser, so the classes run in parallel in one small JVM.
+        val apiTest by registering(JvmTestSuite::class) {
+            useJUnitJupiter("5.9.1")
+            dependencies {
+                implementation(testFixtures(project()))
+            }
+            targets.all {
+                testTask.configure {
+                    maxHeapSize = "512m"
+                    systemProperty("junit.jupiter.execution.parallel.enabled", "true")
+                    systemProperty("junit.jupiter.execution.parallel.mode.default", "same_thread")
+                    systemProperty("junit.jupiter.execution.parallel.mode.classes.default", "concurrent")
+                }
+            }
+        }
+
+        // Browsers are heavy, so one class at a time per JVM. It is spread across JVMs with -Pshard / shardedTest instead.
+        val uiTest by registering(JvmTestSuite::class) {
+            useJUnitJupiter("5.9.1")
+            dependencies {
+                implementation(testFixtures(project()))
+            }
+            targets.all {
+                testTask.configure {
+                    maxHeapSize = "1g"
+                    systemProperty("junit.jupiter.execution.parallel.enabled", "false")
+                }
+            }
+        }
+    }
+}
+
+// Upload files used by both suites are read as files (Paths.get(resource URI)), so they are resources of the suites
+// themselves rather than part of the test fixtures jar.
+listOf("test", "apiTest", "uiTest").forEach { name ->
+    sourceSets.named(name) {
+        resources.srcDir("src/testData")
+    }
+}
+
+tasks.check {
+    dependsOn(testing.suites.named("apiTest"), testing.suites.named("uiTest"))
+}
+
+tasks.withType<Test>().configureEach {
+    useJUnitPlatform {
+        // Benchmarks are slow, run them explicitly with : ./gradlew test -Pbenchmarks
+        if (!project.hasProperty("benchmarks")) {
+            excludeTags("benchmark")
+        }
+    }
+
+    // Forward the -Dpw.* switches (trace mode, sample rate etc.) to the test JVM.
+    System.getProperties().stringPropertyNames()
+        .filter { it.startsWith("pw.") }
+        .forEach { systemProperty(it, System.getProperty(it)) }
+
+    // Every test is compared with its previous runs (TestTimingListener), -Dpw.regression.gate=fail fails the task on regressions.
+    systemProperty("pw.regression.suite", name)
+    if (System.getProperty("pw.regression.gate").equals("fail", ignoreCase = true)) {
+        doLast(TimingRegressionGate(file(System.getProperty("pw.regression.dir", "build/reports/test-timings") + "/$name-regressions.txt")))
+    }
+}
+
+// Duration of every test class, recorded by every test run and used to split the classes into shards of about the same length.
+// Kept out of the sources (.gradle/ is not committed) since every run rewrites it, CI should cache it between builds.
+val testDurationsFile = layout.projectDirectory.file(".gradle/test-durations.properties")
+val testDurations = gradle.sharedServices.registerIfAbsent("testDurations", TestDurationService::class) {
+    parameters.historyFile.set(testDurationsFile)
+}
+
+val uiTestSources = sourceSets.named("uiTest")
+
+fun shardPlan(shardCount: Int): List<ShardPlanner.Shard> = providers.of(ShardPlanSource::class) {
+    parameters.sourceRoot.set(layout.projectDirectory.dir("src/uiTest/java"))
+    parameters.historyFile.set(testDurationsFile)
+    parameters.shardCount.set(shardCount)
+}.get()
+
+fun Test.recordDurations(predictedMillis: Long) {
+    usesService(testDurations)
+    addTestListener(TestDurationListener(testDurations, path, predictedMillis))
+}
+
+fun Test.runShard(shard: ShardPlanner.Shard) {
+    enabled = shard.classes().isNotEmpty() // an empty filter would run everything.
+    filter { shard.classes().forEach { includeTestsMatching(it) } }
+    recordDurations(shard.predictedMillis())
 }
 
 tasks.test {
-    useJUnitPlatform()
-}
\ No newline at end of file
+    recordDurations(0)
+}
+tasks.named<Test>("apiTest") {
+    recordDurations(0)
+}
+
+// On CI every machine runs its own part of the UI suite : ./gradlew uiTest -Pshard=2/4
+tasks.named<Test>("uiTest") {
+    val shard = providers.gradleProperty("shard").orNull
+    if (shard == null) {
+        recordDurations(0)
+    } else {
+        val (index, count) = ShardPlanner.parse(shard)
+        runShard(shardPlan(count)[index - 1])
+    }
+}
+
+// Locally the UI shards run side by side, one JVM (so its own browsers and artifacts dir) each : ./gradlew shardedTest -PtestForks=4
+val testForks = providers.gradleProperty("testForks").map(String::toInt)
+    .getOrElse(maxOf(1, Runtime.getRuntime().availableProcessors() / 2))
+val testShardPlan by lazy { shardPlan(testForks) }
+val testShards = (1..testForks).map { index ->
+    tasks.register<Test>("testShard$index") {
+        description = "Runs shard $index of $testForks of the UI test classes, split by their recorded durations."
+        group = "verification"
+        testClassesDirs = uiTestSources.get().output.classesDirs
+        classpath = uiTestSources.get().runtimeClasspath
+        maxHeapSize = "1g"
+        systemProperty("pw.artifacts.dir", System.getProperty("pw.artifacts.dir", "build/artifacts") + "/shard-$index")
+        runShard(testShardPlan[index - 1])
+    }
+}
+tasks.register("shardedTest") {
+    description = "Runs all the UI test classes split in -PtestForks shards of about the same duration."
+    group = "verification"
+    dependsOn(testShards)
+}
+// JMH benchmarks (src/jmh), kept out of the test suites : ./gradlew jmh -PjmhArgs="PlaywrightLifecycle -prof gc"
+val jmh by sourceSets.creating
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
+    "jmhImplementation"("com.microsoft.playwright:playwright:1.48.0")
+    "jmhImplementation"(testFixtures(project)) // the api DTOs and ApiJson of the BE tests
+    "jmhImplementation"("com.fasterxml.jackson.module:jackson-module-afterburner:2.18.2")
+    "jmhImplementation"("com.fasterxml.jackson.module:jackson-module-blackbird:2.18.2")
+}
+
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks, results are written as JSON to build/reports/jmh."
+    group = "verification"
+    classpath = jmh.runtimeClasspath
+    mainClass.set("com.piyush.playwright_examples.jmh.BenchmarkMain")
+    args(providers.gradleProperty("jmhArgs").map { it.trim().split(Regex("\\s+")) }.getOrElse(emptyList()))
+}
+
+tasks.register<JavaExec>("analyzeTraces") {
+    description = "Ranks slowest actions, longest waits and heaviest responses of the recorded traces."
+    group = "verification"
+    classpath = sourceSets.testFixtures.get().runtimeClasspath
+    mainClass.set("com.piyush.playwright_examples.support.tracing.TraceAnalyzer")
+    args("build/artifacts/traces") // or ./gradlew analyzeTraces --args="--top 20 path/to/traces"
+}
@@ -0,0 +1,41 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.build;
+
+import java.util.ArrayList;
+import org.gradle.api.file.DirectoryProperty;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.provider.Property;
+import org.gradle.api.provider.ValueSource;
+import org.gradle.api.provider.ValueSourceParameters;
+
+/**
+ * The shard plan as a build input : with the configuration cache on, the cached plan is thrown away as soon as a test class
+ * is added / removed or the recorded durations change, instead of silently leaving new classes out of every shard.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public abstract class ShardPlanSource implements ValueSource<ArrayList<ShardPlanner.Shard>, ShardPlanSource.Params> {
+
+    public interface Params extends ValueSourceParameters {
+
+        DirectoryProperty getSourceRoot();
+
+        RegularFileProperty getHistoryFile();
+
+        Property<Integer> getShardCount();
+    }
+
+    @Override
+    public ArrayList<ShardPlanner.Shard> obtain() {
+        return new ArrayList<>(ShardPlanner.plan(
+            ShardPlanner.testClasses(getParameters().getSourceRoot().get().getAsFile().toPath()),
+            TestDurationHistory.read(getParameters().getHistoryFile().get().getAsFile().toPath()),
+            getParameters().getShardCount().get()
+        ));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.build;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Splits test classes into shards which should take about the same time, using the durations recorded by
+ * {@link TestDurationService} : longest class first, always into the shard with the least predicted time so far (LPT).
+ * Classes without history are assumed to take the median of the known ones.
+ *
+ * The plan only depends on the class names and the history file, so every CI machine running -Pshard=i/n computes the same
+ * plan and each class runs on exactly one of them.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class ShardPlanner {
+
+    /* Used when nothing has been recorded yet. */
+    static final long DEFAULT_CLASS_MILLIS = 10_000;
+
+    private static final Pattern TEST_ANNOTATION = Pattern.compile("@(Test|ParameterizedTest|RepeatedTest|TestFactory)\\b");
+
+    public record Shard(int index, List<String> classes, long predictedMillis) implements Serializable {
+    }
+
+    private ShardPlanner() {
+    }
+
+    public static List<Shard> plan(Collection<String> classes, Map<String, Long> durations, int shardCount) {
+
+        long fallback = median(classes.stream().map(durations::get).filter(duration -> duration != null).sorted().toList());
+
+        List<String> longestFirst = classes.stream()
+            .sorted(Comparator.comparingLong((String testClass) -> durations.getOrDefault(testClass, fallback)).reversed()
+                .thenComparing(Comparator.naturalOrder()))
+            .toList();
+
+        List<List<String>> assigned = new ArrayList<>();
+        PriorityQueue<long[]> loads = new PriorityQueue<>(Comparator.<long[]>comparingLong(load -> load[0]).thenComparingLong(load -> load[1]));
+        for (int i = 0; i < shardCount; i++) {
+            assigned.add(new ArrayList<>());
+            loads.add(new long[]{0, i});
+        }
+
+        for (String testClass : longestFirst) {
+            long[] lightest = loads.poll();
+            assigned.get((int) lightest[1]).add(testClass);
+            lightest[0] += durations.getOrDefault(testClass, fallback);
+            loads.add(lightest);
+        }
+
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            List<String> shardClasses = assigned.get(i).stream().sorted().toList();
+            shards.add(new Shard(i + 1, shardClasses, shardClasses.stream().mapToLong(testClass -> durations.getOrDefault(testClass, fallback)).sum()));
+        }
+        return shards;
+    }
+
+    /* Top level classes under the source root which have at least one test method, i.e. com.piyush.playwright_examples.UI._7... */
+    public static List<String> testClasses(Path sourceRoot) {
+
+        if (!Files.isDirectory(sourceRoot)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(sourceRoot)) {
+            return files.filter(file -> file.toString().endsWith(".java"))
+                .filter(ShardPlanner::hasTests)
+                .map(file -> {
+                    String relative = sourceRoot.relativize(file).toString();
+                    return relative.substring(0, relative.length() - ".java".length()).replace(file.getFileSystem().getSeparator(), ".");
+                })
+                .sorted()
+                .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /* "2/4" is the second of four shards. */
+    public static int[] parse(String shard) {
+
+        String[] parts = shard.split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Shard should be given as index/count i.e. 2/4, got " + shard);
+        }
+        int index;
+        int count;
+        try {
+            index = Integer.parseInt(parts[0].trim());
+            count = Integer.parseInt(parts[1].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Shard should be given as index/count i.e. 2/4, got " + shard, e);
+        }
+        if (count < 1 || index < 1 || index > count) {
+            throw new IllegalArgumentException("Shard index should be between 1 and " + count + ", got " + shard);
+        }
+        return new int[]{index, count};
+    }
+
+    private static boolean hasTests(Path file) {
+        try {
+            return TEST_ANNOTATION.matcher(Files.readString(file)).find();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long median(List<Long> sorted) {
+        return sorted.isEmpty() ? DEFAULT_CLASS_MILLIS : sorted.get(sorted.size() / 2);
+    }
+}
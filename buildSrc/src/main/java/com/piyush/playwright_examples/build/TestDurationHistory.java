@@ -0,0 +1,66 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.build;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Duration of every test class in milli seconds, kept as a sorted properties file (one line per class). It lives in
+ * .gradle/ of the project : it is rewritten by every test run, so it is not committed (CI caches it with the rest of
+ * .gradle/) and it survives ./gradlew clean. A new measurement is averaged with the recorded one, so a single slow (or
+ * fast) run does not throw the next plan off.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class TestDurationHistory {
+
+    private TestDurationHistory() {
+    }
+
+    public static Map<String, Long> read(Path file) {
+
+        Map<String, Long> durations = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return durations;
+        }
+
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        properties.stringPropertyNames().forEach(testClass -> durations.put(testClass, Long.parseLong(properties.getProperty(testClass).trim())));
+        return durations;
+    }
+
+    public static void merge(Path file, Map<String, Long> measured) {
+
+        Map<String, Long> durations = read(file);
+        measured.forEach((testClass, millis) -> durations.merge(testClass, millis, (recorded, latest) -> (recorded + latest) / 2));
+
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (Writer writer = Files.newBufferedWriter(file)) {
+                writer.write("# Test class durations in ms, written by the test tasks and used to plan the shards (-Pshard=i/n, shardedTest).\n");
+                for (Map.Entry<String, Long> entry : durations.entrySet()) {
+                    writer.write(entry.getKey() + "=" + entry.getValue() + "\n");
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.build;
+
+import org.gradle.api.provider.Provider;
+import org.gradle.api.tasks.testing.TestDescriptor;
+import org.gradle.api.tasks.testing.TestListener;
+import org.gradle.api.tasks.testing.TestResult;
+
+/**
+ * Reports the duration of every test class (class level suite) and of the whole task (root suite) to {@link TestDurationService}.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class TestDurationListener implements TestListener {
+
+    private final Provider<TestDurationService> service;
+    private final String taskPath;
+    private final long predictedMillis;
+    private int classes;
+
+    public TestDurationListener(Provider<TestDurationService> service, String taskPath, long predictedMillis) {
+        this.service = service;
+        this.taskPath = taskPath;
+        this.predictedMillis = predictedMillis;
+    }
+
+    @Override
+    public void beforeSuite(TestDescriptor suite) {
+    }
+
+    @Override
+    public void afterSuite(TestDescriptor suite, TestResult result) {
+
+        long millis = result.getEndTime() - result.getStartTime();
+        if (suite.getParent() == null) {
+            service.get().taskFinished(taskPath, predictedMillis, millis, classes);
+        } else if (suite.getClassName() != null && suite.getClassName().equals(suite.getName()) && !suite.getClassName().contains("$")) {
+            classes++; // @Nested classes are part of their outer class.
+            service.get().classFinished(suite.getClassName(), millis);
+        }
+    }
+
+    @Override
+    public void beforeTest(TestDescriptor test) {
+    }
+
+    @Override
+    public void afterTest(TestDescriptor test, TestResult result) {
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.build;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import org.gradle.api.file.RegularFileProperty;
+import org.gradle.api.services.BuildService;
+import org.gradle.api.services.BuildServiceParameters;
+
+/**
+ * Collects the test class durations of all the test tasks of a build (through {@link TestDurationListener}), and at the end
+ * of the build merges them into the history file and prints predicted vs actual duration of every shard.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public abstract class TestDurationService implements BuildService<TestDurationService.Params>, AutoCloseable {
+
+    public interface Params extends BuildServiceParameters {
+
+        RegularFileProperty getHistoryFile();
+    }
+
+    private record ShardResult(long predictedMillis, long actualMillis, int classes) {
+    }
+
+    private final Map<String, Long> classMillis = new ConcurrentHashMap<>();
+    private final Map<String, ShardResult> shards = new ConcurrentSkipListMap<>();
+
+    void classFinished(String testClass, long millis) {
+        classMillis.merge(testClass, millis, Math::max); // same class run by more than one task i.e. uiTest and testShard1.
+    }
+
+    void taskFinished(String taskPath, long predictedMillis, long actualMillis, int classes) {
+        if (predictedMillis > 0) {
+            shards.put(taskPath, new ShardResult(predictedMillis, actualMillis, classes));
+        }
+    }
+
+    @Override
+    public void close() {
+
+        if (!classMillis.isEmpty()) {
+            TestDurationHistory.merge(getParameters().getHistoryFile().get().getAsFile().toPath(), classMillis);
+        }
+        if (shards.isEmpty()) {
+            return;
+        }
+
+        System.out.println("Test shards : predicted vs actual");
+        System.out.printf("%-28s | %7s | %13s | %10s | %7s%n", "task", "classes", "predicted (s)", "actual (s)", "error");
+        shards.forEach((task, shard) -> System.out.printf("%-28s | %7d | %13.1f | %10.1f | %+6.0f%%%n",
+            task, shard.classes(), shard.predictedMillis() / 1000.0, shard.actualMillis() / 1000.0,
+            100.0 * (shard.actualMillis() - shard.predictedMillis()) / shard.predictedMillis()));
+    }
+}
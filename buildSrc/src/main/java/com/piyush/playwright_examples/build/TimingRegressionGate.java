@@ -0,0 +1,44 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.build;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import org.gradle.api.Action;
+import org.gradle.api.GradleException;
+import org.gradle.api.Task;
+
+/**
+ * Fails a test task when its JVM reported timing regressions (the regressions file written by TestTimingListener of the
+ * test fixtures), used with -Dpw.regression.gate=fail.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class TimingRegressionGate implements Action<Task> {
+
+    private final File regressionsFile;
+
+    public TimingRegressionGate(File regressionsFile) {
+        this.regressionsFile = regressionsFile;
+    }
+
+    @Override
+    public void execute(Task task) {
+
+        if (!regressionsFile.exists()) {
+            return;
+        }
+        try {
+            throw new GradleException("Tests of " + task.getPath() + " got slower than their baseline (-Dpw.regression.gate=fail) :\n"
+                + Files.readString(regressionsFile.toPath()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
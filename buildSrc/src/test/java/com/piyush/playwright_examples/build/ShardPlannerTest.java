@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.build;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class ShardPlannerTest {
+
+    @Test
+    public void testLongestClassGoesToTheLightestShard() {
+
+        Map<String, Long> durations = Map.of("A", 70L, "B", 50L, "C", 40L, "D", 30L, "E", 20L);
+
+        List<ShardPlanner.Shard> shards = ShardPlanner.plan(List.of("E", "D", "C", "B", "A"), durations, 2);
+
+        assertThat(shards).containsExactly(
+            new ShardPlanner.Shard(1, List.of("A", "D"), 100),
+            new ShardPlanner.Shard(2, List.of("B", "C", "E"), 110));
+    }
+
+    @Test
+    public void testEveryClassRunsOnExactlyOneShard() {
+
+        List<String> classes = List.of("A", "B", "C", "D", "E", "F");
+        Map<String, Long> durations = Map.of("A", 500L, "B", 400L, "C", 300L, "D", 300L, "E", 200L, "F", 100L);
+
+        List<ShardPlanner.Shard> shards = ShardPlanner.plan(classes, durations, 3);
+
+        assertThat(shards).hasSize(3);
+        assertThat(shards.stream().flatMap(shard -> shard.classes().stream())).containsExactlyInAnyOrderElementsOf(classes);
+        assertThat(shards).extracting(ShardPlanner.Shard::predictedMillis).containsExactly(600L, 600L, 600L);
+    }
+
+    @Test
+    public void testClassWithoutHistoryTakesTheMedianOfTheKnownOnes() {
+
+        Map<String, Long> durations = Map.of("A", 100L, "B", 10L, "C", 30L, "D", 50L);
+
+        List<ShardPlanner.Shard> shards = ShardPlanner.plan(List.of("A", "B", "C", "D", "New"), durations, 2);
+
+        // New is planned as 50 ms, the median of 10, 30, 50 and 100.
+        assertThat(shards).containsExactly(
+            new ShardPlanner.Shard(1, List.of("A", "C"), 130),
+            new ShardPlanner.Shard(2, List.of("B", "D", "New"), 110));
+    }
+
+    @Test
+    public void testNoHistoryAtAll() {
+
+        List<ShardPlanner.Shard> shards = ShardPlanner.plan(List.of("A", "B", "C"), Map.of(), 2);
+
+        assertThat(shards).extracting(ShardPlanner.Shard::predictedMillis)
+            .containsExactly(2 * ShardPlanner.DEFAULT_CLASS_MILLIS, ShardPlanner.DEFAULT_CLASS_MILLIS);
+    }
+
+    @Test
+    public void testMoreShardsThanClasses() {
+
+        List<ShardPlanner.Shard> shards = ShardPlanner.plan(List.of("A"), Map.of("A", 10L), 3);
+
+        assertThat(shards).extracting(ShardPlanner.Shard::classes).containsExactly(List.of("A"), List.of(), List.of());
+    }
+
+    @Test
+    public void testParse() {
+        assertThat(ShardPlanner.parse("2/4")).containsExactly(2, 4);
+        assertThat(ShardPlanner.parse(" 1 / 1 ")).containsExactly(1, 1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "2", "2/4/6", "a/4", "2/four", "0/4", "5/4", "-1/4", "1/0"})
+    public void testParseRejectsBadShards(String shard) {
+        assertThatIllegalArgumentException().isThrownBy(() -> ShardPlanner.parse(shard)).withMessageContaining(shard);
+    }
+}
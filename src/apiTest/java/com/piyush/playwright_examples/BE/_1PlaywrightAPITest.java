@@ -8,15 +8,17 @@ package com.piyush.playwright_examples.BE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.javafaker.Faker;
 import com.microsoft.playwright.APIRequest;
 import com.microsoft.playwright.APIRequestContext;
 import com.microsoft.playwright.APIResponse;
 import com.microsoft.playwright.Playwright;
 import com.microsoft.playwright.impl.RequestOptionsImpl;
-import java.io.IOException;
+import com.piyush.playwright_examples.support.api.ApiJson;
+import com.piyush.playwright_examples.support.api.ProductPage;
+import com.piyush.playwright_examples.support.api.RegisteredUser;
+import com.piyush.playwright_examples.support.api.User;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 
@@ -34,24 +36,8 @@ import org.junit.jupiter.api.Test;
  */
 public class _1PlaywrightAPITest {
 
-    private static ObjectMapper MAPPER = new ObjectMapper();
-
-    private record User(
-        String first_name,
-        String last_name,
-        String address,
-        String city,
-        String state,
-        String country,
-        String postcode,
-        String phone,
-        String dob,
-        String email,
-        String password
-    ){};
-
     @Test
-    public void testGetAPI() throws IOException {
+    public void testGetAPI() {
 
         Playwright playwright = Playwright.create();
         APIRequestContext apiRequestContext = playwright
@@ -67,16 +53,15 @@ public class _1PlaywrightAPITest {
 
         APIResponse apiResponse = apiRequestContext.get("/products?page=2");
 
-        byte[] body = apiResponse.body();
-
-        JsonNode jsonNode = MAPPER.readTree(body);
+        byte[] body = apiResponse.body(); // fetched from the driver once, for the DTO and the text below.
+        ProductPage productPage = ApiJson.read(body, ProductPage.class); // no JsonNode tree
 
         System.out.println("=================== API Json Response Starts ==================");
-        System.out.println("Json string : " + jsonNode.toPrettyString());
+        System.out.println("Products page : " + productPage);
         System.out.println("=================== API Json Response Ends ==================");
 
         System.out.println("=================== API Response as Text Starts ==================");
-        System.out.println("Text api response : " + apiResponse.text());
+        System.out.println("Text api response : " + new String(body, StandardCharsets.UTF_8));
         System.out.println("=================== API Json Response as Text Ends ==================");
 
         System.out.println("=================== API URL Starts ==================");
@@ -94,13 +79,16 @@ public class _1PlaywrightAPITest {
 
         assertTrue(apiResponse.ok()); // Checks if status is in the range of 200-299
 
+        assertThat(productPage.currentPage()).isEqualTo(2);
+        assertThat(productPage.data()).isNotEmpty().allSatisfy(product -> assertThat(product.price()).isPositive());
+
         apiResponse.dispose(); // either do this
 //        apiRequestContext.dispose(); // or do this. This will dispose the whole request context so you cannot make further calls on request context.
         playwright.close();
     }
 
     @Test
-    public void testGetAPIWithRetry() throws IOException {
+    public void testGetAPIWithRetry() {
 
         Playwright playwright = Playwright.create();
         APIRequestContext apiRequestContext = playwright
@@ -116,17 +104,18 @@ public class _1PlaywrightAPITest {
 //                .setIgnoreHTTPSErrors()
         );
 
-        byte[] body = apiResponse.body();
-
-        JsonNode jsonNode = MAPPER.readTree(body);
+        ProductPage productPage = ApiJson.read(apiResponse, ProductPage.class); // binds apiResponse.body(), no JsonNode tree
 
         System.out.println("=================== API Json Response Starts ==================");
-        System.out.println("Json string : " + jsonNode.toPrettyString());
+        System.out.println("Products page : " + productPage);
         System.out.println("=================== API Json Response Ends ==================");
 
 
         assertTrue(apiResponse.ok()); // Checks if status is in the range of 200-299
 
+        assertThat(productPage.currentPage()).isEqualTo(2);
+        assertThat(productPage.data()).isNotEmpty().allSatisfy(product -> assertThat(product.price()).isPositive());
+
         apiResponse.dispose(); // either do this
 //        apiRequestContext.dispose(); // or do this. This will dispose the whole request context so you cannot make further calls on request context.
 
@@ -134,7 +123,7 @@ public class _1PlaywrightAPITest {
     }
 
     @Test
-    public void testPOSTAPI() throws IOException {
+    public void testPOSTAPI() {
 
         Playwright playwright = Playwright.create();
         APIRequestContext apiRequestContext = playwright
@@ -148,17 +137,17 @@ public class _1PlaywrightAPITest {
                 )
             );
 
+        User user = createUser();
+
         APIResponse apiResponse = apiRequestContext.post("/users/register", new RequestOptionsImpl()
-            .setData(createUser())
+            .setData(ApiJson.write(user)) // setData(user) would serialize it with a Gson of Playwright
             .setHeader("Content-Type", "application/json")
         );
 
-        byte[] body = apiResponse.body();
-
-        JsonNode jsonNode = MAPPER.readTree(body);
+        RegisteredUser registeredUser = ApiJson.read(apiResponse, RegisteredUser.class);
 
         System.out.println("=================== API Json Response Starts ==================");
-        System.out.println("Json string : " + jsonNode.toPrettyString());
+        System.out.println("Registered user : " + registeredUser);
         System.out.println("=================== API Json Response Ends ==================");
 
         System.out.println("Status code : " + apiResponse.status());
@@ -167,6 +156,9 @@ public class _1PlaywrightAPITest {
 
         assertTrue(apiResponse.ok()); // Checks if status is in the range of 200-299
 
+        assertThat(registeredUser.id()).isNotBlank();
+        assertThat(registeredUser.email()).isEqualToIgnoringCase(user.email());
+
 
         apiResponse.dispose(); // either do this
 //        apiRequestContext.dispose(); // or do this. This will dispose the whole request context so you cannot make further calls on request context.
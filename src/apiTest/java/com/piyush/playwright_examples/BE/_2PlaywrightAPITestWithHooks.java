@@ -8,15 +8,17 @@ package com.piyush.playwright_examples.BE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.javafaker.Faker;
 import com.microsoft.playwright.APIRequest;
 import com.microsoft.playwright.APIRequestContext;
 import com.microsoft.playwright.APIResponse;
 import com.microsoft.playwright.Playwright;
 import com.microsoft.playwright.impl.RequestOptionsImpl;
-import java.io.IOException;
+import com.piyush.playwright_examples.support.api.ApiJson;
+import com.piyush.playwright_examples.support.api.ProductPage;
+import com.piyush.playwright_examples.support.api.RegisteredUser;
+import com.piyush.playwright_examples.support.api.User;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,22 +41,6 @@ import org.junit.jupiter.api.TestInstance;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class _2PlaywrightAPITestWithHooks {
 
-    private static ObjectMapper MAPPER = new ObjectMapper();
-
-    private record User(
-        String first_name,
-        String last_name,
-        String address,
-        String city,
-        String state,
-        String country,
-        String postcode,
-        String phone,
-        String dob,
-        String email,
-        String password
-    ){};
-
     private Playwright playwright;
     private APIRequestContext apiRequestContext;
 
@@ -85,20 +71,19 @@ public class _2PlaywrightAPITestWithHooks {
     }
 
     @Test
-    public void testGetAPI() throws IOException {
+    public void testGetAPI() {
 
         APIResponse apiResponse = apiRequestContext.get("/products?page=2");
 
-        byte[] body = apiResponse.body();
-
-        JsonNode jsonNode = MAPPER.readTree(body);
+        byte[] body = apiResponse.body(); // fetched from the driver once, for the DTO and the text below.
+        ProductPage productPage = ApiJson.read(body, ProductPage.class); // no JsonNode tree
 
         System.out.println("=================== API Json Response Starts ==================");
-        System.out.println("Json string : " + jsonNode.toPrettyString());
+        System.out.println("Products page : " + productPage);
         System.out.println("=================== API Json Response Ends ==================");
 
         System.out.println("=================== API Response as Text Starts ==================");
-        System.out.println("Text api response : " + apiResponse.text());
+        System.out.println("Text api response : " + new String(body, StandardCharsets.UTF_8));
         System.out.println("=================== API Json Response as Text Ends ==================");
 
         System.out.println("=================== API URL Starts ==================");
@@ -115,10 +100,13 @@ public class _2PlaywrightAPITestWithHooks {
 
 
         assertTrue(apiResponse.ok()); // Checks if status is in the range of 200-299
+
+        assertThat(productPage.currentPage()).isEqualTo(2);
+        assertThat(productPage.data()).isNotEmpty().allSatisfy(product -> assertThat(product.price()).isPositive());
     }
 
     @Test
-    public void testGetAPIWithRetry() throws IOException {
+    public void testGetAPIWithRetry() {
 
         APIResponse apiResponse = apiRequestContext.get(
             "/products",
@@ -129,32 +117,33 @@ public class _2PlaywrightAPITestWithHooks {
 //                .setIgnoreHTTPSErrors()
         );
 
-        byte[] body = apiResponse.body();
-
-        JsonNode jsonNode = MAPPER.readTree(body);
+        ProductPage productPage = ApiJson.read(apiResponse, ProductPage.class); // binds apiResponse.body(), no JsonNode tree
 
         System.out.println("=================== API Json Response Starts ==================");
-        System.out.println("Json string : " + jsonNode.toPrettyString());
+        System.out.println("Products page : " + productPage);
         System.out.println("=================== API Json Response Ends ==================");
 
 
         assertTrue(apiResponse.ok()); // Checks if status is in the range of 200-299
+
+        assertThat(productPage.currentPage()).isEqualTo(2);
+        assertThat(productPage.data()).isNotEmpty().allSatisfy(product -> assertThat(product.price()).isPositive());
     }
 
     @Test
-    public void testPOSTAPI() throws IOException {
+    public void testPOSTAPI() {
+
+        User user = createUser();
 
         APIResponse apiResponse = apiRequestContext.post("/users/register", new RequestOptionsImpl()
-            .setData(createUser())
+            .setData(ApiJson.write(user)) // setData(user) would serialize it with a Gson of Playwright
             .setHeader("Content-Type", "application/json")
         );
 
-        byte[] body = apiResponse.body();
-
-        JsonNode jsonNode = MAPPER.readTree(body);
+        RegisteredUser registeredUser = ApiJson.read(apiResponse, RegisteredUser.class);
 
         System.out.println("=================== API Json Response Starts ==================");
-        System.out.println("Json string : " + jsonNode.toPrettyString());
+        System.out.println("Registered user : " + registeredUser);
         System.out.println("=================== API Json Response Ends ==================");
 
         System.out.println("Status code : " + apiResponse.status());
@@ -162,6 +151,9 @@ public class _2PlaywrightAPITestWithHooks {
         assertThat(apiResponse.status()).isEqualTo(201);
 
         assertTrue(apiResponse.ok()); // Checks if status is in the range of 200-299
+
+        assertThat(registeredUser.id()).isNotBlank();
+        assertThat(registeredUser.email()).isEqualToIgnoringCase(user.email());
     }
 
     private User createUser(){
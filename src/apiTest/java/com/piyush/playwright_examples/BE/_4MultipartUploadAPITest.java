@@ -0,0 +1,122 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.BE;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.piyush.playwright_examples.support.SuiteProperties;
+import com.piyush.playwright_examples.support.api.ApiJson;
+import com.piyush.playwright_examples.support.api.UploadedParts;
+import com.piyush.playwright_examples.support.fixtures.LargePayloadServer;
+import com.piyush.playwright_examples.support.uploads.LargeFiles;
+import com.piyush.playwright_examples.support.uploads.MultipartBody;
+import com.piyush.playwright_examples.support.uploads.MultipartUploader;
+import com.piyush.playwright_examples.support.uploads.UploadResult;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Multipart uploads with {@link MultipartBody}, which streams the file parts from disk instead of loading them in memory
+ * like Playwright's FormData does (it accepts files only as byte[]).
+ *
+ * Uploads go to the local {@link LargePayloadServer}, which answers the size it received for every part. Size of the
+ * large file is -Dpw.upload.sizeMb (default 8), big enough to span many HttpClient buffers while keeping the suite fast.
+ * The heap stays flat whatever the size, which is measured by LargeUploadBenchmark in its own JVM : the classes of this
+ * suite run concurrently, so the heap of this JVM says nothing about a single upload.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class _4MultipartUploadAPITest {
+
+    private LargePayloadServer server;
+    private MultipartUploader uploader;
+
+    @BeforeAll
+    public void setUp() throws IOException {
+
+        server = LargePayloadServer.start();
+        uploader = new MultipartUploader(server.url("/"), Map.of("Accept", "application/json"));
+    }
+
+    @AfterAll
+    public void teardown() {
+        server.close();
+    }
+
+    @Test
+    public void testUploadFilesWithFields() throws IOException, URISyntaxException {
+
+        Path textFile = Paths.get(ClassLoader.getSystemResource("data/sample-data.txt").toURI());
+        Path jsonFile = Paths.get(ClassLoader.getSystemResource("data/sample-data-json.json").toURI());
+
+        MultipartBody body = MultipartBody.builder()
+            .field("description", "Sample data files")
+            .file("attachment", textFile)
+            .file("attachment", jsonFile, "renamed.json", "application/json")
+            .build();
+
+        UploadResult result = uploader.post("/upload", body);
+        System.out.println("Upload result : " + result);
+
+        List<UploadedParts.Part> parts = ApiJson.read(result.body(), UploadedParts.class).parts();
+        System.out.println("Received parts : " + parts);
+
+        assertTrue(result.ok());
+        assertThat(parts).hasSize(3);
+        assertThat(parts.get(0).size()).isEqualTo("Sample data files".length());
+        assertThat(parts.get(1).filename()).isEqualTo("sample-data.txt");
+        assertThat(parts.get(1).size()).isEqualTo(Files.size(textFile));
+        assertThat(parts.get(2).filename()).isEqualTo("renamed.json");
+        assertThat(parts.get(2).size()).isEqualTo(Files.size(jsonFile));
+    }
+
+    @Test
+    public void testUploadLargeFile(@TempDir Path dir) throws IOException {
+
+        long size = SuiteProperties.integer("pw.upload.sizeMb", 8) * 1024L * 1024L;
+        Path largeFile = LargeFiles.generated(dir, "large.bin", size);
+
+        UploadResult result = uploader.post("/upload", MultipartBody.builder().file("attachment", largeFile).build());
+        System.out.println("Upload result : " + result);
+
+        assertTrue(result.ok());
+        assertThat(ApiJson.read(result.body(), UploadedParts.class).parts().get(0).size()).isEqualTo(size);
+        assertThat(result.bytesSent()).isGreaterThan(size);
+    }
+
+    @Test
+    public void testUploadManyParts(@TempDir Path dir) throws IOException {
+
+        MultipartBody.Builder builder = MultipartBody.builder();
+        for (int i = 0; i < 200; i++) {
+            builder.file("files", LargeFiles.generated(dir, "part-" + i + ".bin", 1024L * (i + 1)));
+        }
+        MultipartBody body = builder.build();
+
+        UploadResult result = uploader.post("/upload", body);
+        System.out.println("Upload result : " + result);
+
+        List<UploadedParts.Part> parts = ApiJson.read(result.body(), UploadedParts.class).parts();
+        assertThat(parts).hasSize(200);
+        for (int i = 0; i < 200; i++) {
+            assertThat(parts.get(i).size()).isEqualTo(1024L * (i + 1));
+        }
+        assertThat(result.bytesSent()).isEqualTo(body.contentLength());
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.jmh;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.google.gson.FieldNamingPolicy;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.piyush.playwright_examples.support.api.ApiJson;
+import com.piyush.playwright_examples.support.api.ProductPage;
+import com.piyush.playwright_examples.support.api.User;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * What the BE tests do with a response body (the byte[] of APIResponse.body()) compared with the alternatives, on product
+ * list payloads of 1KB to 10MB :
+ *
+ *    readTree                     MAPPER.readTree(body), what the tests did before ApiJson
+ *    readTreePrettyPrintAndText   + jsonNode.toPrettyString() + apiResponse.text(), the full logging path they had
+ *    streaming                    JsonParser tokens, nothing built but what is asked for (product count and total price)
+ *    bindRecords                  MAPPER.readValue(body, ProductPage.class), records instead of a tree
+ *    bindRecordsCachedReader      same through an ObjectReader built once
+ *    bindRecordsAfterburner       same with the afterburner module (byte code generated accessors)
+ *    bindRecordsBlackbird         same with the blackbird module (LambdaMetafactory accessors, the successor of afterburner)
+ *    bindApiJson                  ApiJson.read(body, ProductPage.class), what the tests do, a cached reader looked up by type
+ *
+ * The records are the DTOs of the BE tests (support.api). For request bodies, their User record serialized the way
+ * setData(user) does it (Gson, inside Playwright) vs Jackson with and without a cached ObjectWriter / blackbird and ApiJson.
+ *
+ * Allocation rate matters as much as throughput here, so run it with the gc profiler :
+ * ./gradlew jmh -PjmhArgs="ApiResponseHandling -prof gc"  (gc.alloc.rate.norm is the bytes allocated per operation)
+ *
+ * NOTE : APIResponse.text() is modelled as new String(body, UTF_8) which is what it does once the body is fetched, but in
+ * the tests it fetches the body from the driver again, so the real path is even more expensive than measured here.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseHandlingBenchmark {
+
+    /* Configured like ApiJson.MAPPER, created once. */
+    private static final ObjectMapper MAPPER = ApiJson.mapper(false);
+    private static final ObjectMapper AFTERBURNER = ApiJson.mapper(false).registerModule(new AfterburnerModule());
+    private static final ObjectMapper BLACKBIRD = ApiJson.mapper(true);
+
+    private static final ObjectReader PAGE_READER = MAPPER.readerFor(ProductPage.class);
+    private static final ObjectReader AFTERBURNER_PAGE_READER = AFTERBURNER.readerFor(ProductPage.class);
+    private static final ObjectReader BLACKBIRD_PAGE_READER = BLACKBIRD.readerFor(ProductPage.class);
+
+    private static final ObjectWriter USER_WRITER = MAPPER.writerFor(User.class);
+    private static final ObjectWriter BLACKBIRD_USER_WRITER = BLACKBIRD.writerFor(User.class);
+    /* Same field names as the Jackson writers, the records of the tests used snake case components for Gson. */
+    private static final Gson GSON = new GsonBuilder().setFieldNamingPolicy(FieldNamingPolicy.LOWER_CASE_WITH_UNDERSCORES).create();
+
+    @State(Scope.Benchmark)
+    public static class Payload {
+
+        @Param({"1KB", "100KB", "1MB", "10MB"})
+        public String size;
+
+        byte[] body;
+
+        @Setup(Level.Trial)
+        public void create() {
+            body = ProductPayloads.productPage(ProductPayloads.bytes(size));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Request {
+
+        final User user = new User("Piyush", "Kumar", "Street 1, Bangalore 560001", "Bangalore", "Karnataka", "IN", "560001",
+            "+91 99999 99999", "1990-01-01", "piyush@kumar.com", "Piyush@AK190");
+    }
+
+    @Benchmark
+    public JsonNode readTree(Payload payload) throws IOException {
+        return MAPPER.readTree(payload.body);
+    }
+
+    @Benchmark
+    public void readTreePrettyPrintAndText(Payload payload, Blackhole blackhole) throws IOException {
+        JsonNode jsonNode = MAPPER.readTree(payload.body);
+        blackhole.consume(jsonNode.toPrettyString());
+        blackhole.consume(new String(payload.body, StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public double streaming(Payload payload, Blackhole blackhole) throws IOException {
+
+        int products = 0;
+        double totalPrice = 0;
+        try (JsonParser parser = MAPPER.getFactory().createParser(payload.body)) {
+            int depth = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token.isStructStart()) {
+                    depth++;
+                } else if (token.isStructEnd()) {
+                    depth--;
+                } else if (token == JsonToken.FIELD_NAME && depth == 3 && "price".equals(parser.currentName())) {
+                    parser.nextToken();
+                    totalPrice += parser.getDoubleValue();
+                    products++;
+                }
+            }
+        }
+        blackhole.consume(products);
+        return totalPrice;
+    }
+
+    @Benchmark
+    public ProductPage bindRecords(Payload payload) throws IOException {
+        return MAPPER.readValue(payload.body, ProductPage.class);
+    }
+
+    @Benchmark
+    public ProductPage bindRecordsCachedReader(Payload payload) throws IOException {
+        return PAGE_READER.readValue(payload.body);
+    }
+
+    @Benchmark
+    public ProductPage bindApiJson(Payload payload) {
+        return ApiJson.read(payload.body, ProductPage.class);
+    }
+
+    @Benchmark
+    public ProductPage bindRecordsAfterburner(Payload payload) throws IOException {
+        return AFTERBURNER_PAGE_READER.readValue(payload.body);
+    }
+
+    @Benchmark
+    public ProductPage bindRecordsBlackbird(Payload payload) throws IOException {
+        return BLACKBIRD_PAGE_READER.readValue(payload.body);
+    }
+
+    @Benchmark
+    public String serializeUserGson(Request request) {
+        return GSON.toJson(request.user);
+    }
+
+    @Benchmark
+    public byte[] serializeUserMapper(Request request) throws IOException {
+        return MAPPER.writeValueAsBytes(request.user);
+    }
+
+    @Benchmark
+    public byte[] serializeUserCachedWriter(Request request) throws IOException {
+        return USER_WRITER.writeValueAsBytes(request.user);
+    }
+
+    @Benchmark
+    public byte[] serializeUserApiJson(Request request) {
+        return ApiJson.write(request.user);
+    }
+
+    @Benchmark
+    public byte[] serializeUserBlackbird(Request request) throws IOException {
+        return BLACKBIRD_USER_WRITER.writeValueAsBytes(request.user);
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.jmh;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of ./gradlew jmh. Takes the usual JMH command line (./gradlew jmh -PjmhArgs="PlaywrightLifecycle -prof gc")
+ * and, unless -rff is given, writes the results as JSON to build/reports/jmh/jmh-{yyyyMMdd-HHmmss}.json, one file per run
+ * so they can be compared over time (i.e. on https://jmh.morethan.io).
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()
+            || commandLine.shouldListResultFormats() || commandLine.shouldListWithParams()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResult().hasValue()) {
+            Path results = Paths.get(System.getProperty("jmh.resultsDir", "build/reports/jmh"))
+                .resolve("jmh-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+            Files.createDirectories(results.getParent());
+            options.result(results.toString()).resultFormat(ResultFormatType.JSON);
+            System.out.println("JMH results : " + results.toAbsolutePath());
+        }
+
+        new Runner(options.build()).run();
+    }
+}
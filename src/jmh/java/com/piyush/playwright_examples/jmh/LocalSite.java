@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.jmh;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Local stand in for the toolshop, so the benchmarks measure Playwright and not the internet : a product listing page
+ * (24 cards, a search box, like the one the UI examples search on) and a storage state file of a logged in user (auth
+ * cookies + local storage, like the credential.json written by _9AutomaticLogin).
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+@State(Scope.Benchmark)
+public class LocalSite {
+
+    private static final int PRODUCTS = 24;
+
+    private HttpServer server;
+    private Path storageState;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+
+        byte[] page = productsPage().getBytes(StandardCharsets.UTF_8);
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, page.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(page);
+            }
+        });
+        server.start();
+
+        storageState = Files.createTempFile("storage-state", ".json");
+        Files.writeString(storageState, storageStateJson(origin()));
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        server.stop(0);
+        Files.deleteIfExists(storageState);
+    }
+
+    public String url() {
+        return origin() + "/";
+    }
+
+    public Path storageState() {
+        return storageState;
+    }
+
+    private String origin() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private static String productsPage() {
+        StringBuilder html = new StringBuilder("""
+            <html>
+              <head><title>Practice Software Testing - Toolshop</title></head>
+              <body>
+                <input placeholder="Search" data-test="search-query"/>
+                <button data-test="search-submit">Search</button>
+                <div class="container">
+            """);
+        for (int i = 0; i < PRODUCTS; i++) {
+            html.append("""
+                      <a class="card" data-test="product-%d" href="/product/%d">
+                        <img class="card-img-top" src="data:image/gif;base64,R0lGODlhAQABAAAAACw=" alt="Pliers %d"/>
+                        <div class="card-body"><h5 class="card-title" data-test="product-name">Pliers %d</h5></div>
+                        <div class="card-footer"><span data-test="product-price">$%d.99</span></div>
+                      </a>
+                """.formatted(i, i, i, i, 10 + i));
+        }
+        return html.append("    </div>\n  </body>\n</html>\n").toString();
+    }
+
+    private static String storageStateJson(String origin) {
+        return """
+            {
+              "cookies": [
+                {"name": "XSRF-TOKEN", "value": "%s", "domain": "127.0.0.1", "path": "/", "expires": -1, "httpOnly": false, "secure": false, "sameSite": "Lax"},
+                {"name": "session", "value": "%s", "domain": "127.0.0.1", "path": "/", "expires": -1, "httpOnly": true, "secure": false, "sameSite": "Lax"}
+              ],
+              "origins": [
+                {"origin": "%s", "localStorage": [{"name": "auth-token", "value": "%s"}]}
+              ]
+            }
+            """.formatted("x".repeat(40), "s".repeat(200), origin, "eyJ" + "t".repeat(600));
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.jmh;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.Response;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of every step the examples go through, from Playwright.create() to context.close(), so choices like sharing the
+ * browser (_7) or the context, pooling or logging in once (_9) are made on measured numbers. Every benchmark measures one
+ * step only : what it needs is prepared in a @Setup and what it created is closed in a @TearDown, both outside of the
+ * measured time. Run it with : ./gradlew jmh -PjmhArgs="PlaywrightLifecycle"
+ *
+ * Chromium is launched with the args of _4PlaywrightBrowserConfig, headless (as on CI).
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PlaywrightLifecycleBenchmark {
+
+    static final BrowserType.LaunchOptions LAUNCH_OPTIONS = new BrowserType.LaunchOptions()
+        .setHeadless(true)
+        .setArgs(List.of("--no-sandbox", "--disable-extensions", "--disable-gpu"));
+
+    @State(Scope.Thread)
+    public static class Driver {
+
+        Playwright playwright;
+
+        @Setup(Level.Trial)
+        public void create() {
+            playwright = Playwright.create();
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            playwright.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LaunchedBrowser {
+
+        Browser browser;
+
+        @Setup(Level.Trial)
+        public void launch(Driver driver) {
+            browser = driver.playwright.chromium().launch(LAUNCH_OPTIONS);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            browser.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OpenContext {
+
+        BrowserContext context;
+
+        @Setup(Level.Iteration)
+        public void open(LaunchedBrowser launched) {
+            context = launched.browser.newContext();
+        }
+
+        @TearDown(Level.Iteration)
+        public void close() {
+            context.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class OpenPage {
+
+        Page page;
+
+        @Setup(Level.Iteration)
+        public void open(OpenContext open) {
+            page = open.context.newPage();
+        }
+    }
+
+    /* Context created right before every call of contextClose. */
+    @State(Scope.Thread)
+    public static class ContextToClose {
+
+        BrowserContext context;
+
+        @Setup(Level.Invocation)
+        public void open(LaunchedBrowser launched, LocalSite site) {
+            context = launched.browser.newContext();
+            context.newPage().navigate(site.url());
+        }
+    }
+
+    /* Whatever a benchmark created, closed after every call. */
+    @State(Scope.Thread)
+    public static class Created {
+
+        AutoCloseable created;
+
+        @TearDown(Level.Invocation)
+        public void close() throws Exception {
+            if (created != null) {
+                created.close();
+                created = null;
+            }
+        }
+    }
+
+    @Benchmark
+    public Playwright playwrightCreate(Created created) {
+        Playwright playwright = Playwright.create();
+        created.created = playwright;
+        return playwright;
+    }
+
+    @Benchmark
+    public Browser chromiumLaunch(Driver driver, Created created) {
+        Browser browser = driver.playwright.chromium().launch(LAUNCH_OPTIONS);
+        created.created = browser;
+        return browser;
+    }
+
+    @Benchmark
+    public BrowserContext newContext(LaunchedBrowser launched, Created created) {
+        BrowserContext context = launched.browser.newContext();
+        created.created = context;
+        return context;
+    }
+
+    @Benchmark
+    public BrowserContext newContextWithStorageState(LaunchedBrowser launched, LocalSite site, Created created) {
+        BrowserContext context = launched.browser.newContext(new Browser.NewContextOptions().setStorageStatePath(site.storageState()));
+        created.created = context;
+        return context;
+    }
+
+    @Benchmark
+    public Page newPage(OpenContext open, Created created) {
+        Page page = open.context.newPage();
+        created.created = page::close;
+        return page;
+    }
+
+    @Benchmark
+    public Response navigate(OpenPage open, LocalSite site) {
+        return open.page.navigate(site.url());
+    }
+
+    @Benchmark
+    public void contextClose(ContextToClose toClose) {
+        toClose.context.close();
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.jmh;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Product list responses shaped like GET https://api.practicesoftwaretesting.com/products?page=2 (page fields + data array of
+ * products with brand, category and product_image), as many products as needed to reach the requested size. Same seed,
+ * same payload.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+final class ProductPayloads {
+
+    private static final String[] NAMES = {"Combination Pliers", "Pliers", "Bolt Cutters", "Long Nose Pliers", "Slip Joint Pliers",
+        "Claw Hammer with Shock Reduction Grip", "Hammer", "Thor Hammer", "Sledgehammer", "Court Hammer", "Wood Saw", "Adjustable Wrench"};
+
+    private ProductPayloads() {
+    }
+
+    /* "1KB", "100KB", "1MB", "10MB" */
+    static long bytes(String size) {
+        String value = size.toUpperCase(Locale.ROOT);
+        if (value.endsWith("MB")) {
+            return Long.parseLong(value.substring(0, value.length() - 2)) * 1024 * 1024;
+        }
+        if (value.endsWith("KB")) {
+            return Long.parseLong(value.substring(0, value.length() - 2)) * 1024;
+        }
+        return Long.parseLong(value);
+    }
+
+    static byte[] productPage(long targetBytes) {
+
+        Random random = new Random(42);
+        StringBuilder products = new StringBuilder();
+        int count = 0;
+        /* A page with one product is already ~700 bytes, so 1KB responses hold a single product. */
+        do {
+            products.append(count == 0 ? "" : ",").append(product(count, random));
+            count++;
+        } while (products.length() + 200 < targetBytes);
+
+        String json = """
+            {"current_page":2,"data":[%s],"from":%d,"last_page":%d,"per_page":%d,"to":%d,"total":%d}"""
+            .formatted(products, 1, 1, count, count, count);
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String product(int index, Random random) {
+        String name = NAMES[random.nextInt(NAMES.length)];
+        return String.format(Locale.ROOT, """
+            {"id":"01JDKRW%07dAB","name":"%s","description":"%s","price":%.2f,"is_location_offer":%b,"is_rental":%b,"in_stock":%b,\
+            "brand":{"id":"01JDKRW0Q1R6","name":"%s"},\
+            "category":{"id":"01JDKRW0Q2X1","name":"%s","slug":"%s"},\
+            "product_image":{"id":"01JDKRW0QA%02d","by_name":"Helinton Fantin","by_url":"https://unsplash.com/@fantin",\
+            "source_name":"Unsplash","source_url":"https://unsplash.com/photos/W8BNwvOvW4M","file_name":"pliers%02d.avif","title":"%s"}}""",
+                index, name, "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(1 + random.nextInt(4)),
+                1 + random.nextInt(9000) / 100.0, random.nextBoolean(), random.nextInt(10) == 0, random.nextInt(5) != 0,
+                random.nextBoolean() ? "ForgeFlex Tools" : "MightyCraft Hardware",
+                name.contains("Pliers") ? "Pliers" : "Hammer", name.contains("Pliers") ? "pliers" : "hammer",
+                index % 100, index % 100, name);
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+import com.piyush.playwright_examples.support.browser.BrowserRecycler;
+import com.piyush.playwright_examples.support.browser.SharedBrowserExtension;
+import com.piyush.playwright_examples.support.metrics.LatencySamples;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+/**
+ * Measures what it takes to get a usable browser context back after a crash, compared with what a rerun of the class pays
+ * (new Playwright + browser launch) :
+ *
+ * 1. renderer crash (chrome://crash) : the browser survives, only the context is rebuilt.
+ * 2. browser disconnect : the browser is replaced by the spare of {@link BrowserRecycler}.
+ *
+ * {@link #crashedTestDoesNotTakeTheClassDown()} checks the same through {@link SharedBrowserExtension} : the {@link CrashScenario}
+ * tests are run through the JUnit launcher, the ones crashing their page or browser are expected to fail and the ones after
+ * them to get a working context.
+ *
+ * Run it with : ./gradlew test -Pbenchmarks --tests '*BrowserCrashRecoveryBenchmark'
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+@Tag("benchmark")
+public class BrowserCrashRecoveryBenchmark {
+
+    private static final int ROUNDS = 10;
+
+    @Test
+    public void measureCrashRecovery() {
+
+        LatencySamples coldLaunch = new LatencySamples();
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            try (Playwright playwright = Playwright.create()) {
+                Browser browser = playwright.chromium().launch();
+                browser.newContext().newPage();
+                coldLaunch.add(System.nanoTime() - start);
+                browser.close();
+            }
+        }
+
+        LatencySamples pageCrash = new LatencySamples();
+        LatencySamples disconnect = new LatencySamples();
+        try (BrowserRecycler recycler = new BrowserRecycler(playwright -> playwright.chromium().launch(),
+            new BrowserRecycler.Thresholds(0, Duration.ZERO, 0))) {
+
+            for (int i = 0; i < ROUNDS; i++) {
+
+                BrowserContext browserContext = recycler.browser().newContext();
+                Page page = browserContext.newPage();
+                try {
+                    page.navigate("chrome://crash");
+                } catch (PlaywrightException e) {
+                    // expected, the renderer is gone.
+                }
+
+                long start = System.nanoTime();
+                browserContext.close();
+                recycler.browser().newContext().newPage();
+                pageCrash.add(System.nanoTime() - start);
+                recycler.browser().contexts().forEach(BrowserContext::close);
+
+                /* Simulates the browser going away in the middle of a test. */
+                recycler.browser().close();
+                start = System.nanoTime();
+                recycler.replaceDisconnected();
+                recycler.browser().newContext().newPage();
+                disconnect.add(System.nanoTime() - start);
+                recycler.browser().contexts().forEach(BrowserContext::close);
+
+                recycler.awaitSpare(); // a crash right after another one would wait for the launch, that is not what is measured here.
+            }
+        }
+
+        System.out.printf("%-28s | %11s | %8s%n", "back to a usable context", "median (ms)", "p99 (ms)");
+        System.out.printf("%-28s | %11.1f | %8.1f%n", "rerun (cold launch)", coldLaunch.medianMs(), coldLaunch.p99Ms());
+        System.out.printf("%-28s | %11.1f | %8.1f%n", "page crash", pageCrash.medianMs(), pageCrash.p99Ms());
+        System.out.printf("%-28s | %11.1f | %8.1f%n", "browser disconnect (spare)", disconnect.medianMs(), disconnect.p99Ms());
+    }
+
+    @Test
+    public void crashedTestDoesNotTakeTheClassDown() {
+
+        CrashScenario.driven = true;
+        TestExecutionSummary summary;
+        try {
+            SummaryGeneratingListener listener = new SummaryGeneratingListener();
+            LauncherFactory.create(LauncherConfig.builder().enableTestExecutionListenerAutoRegistration(false).build())
+                .execute(LauncherDiscoveryRequestBuilder.request().selectors(selectClass(CrashScenario.class)).build(), listener);
+            summary = listener.getSummary();
+        } finally {
+            CrashScenario.driven = false;
+        }
+
+        Map<String, String> failures = summary.getFailures().stream().collect(Collectors.toMap(
+            failure -> failure.getTestIdentifier().getDisplayName(), failure -> String.valueOf(failure.getException().getMessage())));
+        System.out.println("Crash scenario : " + summary.getTestsSucceededCount() + " passed, failed " + failures);
+
+        assertThat(failures).containsOnlyKeys("crashPage()", "disconnectBrowser()");
+        assertThat(failures.get("crashPage()")).contains("crashed during crashPage()");
+        assertThat(failures.get("disconnectBrowser()")).contains("browser disconnected");
+        assertThat(summary.getTestsSucceededCount()).isEqualTo(2);
+    }
+
+    /**
+     * Tests sharing a browser through {@link SharedBrowserExtension}, in order : each crash is followed by a test which
+     * needs a working context. Only runs when driven by {@link #crashedTestDoesNotTakeTheClassDown()}.
+     */
+    @Tag("benchmark")
+    @EnabledIf("driven")
+    @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+    public static class CrashScenario {
+
+        @RegisterExtension
+        static final SharedBrowserExtension BROWSER = new SharedBrowserExtension(
+            new BrowserRecycler(playwright -> playwright.chromium().launch(), new BrowserRecycler.Thresholds(0, Duration.ZERO, 0)),
+            Browser::newContext);
+        static boolean driven;
+
+        static boolean driven() {
+            return driven;
+        }
+
+        @Test
+        @Order(1)
+        public void crashPage() {
+
+            Page page = BROWSER.context().newPage();
+            AtomicBoolean crashed = new AtomicBoolean();
+            page.onCrash(crashedPage -> crashed.set(true));
+            try {
+                page.navigate("chrome://crash");
+            } catch (PlaywrightException e) {
+                // expected, the renderer is gone.
+            }
+            page.waitForCondition(crashed::get); // the extension got the crash event as well, it fails this test.
+        }
+
+        @Test
+        @Order(2)
+        public void workingContextAfterPageCrash() {
+            assertWorkingContext();
+        }
+
+        @Test
+        @Order(3)
+        public void disconnectBrowser() {
+            BROWSER.browser().close();
+        }
+
+        @Test
+        @Order(4)
+        public void workingContextAfterDisconnect() {
+            assertWorkingContext();
+        }
+
+        private static void assertWorkingContext() {
+            Page page = BROWSER.context().newPage();
+            page.setContent("<p id='status'>ready</p>");
+            assertThat(page.locator("#status").textContent()).isEqualTo("ready");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.benchmarks;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.piyush.playwright_examples.support.SuiteProperties;
+import com.piyush.playwright_examples.support.browser.BrowserRecycler;
+import com.piyush.playwright_examples.support.fixtures.SyntheticDom;
+import com.piyush.playwright_examples.support.metrics.LatencySamples;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the same synthetic test (10k element page, a few locator reads) -Dpw.bench.tests times (default 300) on one shared
+ * browser, without recycling and with recycling every 50 tests, and prints the per test duration of the first and last
+ * 50 tests along with the browser side memory over time. Run it with : ./gradlew test -Pbenchmarks --tests '*BrowserRecyclingBenchmark'
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+@Tag("benchmark")
+public class BrowserRecyclingBenchmark {
+
+    @Test
+    public void measureRecycling() {
+
+        int tests = SuiteProperties.integer("pw.bench.tests", 300);
+        SyntheticDom dom = SyntheticDom.ofElements(10_000);
+
+        for (BrowserRecycler.Thresholds thresholds : List.of(
+            new BrowserRecycler.Thresholds(0, Duration.ZERO, 0),
+            new BrowserRecycler.Thresholds(50, Duration.ZERO, 0))) {
+
+            LatencySamples first = new LatencySamples();
+            LatencySamples last = new LatencySamples();
+
+            try (BrowserRecycler recycler = new BrowserRecycler(playwright -> playwright.chromium().launch(), thresholds)) {
+                for (int i = 0; i < tests; i++) {
+
+                    BrowserContext browserContext = recycler.browser().newContext();
+                    long start = System.nanoTime();
+                    Page page = browserContext.newPage();
+                    page.setContent(dom.html());
+                    page.getByText(dom.targetName()).first().textContent();
+                    page.locator("#" + dom.targetId()).click();
+                    long nanos = System.nanoTime() - start;
+                    (i < 50 ? first : last).add(nanos);
+
+                    /* Pages are closed, the context is kept like a class sharing it would, until the browser is swapped. */
+                    page.close();
+                    if (recycler.testFinished()) {
+                        browserContext.close();
+                        recycler.swap();
+                    }
+                }
+
+                System.out.printf("%nThresholds %s : first 50 tests median %.1f ms, later tests median %.1f ms / p99 %.1f ms%n",
+                    thresholds, first.medianMs(), last.medianMs(), last.p99Ms());
+                recycler.printReport(System.out);
+            }
+        }
+    }
+}
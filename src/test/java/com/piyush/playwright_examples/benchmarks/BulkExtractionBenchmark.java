@@ -0,0 +1,104 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.piyush.playwright_examples.support.extraction.ProductCard;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Reading every product card locator by locator (count() + 4 calls per card, each a round-trip to the browser) vs
+ * {@link ProductCard#EXTRACTOR} (one evaluateAll), on a local page with the same markup as practicesoftwaretesting.com.
+ * Run it with : ./gradlew test -Pbenchmarks --tests '*BulkExtractionBenchmark'
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+@Tag("benchmark")
+public class BulkExtractionBenchmark {
+
+    private static final int[] CARD_COUNTS = {10, 100, 500};
+    private static final int ITERATIONS = 5;
+
+    @Test
+    public void measurePerLocatorVsBulkExtraction() {
+
+        Playwright playwright = Playwright.create();
+        Browser browser = playwright.chromium().launch();
+        Page page = browser.newPage();
+
+        System.out.println("cards | per locator (ms) | round-trips | bulk (ms) | round-trips | speedup");
+        for (int cardCount : CARD_COUNTS) {
+
+            page.setContent(productPage(cardCount));
+
+            List<ProductCard> perLocator = null;
+            List<ProductCard> bulk = null;
+            long perLocatorNanos = Long.MAX_VALUE;
+            long bulkNanos = Long.MAX_VALUE;
+
+            for (int i = 0; i < ITERATIONS; i++) { // best of, first runs include JIT and the browser warming up.
+                long start = System.nanoTime();
+                perLocator = extractPerLocator(page);
+                perLocatorNanos = Math.min(perLocatorNanos, System.nanoTime() - start);
+
+                start = System.nanoTime();
+                bulk = ProductCard.EXTRACTOR.extractFrom(page);
+                bulkNanos = Math.min(bulkNanos, System.nanoTime() - start);
+            }
+
+            assertThat(bulk).isEqualTo(perLocator);
+            System.out.printf("%5d | %16.1f | %11d | %9.1f | %11d | %6.1fx%n",
+                cardCount, perLocatorNanos / 1_000_000.0, 1 + 4 * cardCount, bulkNanos / 1_000_000.0, 1, perLocatorNanos / (double) bulkNanos);
+        }
+
+        browser.close();
+        playwright.close();
+    }
+
+    private static List<ProductCard> extractPerLocator(Page page) {
+
+        Locator cards = page.locator(".card");
+        int count = cards.count();
+
+        List<ProductCard> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Locator card = cards.nth(i);
+            result.add(new ProductCard(
+                card.locator("[data-test=product-name]").textContent().trim(),
+                new BigDecimal(card.locator("[data-test=product-price]").textContent().replaceAll("[^0-9.]", "")),
+                card.locator("[data-test=out-of-stock]").count() == 0,
+                card.getAttribute("href")
+            ));
+        }
+        return result;
+    }
+
+    private static String productPage(int cardCount) {
+
+        StringBuilder html = new StringBuilder("<html><body><div class=\"container\">");
+        for (int i = 0; i < cardCount; i++) {
+            html.append("<a class=\"card\" href=\"/product/").append(i).append("\">")
+                .append("<img src=\"data:,\" alt=\"Product ").append(i).append("\">")
+                .append("<div class=\"card-body\"><h5 data-test=\"product-name\">Combination Pliers ").append(i).append("</h5></div>")
+                .append("<div class=\"card-footer\"><span data-test=\"product-price\">$").append(10 + i % 90).append(".99</span>");
+            if (i % 7 == 0) {
+                html.append("<span data-test=\"out-of-stock\">Out of stock</span>");
+            }
+            html.append("</div></a>");
+        }
+        return html.append("</div></body></html>").toString();
+    }
+}
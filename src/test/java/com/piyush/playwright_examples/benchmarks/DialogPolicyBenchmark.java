@@ -0,0 +1,96 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.piyush.playwright_examples.support.dialogs.DialogPolicy;
+import com.piyush.playwright_examples.support.dialogs.DialogResponder;
+import com.piyush.playwright_examples.support.dialogs.DialogType;
+import com.piyush.playwright_examples.support.metrics.LatencySamples;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * A flow raising a burst of confirms (and a prompt) per click, answered by :
+ * <pre>
+ *     page handler   page.onDialog(dialog -> dialog.accept()) registered by the test, like _10PopUpDialogBox does
+ *     policy handler {@link DialogResponder} with a policy which is not in page, i.e. the context handler only
+ *     policy in page {@link DialogResponder} answering inside the page
+ * </pre>
+ * Prints the median / p99 of a click and the dialog counters. Run it with : ./gradlew test -Pbenchmarks --tests '*DialogPolicyBenchmark'
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+@Tag("benchmark")
+public class DialogPolicyBenchmark {
+
+    private static final int CONFIRMS_PER_CLICK = 50;
+    private static final int CLICKS = 20;
+
+    private static final String PAGE = """
+        <html>
+          <body>
+            <button id="burst" onclick="
+              let accepted = 0;
+              for (let i = 0; i < %d; i++) { if (confirm('Confirm step ' + i + ' ?')) accepted++; }
+              document.querySelector('#result').textContent = accepted + ' ' + prompt('Name ?');
+            ">Burst</button>
+            <span id="result"></span>
+          </body>
+        </html>
+        """.formatted(CONFIRMS_PER_CLICK);
+
+    @Test
+    public void measureDialogHandling() {
+
+        Playwright playwright = Playwright.create();
+        Browser browser = playwright.chromium().launch();
+
+        DialogPolicy.Builder policy = DialogPolicy.builder()
+            .on(DialogType.CONFIRM, "^Confirm step").accept()
+            .on(DialogType.PROMPT).respond("Piyush");
+
+        System.out.println("approach        | median click (ms) | p99 click (ms) | dialogs");
+
+        BrowserContext pageHandlerContext = browser.newContext();
+        Page page = pageHandlerContext.newPage();
+        page.onDialog(dialog -> dialog.accept("Piyush"));
+        measure("page handler", page, null);
+        pageHandlerContext.close();
+
+        BrowserContext policyHandlerContext = browser.newContext();
+        DialogResponder handlerOnly = DialogResponder.install(policyHandlerContext, policy.inPage(false).build());
+        measure("policy handler", policyHandlerContext.newPage(), handlerOnly);
+        policyHandlerContext.close();
+
+        BrowserContext inPageContext = browser.newContext();
+        DialogResponder inPage = DialogResponder.install(inPageContext, policy.inPage(true).build());
+        measure("policy in page", inPageContext.newPage(), inPage);
+        inPageContext.close();
+
+        browser.close();
+        playwright.close();
+    }
+
+    private static void measure(String approach, Page page, DialogResponder responder) {
+
+        page.setContent(PAGE);
+        LatencySamples samples = new LatencySamples();
+        for (int i = 0; i < CLICKS; i++) {
+            samples.time(() -> page.click("#burst"));
+            assertThat(page.textContent("#result")).isEqualTo(CONFIRMS_PER_CLICK + " Piyush");
+        }
+
+        System.out.printf("%-15s | %17.1f | %14.1f | %s%n",
+            approach, samples.medianMs(), samples.p99Ms(), responder == null ? CLICKS * (CONFIRMS_PER_CLICK + 1) : responder.stats());
+    }
+}
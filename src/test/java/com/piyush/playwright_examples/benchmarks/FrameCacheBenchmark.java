@@ -0,0 +1,108 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.Route;
+import com.piyush.playwright_examples.support.cache.FrameCache;
+import com.piyush.playwright_examples.support.metrics.LatencySamples;
+import java.util.function.BiConsumer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Filling a 10 field form inside an iframe and one inside a shadow root, with frameLocator(..) / host selector chains
+ * (re-resolved for every field, like _8Locators.testIFrame and testShadowDom) vs {@link FrameCache}. The local page has
+ * 6000 filler elements and both the iframe and the host are located by XPath, as in _8Locators. What the cache saves per
+ * fill is the difference of the medians, printed for both.
+ * Run it with : ./gradlew test -Pbenchmarks --tests '*FrameCacheBenchmark'
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+@Tag("benchmark")
+public class FrameCacheBenchmark {
+
+    private static final int FIELDS = 10;
+    private static final int ROUNDS = 20;
+
+    private static final String IFRAME = "//iframe[contains(@id, 'frame-one')]";
+    private static final String SHADOW_HOST = "//checkout-form[@title='Checkout']";
+
+    @Test
+    public void measureFrameAndShadowHostCache() {
+
+        Playwright playwright = Playwright.create();
+        Browser browser = playwright.chromium().launch();
+        Page page = browser.newPage();
+
+        /* Served through a route rather than setContent(..), so that reload() below is a real navigation. */
+        page.route("http://fixture.local/", route -> route.fulfill(new Route.FulfillOptions().setContentType("text/html").setBody(fixture())));
+        page.navigate("http://fixture.local/");
+
+        FrameCache cache = new FrameCache(page);
+
+        System.out.println("scenario              | fill median ms | fill p99 ms | total ms");
+        double frameLocator = run("iframe, frameLocator", (field, value) -> page.frameLocator(IFRAME).locator(field).fill(value));
+        double cachedFrame = run("iframe, cached frame", (field, value) -> cache.frame(IFRAME).locator(field).fill(value));
+        double hostChain = run("shadow, host chain", (field, value) -> page.locator(SHADOW_HOST).locator(field).fill(value));
+        double cachedHost = run("shadow, cached host", (field, value) -> cache.shadowHost(SHADOW_HOST).waitForSelector(field).fill(value));
+        System.out.printf("Saved per fill (median) : iframe %.2f ms, shadow host %.2f ms%n", frameLocator - cachedFrame, hostChain - cachedHost);
+        System.out.println("Cache : " + cache.stats());
+
+        /* Reloading detaches the iframe and replaces the host, nothing stale must be handed out afterwards. */
+        page.reload();
+        assertThat(cache.stats().invalidations()).isEqualTo(2);
+        cache.frame(IFRAME).locator("#field-0").fill("after reload");
+        cache.shadowHost(SHADOW_HOST).waitForSelector("#field-0").fill("after reload");
+        assertThat(page.frameLocator(IFRAME).locator("#field-0").inputValue()).isEqualTo("after reload");
+        assertThat(page.locator(SHADOW_HOST).locator("#field-0").inputValue()).isEqualTo("after reload");
+
+        browser.close();
+        playwright.close();
+    }
+
+    /* Returns the median fill time in ms. */
+    private static double run(String scenario, BiConsumer<String, String> fill) {
+
+        LatencySamples samples = new LatencySamples();
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int field = 0; field < FIELDS; field++) {
+                String selector = "#field-" + field;
+                String value = "round " + round;
+                samples.time(() -> fill.accept(selector, value));
+            }
+        }
+        System.out.printf("%-21s | %14.2f | %11.2f | %8.0f%n",
+            scenario, samples.medianMs(), samples.p99Ms(), (System.nanoTime() - start) / 1_000_000.0);
+        return samples.medianMs();
+    }
+
+    private static String fixture() {
+
+        StringBuilder fields = new StringBuilder();
+        for (int i = 0; i < FIELDS; i++) {
+            fields.append("<label>Field ").append(i).append(" <input id='field-").append(i).append("'></label>");
+        }
+
+        StringBuilder html = new StringBuilder("<html><body>");
+        for (int i = 0; i < 1000; i++) {
+            html.append("<div class='row'><span>Row ").append(i).append("</span><a href='#'>link</a><ul><li>a</li><li>b</li></ul></div>");
+        }
+        html.append("<iframe id='frame-one-1234' srcdoc=\"<form>").append(fields).append("</form>\"></iframe>")
+            .append("<checkout-form title='Checkout'></checkout-form>")
+            .append("<script>customElements.define('checkout-form', class extends HTMLElement {")
+            .append(" connectedCallback() { this.attachShadow({mode: 'open'}).innerHTML = \"<form>").append(fields).append("</form>\"; }")
+            .append("});</script>")
+            .append("</body></html>");
+        return html.toString();
+    }
+}
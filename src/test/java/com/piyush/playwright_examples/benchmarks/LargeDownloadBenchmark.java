@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Download;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.piyush.playwright_examples.support.downloads.DownloadReport;
+import com.piyush.playwright_examples.support.downloads.DownloadVerifier;
+import com.piyush.playwright_examples.support.fixtures.LargePayloadServer;
+import com.piyush.playwright_examples.support.metrics.HeapSampler;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Multi GB downloads from {@link LargePayloadServer} : saveAs(..) copy + hashing the copy (what _8Locators.testDownloadFile
+ * used to do) vs a single {@link DownloadVerifier} pass. Time, throughput and heap growth are printed per size, and the heap
+ * growth of the streaming pass has to stay below {@link #MAX_STREAMING_HEAP_GROWTH_MB} whatever the size. Heap growth includes
+ * garbage (see {@link HeapSampler}) so the bound is loose, and it is checked here rather than in the UI suite.
+ * Run it with : ./gradlew test -Pbenchmarks --tests '*LargeDownloadBenchmark'
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+@Tag("benchmark")
+public class LargeDownloadBenchmark {
+
+    private static final long[] SIZES_MB = {512, 2048, 4096};
+    private static final double MAX_STREAMING_HEAP_GROWTH_MB = 128;
+
+    @Test
+    public void measureStreamingVerificationVsSaveAs() throws IOException, NoSuchAlgorithmException {
+
+        Playwright playwright = Playwright.create();
+        Browser browser = playwright.chromium().launch();
+
+        try (LargePayloadServer server = LargePayloadServer.start()) {
+
+            System.out.println("size (MB) | approach            | seconds | MB/s   | heap growth (MB)");
+            for (long sizeMb : SIZES_MB) {
+
+                long size = sizeMb * 1024 * 1024;
+                String expectedSha = LargePayloadServer.sha256OfBytes(size);
+
+                Page page = browser.newPage();
+                page.navigate(server.downloadPageUrl("/bytes?size=" + size));
+                Download download = page.waitForDownload(() -> page.click("#download"));
+                download.path(); // both approaches start from a completed download.
+
+                Path copy = Files.createTempFile("download-copy", ".bin");
+                try (HeapSampler heap = HeapSampler.start()) {
+                    long start = System.nanoTime();
+                    download.saveAs(copy);
+                    MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                    try (InputStream in = Files.newInputStream(copy)) {
+                        byte[] buffer = new byte[64 * 1024];
+                        for (int read; (read = in.read(buffer)) != -1; ) {
+                            digest.update(buffer, 0, read);
+                        }
+                    }
+                    print(sizeMb, "saveAs + hash copy", System.nanoTime() - start, heap);
+                } finally {
+                    Files.deleteIfExists(copy);
+                }
+
+                try (HeapSampler heap = HeapSampler.start()) {
+                    DownloadReport report = DownloadVerifier.verify(download);
+                    print(sizeMb, "streaming verify", report.elapsedNanos(), heap);
+                    assertThat(report.sha256()).isEqualTo(expectedSha);
+                    assertThat(heap.peakGrowthMb()).as("heap growth (MB) streaming %d MB", sizeMb).isLessThan(MAX_STREAMING_HEAP_GROWTH_MB);
+                }
+
+                page.context().close();
+            }
+        }
+
+        browser.close();
+        playwright.close();
+    }
+
+    private static void print(long sizeMb, String approach, long nanos, HeapSampler heap) {
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("%9d | %-19s | %7.1f | %6.1f | %16.1f%n", sizeMb, approach, seconds, sizeMb / seconds, heap.peakGrowthMb());
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.APIRequestContext;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.options.FormData;
+import com.microsoft.playwright.options.RequestOptions;
+import com.piyush.playwright_examples.support.SuiteProperties;
+import com.piyush.playwright_examples.support.fixtures.LargePayloadServer;
+import com.piyush.playwright_examples.support.metrics.HeapSampler;
+import com.piyush.playwright_examples.support.metrics.RssSampler;
+import com.piyush.playwright_examples.support.uploads.LargeFiles;
+import com.piyush.playwright_examples.support.uploads.MultipartBody;
+import com.piyush.playwright_examples.support.uploads.MultipartUploader;
+import com.piyush.playwright_examples.support.uploads.UploadResult;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Upload stress mode : large files are generated on demand ({@link LargeFiles}, sparse or streamed to disk) and uploaded
+ * to {@link LargePayloadServer} through both ways Playwright offers :
+ * <pre>
+ *     browser  page.setInputFiles("#files", Path[]) + form submit, the browser reads the files from disk itself.
+ *     api      request.post(.., RequestOptions.setMultipart(FormData.set("file", path))).
+ *     stream   {@link MultipartBody} sent by {@link MultipartUploader}, file parts streamed from disk by the JDK HttpClient.
+ * </pre>
+ * For each size it prints the time, throughput, peak heap growth of the test JVM and peak RSS of the driver (node).
+ *
+ * NOTE : FormData.set(name, Path) reads the whole file into a byte[] and sends it base64 encoded to the driver, so the API
+ * way costs about 3 times the file size in heap and cannot go over 2 GB at all. It is skipped above -Dpw.upload.apiMaxMb
+ * (default 512), the stream way has no such limit.
+ *
+ * Switches : -Dpw.upload.sizesMb=64,512,2048 -Dpw.upload.files=sparse|generated -Dpw.upload.filesPerUpload=1
+ * Run it with : ./gradlew test -Pbenchmarks --tests '*LargeUploadBenchmark'
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+@Tag("benchmark")
+public class LargeUploadBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void measureLargeUploads() throws IOException {
+
+        long[] sizesMb = Arrays.stream(SuiteProperties.string("pw.upload.sizesMb", "64,512,2048").split(","))
+            .mapToLong(size -> Long.parseLong(size.trim()))
+            .toArray();
+        LargeFiles.Kind kind = SuiteProperties.enumValue("pw.upload.files", LargeFiles.Kind.class, LargeFiles.Kind.SPARSE);
+        int filesPerUpload = SuiteProperties.integer("pw.upload.filesPerUpload", 1);
+        long apiMaxMb = SuiteProperties.integer("pw.upload.apiMaxMb", 512);
+
+        Path dir = Files.createTempDirectory("large-uploads");
+        Playwright playwright = Playwright.create();
+        Browser browser = playwright.chromium().launch();
+        APIRequestContext request = playwright.request().newContext();
+
+        try (LargePayloadServer server = LargePayloadServer.start()) {
+
+            System.out.printf("files : %s, %d per upload%n", kind, filesPerUpload);
+            System.out.println("size (MB) | way     | seconds | MB/s   | heap growth (MB) | driver rss peak (MB) | browser side rss peak (MB)");
+            for (long sizeMb : sizesMb) {
+
+                long size = sizeMb * 1024 * 1024;
+                Path[] files = new Path[filesPerUpload];
+                for (int i = 0; i < filesPerUpload; i++) {
+                    files[i] = LargeFiles.create(dir, "large-" + sizeMb + "-" + i + ".bin", size, kind);
+                }
+
+                Page page = browser.newPage();
+                page.navigate(server.url("/upload-form"));
+                try (HeapSampler heap = HeapSampler.start(); RssSampler rss = RssSampler.start()) {
+                    long start = System.nanoTime();
+                    page.setInputFiles("#files", files);
+                    Response response = page.waitForResponse("**/upload", () -> page.click("#submit"));
+                    JsonNode received = MAPPER.readTree(response.body());
+                    print(sizeMb * filesPerUpload, "browser", System.nanoTime() - start, heap, rss);
+                    assertReceived(received, size, filesPerUpload);
+                }
+                page.context().close();
+
+                if (sizeMb > apiMaxMb) {
+                    System.out.printf("%9d | %-7s | skipped, above pw.upload.apiMaxMb%n", sizeMb * filesPerUpload, "api");
+                } else {
+                    try (HeapSampler heap = HeapSampler.start(); RssSampler rss = RssSampler.start()) {
+                        long start = System.nanoTime();
+                        FormData form = FormData.create();
+                        for (Path file : files) {
+                            form.append("files", file);
+                        }
+                        APIResponse response = request.post(server.url("/upload"), RequestOptions.create().setMultipart(form));
+                        JsonNode received = MAPPER.readTree(response.body());
+                        print(sizeMb * filesPerUpload, "api", System.nanoTime() - start, heap, rss);
+                        assertReceived(received, size, filesPerUpload);
+                    }
+                }
+
+                try (HeapSampler heap = HeapSampler.start(); RssSampler rss = RssSampler.start()) {
+                    MultipartBody.Builder body = MultipartBody.builder();
+                    for (Path file : files) {
+                        body.file("files", file);
+                    }
+                    UploadResult result = new MultipartUploader(server.url("/")).post("/upload", body.build());
+                    print(sizeMb * filesPerUpload, "stream", result.elapsedNanos(), heap, rss);
+                    assertReceived(MAPPER.readTree(result.body()), size, filesPerUpload);
+                }
+
+                for (Path file : files) {
+                    Files.delete(file);
+                }
+            }
+        } finally {
+            request.dispose();
+            browser.close();
+            playwright.close();
+            try (Stream<Path> leftovers = Files.walk(dir)) {
+                leftovers.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    private static void assertReceived(JsonNode received, long size, int files) {
+        assertThat(received.path("parts")).hasSize(files);
+        received.path("parts").forEach(part -> assertThat(part.path("size").asLong()).isEqualTo(size));
+    }
+
+    private static void print(long totalMb, String way, long nanos, HeapSampler heap, RssSampler rss) {
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("%9d | %-7s | %7.1f | %6.1f | %16.1f | %20.1f | %26.1f%n",
+            totalMb, way, seconds, totalMb / seconds, heap.peakGrowthMb(), rss.driverPeakMb(), rss.descendantsPeakMb());
+    }
+}
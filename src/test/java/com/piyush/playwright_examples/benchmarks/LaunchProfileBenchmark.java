@@ -0,0 +1,78 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.benchmarks;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.PlaywrightException;
+import com.piyush.playwright_examples.support.SuiteProperties;
+import com.piyush.playwright_examples.support.fixtures.SyntheticDom;
+import com.piyush.playwright_examples.support.launch.LaunchProfile;
+import com.piyush.playwright_examples.support.metrics.LatencySamples;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Launch time and duration of a typical test (new context + page, 1k element page, a few locator reads and clicks, close)
+ * per {@link LaunchProfile}, all starting from the same hard-coded setHeadless(false) options the UI tests use. AS_WRITTEN
+ * is therefore headed as well, so it needs a display, like DEBUG : profiles which cannot launch are reported and skipped.
+ * Run it with : ./gradlew test -Pbenchmarks --tests '*LaunchProfileBenchmark' (-Dpw.bench.iterations, default 10)
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+@Tag("benchmark")
+public class LaunchProfileBenchmark {
+
+    @Test
+    public void measureLaunchProfiles() {
+
+        int iterations = SuiteProperties.integer("pw.bench.iterations", 10);
+        SyntheticDom dom = SyntheticDom.ofElements(1_000);
+
+        Playwright playwright = Playwright.create();
+
+        System.out.println("profile     | median launch (ms) | p99 launch (ms) | median test (ms) | p99 test (ms)");
+        for (LaunchProfile profile : LaunchProfile.values()) {
+
+            LatencySamples launches = new LatencySamples();
+            LatencySamples tests = new LatencySamples();
+            try {
+                for (int i = 0; i < iterations; i++) {
+
+                    long start = System.nanoTime();
+                    Browser browser = playwright.chromium().launch(profile.apply(new BrowserType.LaunchOptions().setHeadless(false)));
+                    launches.add(System.nanoTime() - start);
+
+                    tests.time(() -> runTypicalTest(browser, dom));
+                    browser.close();
+                }
+                System.out.printf("%-11s | %18.1f | %15.1f | %16.1f | %13.1f%n",
+                    profile, launches.medianMs(), launches.p99Ms(), tests.medianMs(), tests.p99Ms());
+            } catch (PlaywrightException e) {
+                System.out.printf("%-11s | skipped, could not launch : %s%n", profile, e.getMessage().lines().findFirst().orElse(""));
+            }
+        }
+
+        playwright.close();
+    }
+
+    private static void runTypicalTest(Browser browser, SyntheticDom dom) {
+
+        BrowserContext browserContext = browser.newContext();
+        Page page = browserContext.newPage();
+        page.setContent(dom.html());
+
+        for (int i = 0; i < 5; i++) {
+            page.getByText(dom.targetName()).first().textContent();
+            page.locator("#" + dom.targetId()).click();
+        }
+        browserContext.close();
+    }
+}
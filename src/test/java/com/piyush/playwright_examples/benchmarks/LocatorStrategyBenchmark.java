@@ -0,0 +1,148 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.options.AriaRole;
+import com.piyush.playwright_examples.support.SuiteProperties;
+import com.piyush.playwright_examples.support.fixtures.SyntheticDom;
+import com.piyush.playwright_examples.support.metrics.LatencySamples;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Resolution time of the locator strategies shown in _8Locators on {@link SyntheticDom} pages of 1k, 10k and 100k elements.
+ * Each strategy locates an element at the end of the page and is resolved with locator.count() (one round-trip which runs
+ * the selector engine on the whole page), "round-trip only" is page.evaluate("1") and is the floor of every other row.
+ * Every strategy has to match at least one element before it is timed, the run fails otherwise.
+ *
+ * Results are printed per DOM size and written to build/reports/benchmarks/locator-strategies.csv.
+ * Run it with : ./gradlew test -Pbenchmarks --tests '*LocatorStrategyBenchmark' (-Dpw.bench.iterations, default 30)
+ *
+ * NOTE : React selectors (_8Locators.testReactSelector) need a React app and are not part of it.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+@Tag("benchmark")
+public class LocatorStrategyBenchmark {
+
+    private static final int[] DOM_SIZES = {1_000, 10_000, 100_000};
+    private static final int WARMUP = 3;
+
+    @Test
+    public void measureLocatorStrategies() throws IOException {
+
+        int iterations = SuiteProperties.integer("pw.bench.iterations", 30);
+
+        Playwright playwright = Playwright.create();
+        playwright.selectors().setTestIdAttribute("data-test");
+        Browser browser = playwright.chromium().launch();
+        Page page = browser.newPage();
+
+        List<String> csv = new ArrayList<>();
+        csv.add("elements,strategy,matches,median_ms,p99_ms");
+
+        for (int size : DOM_SIZES) {
+
+            SyntheticDom dom = SyntheticDom.ofElements(size);
+            page.setContent(dom.html());
+
+            System.out.printf("%n=== %d elements ===%n", dom.elementCount());
+            System.out.printf("%-40s | %7s | %9s | %8s%n", "strategy", "matches", "median ms", "p99 ms");
+
+            for (Map.Entry<String, Function<Page, Locator>> strategy : strategies(dom).entrySet()) {
+
+                Locator locator = strategy.getValue().apply(page);
+                int matches = locator.count();
+                assertThat(matches) // a broken selector matching nothing would otherwise show up as the fastest strategy.
+                    .as("%s on %d elements does not resolve its target", strategy.getKey(), dom.elementCount())
+                    .isPositive();
+
+                LatencySamples samples = new LatencySamples();
+                for (int i = 0; i < WARMUP + iterations; i++) {
+                    long start = System.nanoTime();
+                    if (strategy.getKey().equals("round-trip only")) {
+                        page.evaluate("1");
+                    } else {
+                        locator.count();
+                    }
+                    if (i >= WARMUP) {
+                        samples.add(System.nanoTime() - start);
+                    }
+                }
+
+                System.out.printf("%-40s | %7d | %9.2f | %8.2f%n", strategy.getKey(), matches, samples.medianMs(), samples.p99Ms());
+                csv.add(String.format("%d,\"%s\",%d,%.3f,%.3f", dom.elementCount(), strategy.getKey(), matches, samples.medianMs(), samples.p99Ms()));
+            }
+        }
+
+        Path report = Path.of("build/reports/benchmarks/locator-strategies.csv");
+        Files.createDirectories(report.getParent());
+        Files.write(report, csv);
+        System.out.println("Written to " + report.toAbsolutePath());
+
+        browser.close();
+        playwright.close();
+    }
+
+    private static Map<String, Function<Page, Locator>> strategies(SyntheticDom dom) {
+
+        String name = dom.targetName();
+        String id = dom.targetId();
+
+        Map<String, Function<Page, Locator>> strategies = new LinkedHashMap<>();
+        strategies.put("round-trip only", page -> page.locator("body"));
+
+        strategies.put("getByRole(button, name)", page -> page.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Add " + name + " to cart")));
+        strategies.put("getByText", page -> page.getByText(name));
+        strategies.put("getByText exact", page -> page.getByText(name, new Page.GetByTextOptions().setExact(true)));
+        strategies.put("getByTestId", page -> page.getByTestId("product-" + id));
+        strategies.put("getByLabel", page -> page.getByLabel("Quantity " + id));
+        strategies.put("getByPlaceholder", page -> page.getByPlaceholder("Qty " + id));
+        strategies.put("getByAltText", page -> page.getByAltText(name));
+
+        strategies.put("css #id", page -> page.locator("#qty-" + id));
+        strategies.put("css tag.class[attribute]", page -> page.locator("div.card[data-test='product-" + id + "']"));
+        strategies.put("css :has-text()", page -> page.locator("h5:has-text('" + name + "')"));
+        strategies.put("css :text()", page -> page.locator("h5:text('" + name + "')"));
+        strategies.put("css :visible", page -> page.locator("#qty-" + id + ":visible"));
+        strategies.put("css :has()", page -> page.locator(".card:has(#qty-" + id + ")"));
+        strategies.put("css comma separated", page -> page.locator("#qty-" + id + ", #missing-element"));
+        strategies.put("css relative :right-of()", page -> page.locator("input:right-of(:text('Quantity " + id + "'))").first());
+
+        strategies.put("xpath text()", page -> page.locator("//h5[text()='" + name + "']"));
+        strategies.put("xpath following-sibling", page -> page.locator("//h5[text()='" + name + "']/following-sibling::span"));
+        strategies.put("xpath contains() or", page -> page.locator("//h5[contains(text(),'" + name + "') or contains(text(),'missing')]"));
+
+        int middleCard = dom.elementCount() / SyntheticDom.ELEMENTS_PER_CARD / 2; // a fixed index (100) is past the last h5 of 1k.
+        strategies.put("nth", page -> page.locator(".card").nth(middleCard));
+        strategies.put(">> nth=", page -> page.locator("h5 >> nth=" + middleCard));
+        strategies.put("filter(hasText)", page -> page.locator(".card").filter(new Locator.FilterOptions().setHasText(name)));
+        strategies.put("filter(has)", page -> page.locator(".card").filter(new Locator.FilterOptions().setHas(page.getByPlaceholder("Qty " + id))));
+        strategies.put("nested :scope", page -> page.locator("[data-test='product-" + id + "']").locator(":scope > h5"));
+
+        strategies.put("shadow css (pierces open roots)", page -> page.locator("[data-test=shadow-target]"));
+        strategies.put("shadow getByTestId", page -> page.getByTestId("shadow-target"));
+        strategies.put("iframe frameLocator + getByTestId", page -> page.frameLocator("#catalog-frame").getByTestId("frame-target"));
+        strategies.put("iframe frameLocator + xpath", page -> page.frameLocator("#catalog-frame").locator("//button[@data-test='frame-target']"));
+
+        return strategies;
+    }
+}
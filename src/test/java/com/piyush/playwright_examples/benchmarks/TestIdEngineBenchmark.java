@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.piyush.playwright_examples.support.SuiteProperties;
+import com.piyush.playwright_examples.support.fixtures.SyntheticDom;
+import com.piyush.playwright_examples.support.metrics.LatencySamples;
+import com.piyush.playwright_examples.support.selectors.TestIdIndexEngine;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Built-in getByTestId(..) (data-test) vs the indexed {@link TestIdIndexEngine} on {@link SyntheticDom} pages of 1k, 10k and
+ * 100k elements, for a unique test id at the end of the page and for one shared by every card ("product-name").
+ * The first indexed query of a page also builds the index, it is reported separately. Between the rounds a card is added
+ * and renamed through page scripts, to check the index follows the DOM.
+ *
+ * Run it with : ./gradlew test -Pbenchmarks --tests '*TestIdEngineBenchmark' (-Dpw.bench.iterations, default 30)
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+@Tag("benchmark")
+public class TestIdEngineBenchmark {
+
+    private static final int[] DOM_SIZES = {1_000, 10_000, 100_000};
+    private static final int WARMUP = 3;
+
+    @Test
+    public void measureBuiltInVsIndexedTestIdEngine() {
+
+        int iterations = SuiteProperties.integer("pw.bench.iterations", 30);
+
+        Playwright playwright = Playwright.create();
+        playwright.selectors().setTestIdAttribute("data-test");
+        TestIdIndexEngine.install(playwright);
+
+        Browser browser = playwright.chromium().launch();
+        Page page = browser.newPage();
+
+        System.out.printf("%8s | %-14s | %-10s | %7s | %9s | %8s%n", "elements", "test id", "engine", "matches", "median ms", "p99 ms");
+        for (int size : DOM_SIZES) {
+
+            SyntheticDom dom = SyntheticDom.ofElements(size);
+            page.setContent(dom.html());
+
+            long start = System.nanoTime();
+            page.locator(TestIdIndexEngine.NAME + "=warm-up").count();
+            System.out.printf("%8d | index built in %.2f ms (first query)%n", dom.elementCount(), (System.nanoTime() - start) / 1_000_000.0);
+
+            for (String testId : new String[]{"product-" + dom.targetId(), "product-name"}) {
+                Locator builtIn = page.getByTestId(testId);
+                Locator indexed = page.locator(TestIdIndexEngine.NAME + "=" + testId);
+
+                assertThat(indexed.count()).isEqualTo(builtIn.count());
+                report(dom, testId, "getByTestId", builtIn, iterations);
+                report(dom, testId, "test-index", indexed, iterations);
+            }
+
+            /* Index has to follow DOM changes made after it was built. */
+            page.evaluate("() => { const card = document.createElement('div'); card.setAttribute('data-test', 'added-card'); document.querySelector('main').prepend(card); }");
+            assertThat(page.locator(TestIdIndexEngine.NAME + "=added-card").count()).isEqualTo(1);
+            page.evaluate("() => document.querySelector('[data-test=added-card]').setAttribute('data-test', 'renamed-card')");
+            assertThat(page.locator(TestIdIndexEngine.NAME + "=added-card").count()).isZero();
+            assertThat(page.locator(TestIdIndexEngine.NAME + "=renamed-card").count()).isEqualTo(1);
+            page.evaluate("() => document.querySelector('[data-test=renamed-card]').remove()");
+            assertThat(page.locator(TestIdIndexEngine.NAME + "=renamed-card").count()).isZero();
+        }
+
+        browser.close();
+        playwright.close();
+    }
+
+    private static void report(SyntheticDom dom, String testId, String engine, Locator locator, int iterations) {
+
+        LatencySamples samples = new LatencySamples();
+        int matches = 0;
+        for (int i = 0; i < WARMUP + iterations; i++) {
+            long start = System.nanoTime();
+            matches = locator.count();
+            if (i >= WARMUP) {
+                samples.add(System.nanoTime() - start);
+            }
+        }
+        System.out.printf("%8d | %-14s | %-10s | %7d | %9.2f | %8.2f%n",
+            dom.elementCount(), testId, engine, matches, samples.medianMs(), samples.p99Ms());
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.benchmarks;
+
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.piyush.playwright_examples.support.metrics.ProcessTree;
+import com.piyush.playwright_examples.support.video.VideoPolicy;
+import com.piyush.playwright_examples.support.video.VideoRecordingExtension;
+import com.piyush.playwright_examples.support.video.VideoStats;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.RepeatedTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.platform.launcher.core.LauncherConfig;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+/**
+ * Measures browser side CPU (driver + browser + ffmpeg processes) and disk kept per {@link VideoPolicy} for a green run.
+ * Run it with : ./gradlew test -Pbenchmarks --tests '*VideoPolicyBenchmark'
+ *
+ * For every policy the {@link VideoScenario} tests are run through the JUnit launcher with a {@link VideoRecordingExtension}
+ * of that policy, so what is recorded, kept and deleted is decided by the extension itself and the sizes are its own
+ * {@link VideoStats}. All the tests pass, so retain-on-failure is expected to keep nothing.
+ *
+ * CPU is sampled at the end of every test body, before the context is closed, so the final flush of the video encoder
+ * is not part of it.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+@Tag("benchmark")
+public class VideoPolicyBenchmark {
+
+    private static final double SAMPLE_RATE = 0.1;
+
+    @Test
+    public void measureVideoPolicies() {
+
+        System.out.println("policy             | recorded | cpu (s) | disk kept (MB) | disk written (MB)");
+        VideoScenario.driven = true;
+        for (VideoPolicy policy : VideoPolicy.values()) {
+
+            VideoScenario.videos = new VideoRecordingExtension(policy, SAMPLE_RATE);
+            VideoScenario.cpu = Duration.ZERO;
+
+            TestExecutionSummary summary = runScenario();
+            if (summary.getTotalFailureCount() > 0 || summary.getTestsSucceededCount() == 0) {
+                summary.getFailures().forEach(failure -> failure.getException().printStackTrace());
+                throw new IllegalStateException("Scenario of " + policy + " did not pass : " + summary.getTestsSucceededCount()
+                    + " passed, " + summary.getTotalFailureCount() + " failed");
+            }
+
+            VideoStats stats = VideoScenario.videos.stats();
+            System.out.printf("%-18s | %8d | %7.2f | %14.2f | %17.2f%n", policy, stats.recordedContexts(),
+                VideoScenario.cpu.toMillis() / 1000.0, stats.keptBytes() / (1024.0 * 1024.0), stats.writtenBytes() / (1024.0 * 1024.0));
+        }
+        VideoScenario.driven = false;
+    }
+
+    /* Listeners of the services file are left out, the outer run flushes the kept videos and reports the timings. */
+    private static TestExecutionSummary runScenario() {
+
+        SummaryGeneratingListener listener = new SummaryGeneratingListener();
+        LauncherFactory.create(LauncherConfig.builder().enableTestExecutionListenerAutoRegistration(false).build())
+            .execute(LauncherDiscoveryRequestBuilder.request().selectors(selectClass(VideoScenario.class)).build(), listener);
+        return listener.getSummary();
+    }
+
+    /**
+     * Scenario recorded for every policy, i.e. a form filled on an animated page. Only runs when driven by
+     * {@link #measureVideoPolicies()}, which sets the extension of the policy being measured.
+     */
+    @Tag("benchmark")
+    @EnabledIf("driven")
+    public static class VideoScenario {
+
+        private static final String ANIMATED_PAGE = """
+            <html>
+              <body>
+                <style>
+                  .box { width: 200px; height: 200px; background: teal; animation: spin 1s linear infinite; }
+                  @keyframes spin { from { transform: rotate(0deg); } to { transform: rotate(360deg); } }
+                </style>
+                <div class="box"></div>
+                <input id="name" placeholder="Name"/>
+              </body>
+            </html>
+            """;
+
+        /* Read by JUnit on every launch, so each run gets the extension of the policy being measured. */
+        @RegisterExtension
+        static VideoRecordingExtension videos = new VideoRecordingExtension(VideoPolicy.OFF, 0);
+        static boolean driven;
+
+        static Duration cpu = Duration.ZERO;
+
+        private static Playwright playwright;
+        private static Browser browser;
+        private BrowserContext browserContext;
+
+        static boolean driven() {
+            return driven;
+        }
+
+        @BeforeAll
+        static void launch() {
+            playwright = Playwright.create();
+            browser = playwright.chromium().launch();
+        }
+
+        @AfterAll
+        static void close() {
+            browser.close();
+            playwright.close();
+        }
+
+        @RepeatedTest(10)
+        public void fillFormOnAnimatedPage() {
+
+            Duration cpuBefore = ProcessTree.descendantsCpuTime();
+
+            browserContext = videos.newContext(browser, new Browser.NewContextOptions().setRecordVideoSize(640, 480));
+            Page page = browserContext.newPage();
+            page.setContent(ANIMATED_PAGE);
+            page.locator("#name").fill("Piyush");
+            page.waitForTimeout(2000);
+
+            cpu = cpu.plus(ProcessTree.descendantsCpuTime().minus(cpuBefore));
+        }
+
+        /* Closed after the test result is known, the extension deletes or keeps the video once the file is complete. */
+        @AfterEach
+        public void closeContext() {
+            browserContext.close();
+        }
+    }
+}
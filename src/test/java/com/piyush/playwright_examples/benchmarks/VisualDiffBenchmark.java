@@ -0,0 +1,144 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.benchmarks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.piyush.playwright_examples.support.metrics.LatencySamples;
+import com.piyush.playwright_examples.support.visual.ImageDiff;
+import com.piyush.playwright_examples.support.visual.VisualOptions;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Times {@link ImageDiff} on 1920x1080 screenshots drawn with Java2D (header, anti-aliased text and product cards, like a
+ * shop page), so it needs no browser. Every scenario is run on the common fork-join pool and on a single thread pool.
+ * Run it with : ./gradlew test -Pbenchmarks --tests '*VisualDiffBenchmark'
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+@Tag("benchmark")
+public class VisualDiffBenchmark {
+
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 30;
+
+    @Test
+    public void measure1080pComparisons() throws IOException {
+
+        BufferedImage baseline = drawPage(BufferedImage.TYPE_3BYTE_BGR, 0, Color.ORANGE, "Combination Pliers");
+        byte[] baselinePng = encode(baseline);
+
+        Map<String, byte[]> scenarios = new LinkedHashMap<>();
+        scenarios.put("identical bytes", baselinePng);
+        scenarios.put("same pixels, re-encoded", encode(drawPage(BufferedImage.TYPE_INT_ARGB, 0, Color.ORANGE, "Combination Pliers")));
+        scenarios.put("text shifted by 1px", encode(drawPage(BufferedImage.TYPE_3BYTE_BGR, 1, Color.ORANGE, "Combination Pliers")));
+        scenarios.put("one card changed", encode(drawPage(BufferedImage.TYPE_3BYTE_BGR, 0, Color.RED, "Combination Pliers")));
+        scenarios.put("different page", encode(drawDifferentPage()));
+
+        VisualOptions options = new VisualOptions().setMaxDiffPixelRatio(0.001);
+        ForkJoinPool singleThread = new ForkJoinPool(1);
+
+        System.out.printf("1080p PNG is %.2f MB, %d cores%n", baselinePng.length / (1024.0 * 1024.0), ForkJoinPool.commonPool().getParallelism());
+        System.out.println("scenario                  | pool       | median ms | p99 ms | compares/min | result");
+
+        for (Map.Entry<String, byte[]> scenario : scenarios.entrySet()) {
+            for (ForkJoinPool pool : List.of(ForkJoinPool.commonPool(), singleThread)) {
+
+                ImageDiff.Result result = null;
+                LatencySamples samples = new LatencySamples();
+                for (int i = 0; i < WARMUP + ITERATIONS; i++) {
+                    result = ImageDiff.compare(baselinePng, scenario.getValue(), options, pool);
+                    if (i >= WARMUP) {
+                        samples.add(result.elapsedNanos());
+                    }
+                }
+
+                System.out.printf("%-25s | %-10s | %9.2f | %6.2f | %12.0f | %s%n",
+                    scenario.getKey(), pool == singleThread ? "1 thread" : "fork-join", samples.medianMs(), samples.p99Ms(), 60_000 / samples.medianMs(),
+                    (result.matches() ? "match, " : "mismatch, ") + result.reason());
+            }
+        }
+        singleThread.shutdown();
+
+        LatencySamples decoding = new LatencySamples();
+        for (int i = 0; i < WARMUP + ITERATIONS; i++) {
+            long start = System.nanoTime();
+            ImageDiff.decode(baselinePng);
+            if (i >= WARMUP) {
+                decoding.add(System.nanoTime() - start);
+            }
+        }
+        System.out.printf("Decoding a single 1080p PNG alone takes %.2f ms (median)%n", decoding.medianMs());
+
+        assertThat(ImageDiff.compare(baselinePng, scenarios.get("same pixels, re-encoded"), options).matches()).isTrue();
+        assertThat(ImageDiff.compare(baselinePng, scenarios.get("text shifted by 1px"), options).matches()).isFalse(); // moved content is not anti-aliasing.
+        assertThat(ImageDiff.compare(baselinePng, scenarios.get("one card changed"), options).matches()).isFalse();
+        assertThat(ImageDiff.compare(baselinePng, scenarios.get("different page"), options).matches()).isFalse();
+    }
+
+    private static BufferedImage drawPage(int imageType, int textShift, Color cardColour, String title) {
+
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, imageType);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, WIDTH, HEIGHT);
+        graphics.setColor(new Color(33, 37, 41));
+        graphics.fillRect(0, 0, WIDTH, 80);
+        graphics.setColor(Color.WHITE);
+        graphics.setFont(new Font(Font.SANS_SERIF, Font.BOLD, 28));
+        graphics.drawString("Practice Software Testing - Toolshop", 40 + textShift, 50);
+
+        graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, 18));
+        for (int card = 0; card < 12; card++) {
+            int x = 40 + (card % 6) * 310;
+            int y = 130 + (card / 6) * 450;
+            graphics.setColor(card == 7 ? cardColour : Color.ORANGE);
+            graphics.fillRoundRect(x, y, 280, 300, 16, 16);
+            graphics.setColor(Color.DARK_GRAY);
+            graphics.drawRoundRect(x, y, 280, 400, 16, 16);
+            graphics.drawString(title + " #" + card, x + 12 + textShift, y + 340);
+            graphics.drawString("$ " + (10 + card * 3) + ".99", x + 12 + textShift, y + 370);
+        }
+        graphics.dispose();
+        return image;
+    }
+
+    private static BufferedImage drawDifferentPage() {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_3BYTE_BGR);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(new Color(20, 60, 120));
+        graphics.fillRect(0, 0, WIDTH, HEIGHT);
+        graphics.setColor(Color.WHITE);
+        graphics.fillOval(WIDTH / 2 - 300, HEIGHT / 2 - 300, 600, 600);
+        graphics.dispose();
+        return image;
+    }
+
+    private static byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        return png.toByteArray();
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.extraction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class BulkExtractorTest {
+
+    @Test
+    public void testNumbersAreReadIgnoringCurrencyAndThousandsSeparators() {
+
+        assertThat(BulkExtractor.parseNumber("$14.15")).isEqualByComparingTo("14.15");
+        assertThat(BulkExtractor.parseNumber("1,299.00 EUR")).isEqualByComparingTo("1299.00");
+        assertThat(BulkExtractor.parseNumber("-3")).isEqualByComparingTo("-3");
+        assertThat(BulkExtractor.parseNumber("Only 7 left")).isEqualByComparingTo(BigDecimal.valueOf(7));
+    }
+
+    @Test
+    public void testFirstNumberOfARangeIsRead() {
+
+        assertThat(BulkExtractor.parseNumber("$10 - $20")).isEqualByComparingTo("10");
+        assertThat(BulkExtractor.parseNumber("10-20")).isEqualByComparingTo("10");
+    }
+
+    @Test
+    public void testAmbiguousNumbersAreRefused() {
+
+        assertThatThrownBy(() -> BulkExtractor.parseNumber("1.234,56 EUR")).isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Ambiguous number '1.234,56'");
+        assertThatThrownBy(() -> BulkExtractor.parseNumber("12,5")).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> BulkExtractor.parseNumber("Out of stock")).isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Not a number");
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class TimingRegressionTest {
+
+    private static final TimingRegression.Thresholds THRESHOLDS = new TimingRegression.Thresholds(5, 3, 0.2, 50);
+
+    @Test
+    public void testSlowerBodyIsARegression() {
+
+        List<TestTiming> previousRuns = runs(98, 100, 102, 99, 101, 100);
+
+        Optional<TimingRegression> regression = TimingRegression.detect("t", previousRuns, new TestTiming(10, 300, 5), THRESHOLDS);
+
+        assertThat(regression).isPresent();
+        assertThat(regression.get().baseline()).isEqualTo(new TestTiming(10, 100, 5));
+        assertThat(regression.get().baselineRuns()).isEqualTo(6);
+        assertThat(regression.get().deltaMs()).isEqualTo(200);
+        assertThat(regression.get().ratio()).isEqualTo(315 / 115.0);
+        assertThat(regression.get().mainPhase()).isEqualTo(TestPhase.BODY);
+    }
+
+    @Test
+    public void testSlowerSetupIsReportedAsSuch() {
+
+        Optional<TimingRegression> regression = TimingRegression.detect("t", runs(100, 100, 100, 100, 100),
+            new TestTiming(400, 100, 5), THRESHOLDS);
+
+        assertThat(regression).map(TimingRegression::mainPhase).contains(TestPhase.SETUP);
+    }
+
+    @Test
+    public void testNotEnoughHistory() {
+        assertThat(TimingRegression.detect("t", runs(100, 100, 100, 100), new TestTiming(10, 1000, 5), THRESHOLDS)).isEmpty();
+    }
+
+    @Test
+    public void testWithinTheNoiseOfANoisyTest() {
+
+        // median 1000, spread of about 300 ms : 1800 is within 3 sigma.
+        List<TestTiming> previousRuns = runs(700, 1300, 1000, 800, 1200, 1000, 600, 1400, 1000);
+
+        assertThat(TimingRegression.detect("t", previousRuns, new TestTiming(10, 1800, 5), THRESHOLDS)).isEmpty();
+    }
+
+    @Test
+    public void testOutliersDoNotMoveTheBaseline() {
+
+        List<TestTiming> previousRuns = runs(100, 100, 5000, 100, 100, 100, 9000, 100);
+
+        assertThat(TimingRegression.detect("t", previousRuns, new TestTiming(10, 400, 5), THRESHOLDS)).isPresent();
+    }
+
+    @Test
+    public void testSmallAbsoluteDeltaIsNotARegression() {
+
+        // 2 ms body taking 6 ms : above the spread and the tolerance, below minDeltaMs.
+        assertThat(TimingRegression.detect("t", runs(2, 2, 2, 2, 2), new TestTiming(10, 6, 5), THRESHOLDS)).isEmpty();
+    }
+
+    @Test
+    public void testSmallRelativeDeltaIsNotARegression() {
+
+        // no spread at all and 60 ms slower, but only 5 % slower.
+        List<TestTiming> previousRuns = LongStream.range(0, 10).mapToObj(run -> new TestTiming(0, 1200, 0)).toList();
+
+        assertThat(TimingRegression.detect("t", previousRuns, new TestTiming(0, 1260, 0), THRESHOLDS)).isEmpty();
+    }
+
+    /* Runs with the given body durations, 10 ms setup and 5 ms teardown. */
+    private static List<TestTiming> runs(long... bodyMs) {
+        return LongStream.of(bodyMs).mapToObj(body -> new TestTiming(10, body, 5)).toList();
+    }
+}
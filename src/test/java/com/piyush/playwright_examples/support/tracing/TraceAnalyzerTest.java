@@ -0,0 +1,130 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.tracing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.piyush.playwright_examples.support.tracing.TraceAnalyzer.ActionTiming;
+import com.piyush.playwright_examples.support.tracing.TraceAnalyzer.ResourceTiming;
+import com.piyush.playwright_examples.support.tracing.TraceAnalyzer.TraceSummary;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class TraceAnalyzerTest {
+
+    private static final String TRACE = """
+        {"type":"context-options","options":{"viewport":{"width":1280,"height":720}},"browserName":"chromium"}
+        {"type":"before","callId":"call@1","startTime":100,"apiName":"page.click","class":"Frame","method":"click","params":{"selector":"#buy"}}
+        {"type":"frame-snapshot","snapshot":{"html":["HTML",{},["BODY",{},["DIV",{"id":"buy"}]]]}}
+        {"type":"before","callId":"call@2","startTime":110,"class":"Frame","method":"waitForSelector","params":{"selector":".done"}}
+        {"type":"after","callId":"call@2","endTime":610}
+        {"type":"after","callId":"call@1","endTime":350.5,"error":{"message":"Timeout 30000ms exceeded"}}
+        {"type":"after","callId":"call@9","endTime":1}
+        {"startTime":700,"callId":"call@3","type":"before","apiName":"locator.fill","params":{"selector":"#name","value":"Piyush"}}
+        {"type":"screencast-frame","sha1":"abc.jpeg","width":800,"height":600}
+        {"callId":"call@3","endTime":720,"type":"after"}
+        {"type":"action","metadata":{"apiName":"expect.toBeVisible","startTime":1000,"endTime":1400,"params":{}}}
+        """;
+
+    private static final String NETWORK = """
+        {"type":"resource-snapshot","snapshot":{"request":{"method":"GET","url":"https://shop/app.js"},"response":{"status":200,"_transferSize":2048,"content":{"size":5000}},"time":12.5}}
+        {"type":"resource-snapshot","snapshot":{"request":{"method":"POST","url":"https://shop/api/cart"},"response":{"status":201,"_transferSize":-1,"content":{"size":4096}},"time":40}}
+        {"type":"resource-snapshot","snapshot":{"request":{"method":"GET","url":"https://shop/logo.png"},"response":{"status":200,"_transferSize":0,"content":{"size":-1}},"time":1}}
+        """;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testActionsArePairedByCallId() throws IOException {
+
+        TraceSummary summary = TraceAnalyzer.analyze(traceZip());
+
+        assertThat(summary.trace()).isEqualTo("test-trace.zip");
+        assertThat(summary.actions()).containsExactly(
+            new ActionTiming("test-trace.zip", "Frame.waitForSelector", ".done", 500, false),
+            new ActionTiming("test-trace.zip", "page.click", "#buy", 250.5, true),
+            new ActionTiming("test-trace.zip", "locator.fill", "#name", 20, false),
+            new ActionTiming("test-trace.zip", "expect.toBeVisible", null, 400, false));
+    }
+
+    @Test
+    public void testLegacyActionEvent() throws IOException {
+
+        TraceSummary summary = TraceAnalyzer.analyze(zip(Map.of("trace.trace",
+            "{\"type\":\"action\",\"metadata\":{\"class\":\"Frame\",\"method\":\"goto\",\"startTime\":5,\"endTime\":905,\"params\":{},\"error\":{\"message\":\"net::ERR\"}}}\n")));
+
+        assertThat(summary.actions()).containsExactly(new ActionTiming("test-trace.zip", "Frame.goto", null, 900, true));
+        assertThat(summary.resources()).isEmpty();
+    }
+
+    @Test
+    public void testResourceBytesFallBackToContentSize() throws IOException {
+
+        TraceSummary summary = TraceAnalyzer.analyze(traceZip());
+
+        assertThat(summary.resources()).containsExactly(
+            new ResourceTiming("test-trace.zip", "GET", "https://shop/app.js", 200, 2048, 12.5),
+            new ResourceTiming("test-trace.zip", "POST", "https://shop/api/cart", 201, 4096, 40),
+            new ResourceTiming("test-trace.zip", "GET", "https://shop/logo.png", 200, 0, 1));
+        assertThat(summary.totalBytes()).isEqualTo(6144);
+    }
+
+    @Test
+    public void testWaitsAreRankedApartFromActions() throws IOException {
+
+        TraceSummary summary = TraceAnalyzer.analyze(traceZip());
+
+        assertThat(summary.actions()).filteredOn(ActionTiming::isWait).extracting(ActionTiming::name)
+            .containsExactly("Frame.waitForSelector", "expect.toBeVisible");
+        assertThat(new ActionTiming("t", "locator.expect", null, 1, false).isWait()).isTrue();
+
+        ByteArrayOutputStream report = new ByteArrayOutputStream();
+        TraceAnalyzer.printReport(List.of(summary), 1, new PrintStream(report, true, StandardCharsets.UTF_8));
+        String text = report.toString(StandardCharsets.UTF_8);
+
+        String newLine = System.lineSeparator();
+        assertThat(text).contains("--- Slowest actions ---" + newLine + "       251 ms  page.click #buy (failed)  [test-trace.zip]");
+        assertThat(text).contains("--- Longest waits ---" + newLine + "       500 ms  Frame.waitForSelector .done  [test-trace.zip]");
+    }
+
+    private Path traceZip() throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        entries.put("trace.trace", TRACE);
+        entries.put("resources/abc.jpeg", "\u00ff\u00d8\u0000 not json at all");
+        entries.put("trace.network", NETWORK);
+        return zip(entries);
+    }
+
+    /* Trace zip built in memory, written once so it can be analyzed from a path. */
+    private Path zip(Map<String, String> entries) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                zip.putNextEntry(new ZipEntry(entry.getKey()));
+                zip.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return Files.write(directory.resolve("test-trace.zip"), bytes.toByteArray());
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.visual;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class ImageDiffTest {
+
+    private static final int WIDTH = 200;
+    private static final int HEIGHT = 120;
+
+    @Test
+    public void testMaskedRegionsOutsideOfTheImageAreClipped() {
+
+        byte[] expected = png(false, graphics -> graphics.fillRect(20, 20, 40, 40));
+        byte[] actual = png(false, graphics -> {
+            graphics.fillRect(20, 20, 40, 40);
+            graphics.fillRect(WIDTH - 10, 50, 10, 10); // changed right at the right edge.
+        });
+
+        VisualOptions options = new VisualOptions().setMaxHashDistance(64)
+            .addMaskedRegion(new Rectangle(WIDTH - 15, 40, 100, 30)) // partly outside, covers the change.
+            .addMaskedRegion(new Rectangle(WIDTH + 10, 0, 20, HEIGHT)) // right of the image.
+            .addMaskedRegion(new Rectangle(-50, -50, 20, 20)) // above and left of the image.
+            .addMaskedRegion(new Rectangle(0, HEIGHT + 5, WIDTH, 10)); // below the image.
+
+        ImageDiff.Result result = ImageDiff.compare(expected, actual, options);
+
+        assertThat(result.matches()).as(result.reason()).isTrue();
+        assertThat(result.differentPixels()).isZero();
+    }
+
+    @Test
+    public void testOnePixelLayoutShiftIsNotAntiAliasing() {
+
+        byte[] expected = png(false, graphics -> graphics.fillRect(40, 30, 60, 40));
+        byte[] shifted = png(false, graphics -> graphics.fillRect(41, 30, 60, 40));
+
+        ImageDiff.Result result = ImageDiff.compare(expected, shifted, new VisualOptions().setMaxHashDistance(64));
+
+        assertThat(result.matches()).as(result.reason()).isFalse();
+        assertThat(result.differentPixels()).isEqualTo(2 * 40); // the column left behind and the new one.
+        assertThat(result.antiAliasedPixels()).isZero();
+    }
+
+    @Test
+    public void testAntiAliasedEdgesAreIgnored() {
+
+        byte[] aliased = png(false, graphics -> graphics.fillOval(40, 20, 80, 80));
+        byte[] antiAliased = png(true, graphics -> graphics.fillOval(40, 20, 80, 80));
+
+        ImageDiff.Result result = ImageDiff.compare(aliased, antiAliased, new VisualOptions().setMaxHashDistance(64));
+
+        assertThat(result.antiAliasedPixels()).isPositive();
+        assertThat(result.differentPixels()).isLessThan(result.antiAliasedPixels() / 10);
+    }
+
+    private static byte[] png(boolean antiAliasing, Consumer<Graphics2D> drawing) {
+
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, WIDTH, HEIGHT);
+        graphics.setColor(new Color(20, 40, 160));
+        graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
+            antiAliasing ? RenderingHints.VALUE_ANTIALIAS_ON : RenderingHints.VALUE_ANTIALIAS_OFF);
+        drawing.accept(graphics);
+        graphics.dispose();
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        try {
+            ImageIO.write(image, "png", png);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return png.toByteArray();
+    }
+}
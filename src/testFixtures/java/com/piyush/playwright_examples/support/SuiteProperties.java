@@ -0,0 +1,57 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Central place to read the -Dpw.* switches which tune the suite infrastructure (tracing, artifacts etc).
+ * build.gradle.kts forwards every system property starting with "pw." to the test JVM, so these can be passed
+ * on the command line like : ./gradlew uiTest -Dpw.trace.mode=on
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class SuiteProperties {
+
+    private SuiteProperties() {
+    }
+
+    public static String string(String key, String defaultValue) {
+        String value = System.getProperty(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    public static int integer(String key, int defaultValue) {
+        String value = string(key, null);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    public static double decimal(String key, double defaultValue) {
+        String value = string(key, null);
+        return value == null ? defaultValue : Double.parseDouble(value);
+    }
+
+    public static boolean bool(String key, boolean defaultValue) {
+        String value = string(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    public static Path path(String key, String defaultValue) {
+        return Paths.get(string(key, defaultValue));
+    }
+
+    /* Accepts both the enum constant and the dashed form, i.e. RETAIN_ON_FAILURE and retain-on-failure are same. */
+    public static <E extends Enum<E>> E enumValue(String key, Class<E> type, E defaultValue) {
+        String value = string(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        return Enum.valueOf(type, value.replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+}
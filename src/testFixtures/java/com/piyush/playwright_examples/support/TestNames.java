@@ -0,0 +1,35 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support;
+
+import java.util.Locale;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * File system friendly names for the artifacts (traces, videos etc) produced for a test.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class TestNames {
+
+    private TestNames() {
+    }
+
+    /* For ex - _7BrowserContextSharedAmongTestsAndTracing.testBasicPlaywrightSetupAndSiteTitle() becomes
+     * _7browsercontextsharedamongtestsandtracing-testbasicplaywrightsetupandsitetitle */
+    public static String slug(ExtensionContext context) {
+        String testName = context.getTestMethod()
+            .map(method -> method.getName())
+            .orElse(context.getDisplayName());
+
+        return sanitize(context.getRequiredTestClass().getSimpleName() + "-" + testName);
+    }
+
+    public static String sanitize(String name) {
+        return name.replaceAll("[^A-Za-z0-9_.-]+", "-").toLowerCase(Locale.ROOT);
+    }
+}
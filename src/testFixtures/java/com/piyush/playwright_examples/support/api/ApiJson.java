@@ -0,0 +1,101 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.api;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.microsoft.playwright.APIResponse;
+import com.piyush.playwright_examples.support.SuiteProperties;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Typed JSON of the API tests : binds response bodies straight to the DTO records of this package and writes request bodies,
+ * through an ObjectReader / ObjectWriter built once per type.
+ *
+ * MAPPER.readTree(apiResponse.body()) builds a JsonNode for every field of the response only to read a few of them back by
+ * name, while binding to a record allocates ~40% less (see ApiResponseHandlingBenchmark) and turns the assertions into typed
+ * ones. Requests are written here too instead of setData(record), which serializes with a Gson created inside
+ * Playwright and was ~4x slower than a cached writer in the same benchmark.
+ *
+ * <pre>
+ *     ProductPage page = ApiJson.read(apiRequestContext.get("/products?page=2"), ProductPage.class);
+ *     apiRequestContext.post("/users/register", RequestOptions.create().setData(ApiJson.write(user)));
+ * </pre>
+ *
+ * Records use camel case components, the mapper maps them to the snake case of the API (inStock is "in_stock"). Fields
+ * which are not in the records are ignored so the API can grow without breaking the tests.
+ * -Dpw.json.blackbird=true registers the blackbird module which replaces the reflective accessors with generated lambdas,
+ * it is off by default, measure it with the benchmark on the payloads of interest before turning it on.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class ApiJson {
+
+    public static final ObjectMapper MAPPER = mapper(SuiteProperties.bool("pw.json.blackbird", false));
+
+    private static final Map<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    private ApiJson() {
+    }
+
+    public static ObjectMapper mapper(boolean blackbird) {
+
+        ObjectMapper mapper = new ObjectMapper()
+            .setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return blackbird ? mapper.registerModule(new BlackbirdModule()) : mapper;
+    }
+
+    public static ObjectReader reader(Class<?> type) {
+        return READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+
+    public static ObjectWriter writer(Class<?> type) {
+        return WRITERS.computeIfAbsent(type, MAPPER::writerFor);
+    }
+
+    /*
+     * Binds the body of the response, no String is created on the way. body() fetches it from the driver on every call, so
+     * when the body is needed for something else as well take it once and use read(byte[], Class).
+     */
+    public static <T> T read(APIResponse response, Class<T> type) {
+        return read(response.body(), type);
+    }
+
+    public static <T> T read(byte[] body, Class<T> type) {
+        try {
+            return reader(type).readValue(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + type.getSimpleName() + " from the response", e);
+        }
+    }
+
+    public static <T> T read(String body, Class<T> type) {
+        try {
+            return reader(type).readValue(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + type.getSimpleName() + " from the response", e);
+        }
+    }
+
+    /* UTF-8 JSON of the value, to be passed as RequestOptions.setData(byte[]) along with a json Content-Type. */
+    public static byte[] write(Object value) {
+        try {
+            return writer(value.getClass()).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + value.getClass().getSimpleName(), e);
+        }
+    }
+}
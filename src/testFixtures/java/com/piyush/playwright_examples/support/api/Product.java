@@ -0,0 +1,34 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.api;
+
+import java.math.BigDecimal;
+
+/**
+ * Product of a {@link ProductPage}, brand and category are the short forms the listing embeds.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public record Product(
+    String id,
+    String name,
+    String description,
+    BigDecimal price,
+    boolean isLocationOffer,
+    boolean isRental,
+    boolean inStock,
+    Brand brand,
+    Category category,
+    ProductImage productImage
+) {
+
+    public record Brand(String id, String name) {
+    }
+
+    public record Category(String id, String name, String slug) {
+    }
+}
@@ -0,0 +1,15 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.api;
+
+/**
+ * Image of a {@link Product} along with its attribution.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public record ProductImage(String id, String byName, String byUrl, String sourceName, String sourceUrl, String fileName, String title) {
+}
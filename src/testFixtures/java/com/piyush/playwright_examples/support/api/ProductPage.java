@@ -0,0 +1,17 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.api;
+
+import java.util.List;
+
+/**
+ * One page of GET /products of https://api.practicesoftwaretesting.com, read with {@link ApiJson}.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public record ProductPage(int currentPage, List<Product> data, int from, int lastPage, int perPage, int to, int total) {
+}
@@ -0,0 +1,15 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.api;
+
+/**
+ * Response of POST /users/register, the {@link User} as stored by the API. Only what the tests check is bound.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public record RegisteredUser(String id, String firstName, String lastName, String email, String createdAt) {
+}
@@ -0,0 +1,20 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.api;
+
+import java.util.List;
+
+/**
+ * Response of the /upload endpoint of LargePayloadServer : what it received for every part of a multipart request.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public record UploadedParts(long millis, List<Part> parts) {
+
+    public record Part(String name, String filename, long size) {
+    }
+}
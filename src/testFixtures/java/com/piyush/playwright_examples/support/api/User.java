@@ -0,0 +1,27 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.api;
+
+/**
+ * Body of POST /users/register, written with {@link ApiJson#write(Object)}.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public record User(
+    String firstName,
+    String lastName,
+    String address,
+    String city,
+    String state,
+    String country,
+    String postcode,
+    String phone,
+    String dob,
+    String email,
+    String password
+) {
+}
@@ -0,0 +1,41 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.artifacts;
+
+import com.piyush.playwright_examples.support.SuiteProperties;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Registered through META-INF/services/org.junit.platform.launcher.TestExecutionListener. Waits for the pending artifacts
+ * once all the tests are done (-Dpw.artifacts.flushTimeoutSeconds, default 120) and prints the pipeline stats.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class ArtifactFlushListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+
+        ArtifactService artifactService = ArtifactService.getInstanceIfCreated();
+        if (artifactService == null) {
+            return;
+        }
+
+        try {
+            artifactService.flush(Duration.ofSeconds(SuiteProperties.integer("pw.artifacts.flushTimeoutSeconds", 120)));
+        } catch (TimeoutException e) {
+            System.err.println("Artifacts are still being written after the flush timeout");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        System.out.println("Artifacts : " + artifactService.stats());
+    }
+}
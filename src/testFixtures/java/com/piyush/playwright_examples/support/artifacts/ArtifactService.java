@@ -0,0 +1,258 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.artifacts;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.Download;
+import com.piyush.playwright_examples.support.SuiteProperties;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves, renames, compresses and indexes test artifacts (traces, videos, screenshots, downloads) on a small bounded pool of
+ * background threads, so the test thread only hands the artifact over and returns.
+ *
+ * Backpressure : the pool has a bounded queue (-Dpw.artifacts.queueCapacity, default 64). When it is full, the artifact is
+ * written on the submitting (test) thread itself, which slows down the producer instead of piling up work in memory.
+ *
+ * Everything ends up in -Dpw.artifacts.dir (default build/artifacts) as {type}/{file name} and every written artifact is appended to
+ * index.jsonl in the same directory. Pending artifacts are flushed at the end of the test plan by {@link ArtifactFlushListener}.
+ *
+ * NOTE : Playwright objects are not thread safe, so nothing here calls Playwright from the writer threads. The Playwright
+ * part (i.e. waiting for a download to complete) is always done on the test thread.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class ArtifactService {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static volatile ArtifactService instance;
+
+    private final Path rootDir;
+    private final Path stagingDir;
+    private final ThreadPoolExecutor executor;
+    private final Set<CompletableFuture<Path>> pending = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+
+    private record IndexEntry(String type, String owner, String path, long bytes, boolean compressed, String createdAt) {
+    }
+
+    ArtifactService(Path rootDir, int workers, int queueCapacity) {
+
+        this.rootDir = rootDir;
+        this.stagingDir = rootDir.resolve(".staging");
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            workers, workers,
+            30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "artifact-writer-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static ArtifactService getInstance() {
+
+        if (instance == null) {
+            synchronized (ArtifactService.class) {
+                if (instance == null) {
+                    instance = new ArtifactService(
+                        SuiteProperties.path("pw.artifacts.dir", "build/artifacts"),
+                        SuiteProperties.integer("pw.artifacts.workers", 2),
+                        SuiteProperties.integer("pw.artifacts.queueCapacity", 64)
+                    );
+                }
+            }
+        }
+        return instance;
+    }
+
+    /* Used by the flush listener so that a run which never produced any artifact does not create the service. */
+    static ArtifactService getInstanceIfCreated() {
+        return instance;
+    }
+
+    public Path directory(ArtifactType type) {
+        return rootDir.resolve(type.directory());
+    }
+
+    /**
+     * A unique path in the staging area for producers which must write the file themselves (i.e. tracing().stopChunk(path)).
+     * Hand it over with {@link #submit(ArtifactType, String, Path, String, boolean)} afterwards.
+     */
+    public Path stagingFile(String fileName) {
+        return stagingDir.resolve(UUID.randomUUID() + "-" + fileName);
+    }
+
+    /**
+     * Moves the source file to {type}/{fileName} (gzip compressed if asked) and indexes it. The source file is deleted once written.
+     *
+     * @param owner usually the test slug, recorded in the index.
+     */
+    public CompletableFuture<Path> submit(ArtifactType type, String owner, Path source, String fileName, boolean compress) {
+        return enqueue(() -> store(type, owner, source, fileName, compress));
+    }
+
+    /* Screenshots can be taken in memory with page.screenshot() and written here without blocking the test. */
+    public CompletableFuture<Path> saveScreenshot(String owner, byte[] png, String fileName) {
+        return enqueue(() -> {
+            Path staged = stagingFile(fileName);
+            Files.createDirectories(stagingDir);
+            Files.write(staged, png);
+            return store(ArtifactType.SCREENSHOT, owner, staged, fileName, false);
+        });
+    }
+
+    /**
+     * Replacement of download.saveAs(..). download.path() waits for the download to complete (on the test thread, as Playwright
+     * requires) and the file is hard linked into the staging area, which is almost free. Playwright deletes its own copy when the
+     * browser context is closed, so when linking is not possible (different file system) the file is copied before returning.
+     * Rename/compression/indexing happens in background in both cases.
+     */
+    public CompletableFuture<Path> saveDownload(String owner, Download download, String fileName, boolean compress) {
+
+        Path staged = stagingFile(fileName);
+        try {
+            Files.createDirectories(stagingDir);
+            try {
+                Files.createLink(staged, download.path());
+            } catch (IOException | UnsupportedOperationException e) {
+                Files.copy(download.path(), staged);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not stage download " + download.suggestedFilename(), e);
+        }
+
+        return submit(ArtifactType.DOWNLOAD, owner, staged, fileName, compress);
+    }
+
+    public ArtifactStats stats() {
+        return new ArtifactStats(
+            executor.getQueue().size(),
+            maxQueueDepth.get(),
+            submitted.get(),
+            completed.get(),
+            failed.get(),
+            bytesWritten.get(),
+            busyNanos.get()
+        );
+    }
+
+    /* Waits till every artifact submitted so far is written. */
+    public void flush(Duration timeout) throws TimeoutException, InterruptedException {
+
+        CompletableFuture<Void> all = CompletableFuture.allOf(pending.toArray(CompletableFuture<?>[]::new));
+        try {
+            all.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // failures are already counted and reported on the individual futures.
+        }
+    }
+
+    private interface ArtifactTask {
+        Path run() throws IOException;
+    }
+
+    private CompletableFuture<Path> enqueue(ArtifactTask task) {
+
+        CompletableFuture<Path> future = new CompletableFuture<>();
+        pending.add(future);
+        future.whenComplete((path, error) -> pending.remove(future));
+        submitted.incrementAndGet();
+
+        executor.execute(() -> {
+            long start = System.nanoTime();
+            try {
+                future.complete(task.run());
+                completed.incrementAndGet();
+            } catch (Throwable e) {
+                failed.incrementAndGet();
+                System.err.println("Could not write artifact : " + e);
+                future.completeExceptionally(e);
+            } finally {
+                busyNanos.addAndGet(System.nanoTime() - start);
+            }
+        });
+
+        maxQueueDepth.accumulateAndGet(executor.getQueue().size(), Math::max);
+        return future;
+    }
+
+    private Path store(ArtifactType type, String owner, Path source, String fileName, boolean compress) throws IOException {
+
+        Path targetDir = directory(type);
+        Files.createDirectories(targetDir);
+
+        Path target;
+        if (compress) {
+            target = targetDir.resolve(fileName + ".gz");
+            try (InputStream in = Files.newInputStream(source);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(target), BUFFER_SIZE)) {
+                in.transferTo(out);
+            }
+            Files.delete(source);
+        } else {
+            target = targetDir.resolve(fileName);
+            try {
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        long size = Files.size(target);
+        bytesWritten.addAndGet(size);
+        index(new IndexEntry(type.name(), owner, target.toAbsolutePath().toString(), size, compress, Instant.now().toString()));
+
+        return target;
+    }
+
+    private synchronized void index(IndexEntry entry) throws IOException {
+        Files.writeString(
+            rootDir.resolve("index.jsonl"),
+            MAPPER.writeValueAsString(entry) + System.lineSeparator(),
+            StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.APPEND
+        );
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.artifacts;
+
+/**
+ * Point in time snapshot of the artifact pipeline.
+ *
+ * @param queueDepth    artifacts waiting for a writer thread right now.
+ * @param maxQueueDepth highest queue depth seen so far.
+ * @param submitted     artifacts accepted so far.
+ * @param completed     artifacts moved/written and indexed.
+ * @param failed        artifacts which could not be written.
+ * @param bytesWritten  bytes written to the artifacts directory (after compression).
+ * @param busyNanos     time spent by the writer threads doing the actual work.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public record ArtifactStats(
+    int queueDepth,
+    int maxQueueDepth,
+    long submitted,
+    long completed,
+    long failed,
+    long bytesWritten,
+    long busyNanos
+) {
+
+    public double throughputMbPerSec() {
+        return busyNanos == 0 ? 0 : (bytesWritten / (1024.0 * 1024.0)) / (busyNanos / 1_000_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("submitted=%d, completed=%d, failed=%d, queueDepth=%d (max %d), written=%.2f MB, throughput=%.2f MB/s",
+            submitted, completed, failed, queueDepth, maxQueueDepth, bytesWritten / (1024.0 * 1024.0), throughputMbPerSec());
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.artifacts;
+
+/**
+ * Each type of artifact is kept in its own sub directory of the artifacts directory.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public enum ArtifactType {
+
+    TRACE("traces"),
+    VIDEO("videos"),
+    SCREENSHOT("screenshots"),
+    DOWNLOAD("downloads");
+
+    private final String directory;
+
+    ArtifactType(String directory) {
+        this.directory = directory;
+    }
+
+    public String directory() {
+        return directory;
+    }
+}
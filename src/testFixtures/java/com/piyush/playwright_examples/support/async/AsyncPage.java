@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.async;
+
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Response;
+import com.microsoft.playwright.Route;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A page of an {@link AsyncPlaywright}. Every call is queued to the owner thread and returns a future of its result, the
+ * most common ones have a method here, anything else goes through {@link #call(Function)}.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class AsyncPage {
+
+    private final Page page;
+    private final Executor executor;
+
+    AsyncPage(Page page, Executor executor) {
+        this.page = page;
+        this.executor = executor;
+    }
+
+    public CompletableFuture<Response> navigate(String url) {
+        return call(page -> page.navigate(url));
+    }
+
+    public CompletableFuture<Void> click(String selector) {
+        return run(page -> page.click(selector));
+    }
+
+    public CompletableFuture<Void> fill(String selector, String value) {
+        return run(page -> page.fill(selector, value));
+    }
+
+    public CompletableFuture<String> title() {
+        return call(Page::title);
+    }
+
+    public CompletableFuture<Integer> count(String selector) {
+        return call(page -> page.locator(selector).count());
+    }
+
+    public CompletableFuture<Void> route(String urlGlob, Consumer<Route> handler) {
+        return run(page -> page.route(urlGlob, handler));
+    }
+
+    /* Runs the trigger (i.e. a click) and completes with the first response matching the glob. */
+    public CompletableFuture<Response> waitForResponse(String urlGlob, Consumer<Page> trigger) {
+        return call(page -> page.waitForResponse(urlGlob, () -> trigger.accept(page)));
+    }
+
+    public CompletableFuture<Void> close() {
+        return run(page -> page.context().close());
+    }
+
+    public <T> CompletableFuture<T> call(Function<Page, T> work) {
+        return CompletableFuture.supplyAsync(() -> work.apply(page), executor);
+    }
+
+    public CompletableFuture<Void> run(Consumer<Page> work) {
+        return CompletableFuture.runAsync(() -> work.accept(page), executor);
+    }
+}
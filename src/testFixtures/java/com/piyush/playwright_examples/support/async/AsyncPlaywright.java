@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.async;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * CompletableFuture based facade over the blocking Playwright API. Playwright objects must only be used by the thread which
+ * created them, so every instance owns one thread : its Playwright, browser and pages are created and called only there,
+ * and callers get futures back.
+ * <pre>
+ *     try (AsyncPlaywright first = AsyncPlaywright.launch(playwright -&gt; playwright.chromium().launch());
+ *          AsyncPlaywright second = AsyncPlaywright.launch(playwright -&gt; playwright.chromium().launch())) {
+ *
+ *         CompletableFuture&lt;String&gt; one = first.newPage().thenCompose(page -&gt; page.navigate(url).thenCompose(r -&gt; page.title()));
+ *         CompletableFuture&lt;String&gt; two = second.newPage().thenCompose(page -&gt; page.navigate(url).thenCompose(r -&gt; page.title()));
+ *         CompletableFuture.allOf(one, two).join();
+ *     }
+ * </pre>
+ * Calls on one instance still run one after the other (in submission order), work runs in parallel across instances, each
+ * of which has its own driver process. So use an instance per flow which should run concurrently.
+ *
+ * NOTE : objects coming out of a future (i.e. a Response) are bound to the owner thread as well, read them in a callback
+ * running there, i.e. future.thenApplyAsync(Response::status, asyncPlaywright.executor()).
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class AsyncPlaywright implements AutoCloseable {
+
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    private final ExecutorService executor;
+    private final CompletableFuture<Browser> browser;
+    private Playwright playwright; // owner thread only.
+
+    private AsyncPlaywright(Function<Playwright, Browser> launcher) {
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "async-playwright-" + INSTANCES.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.browser = CompletableFuture.supplyAsync(() -> {
+            playwright = Playwright.create();
+            return launcher.apply(playwright);
+        }, executor);
+    }
+
+    /* Creates the Playwright instance and launches the browser on the owner thread, returns right away. */
+    public static AsyncPlaywright launch(Function<Playwright, Browser> launcher) {
+        return new AsyncPlaywright(launcher);
+    }
+
+    /* Executor of the owner thread, to run callbacks which touch Playwright objects. */
+    public ExecutorService executor() {
+        return executor;
+    }
+
+    /* Page in a new context of its own. */
+    public CompletableFuture<AsyncPage> newPage() {
+        return supply(browser -> new AsyncPage(browser.newContext().newPage(), executor));
+    }
+
+    /* Runs any code with the browser on the owner thread. */
+    public <T> CompletableFuture<T> supply(Function<Browser, T> work) {
+        return browser.thenApplyAsync(work, executor);
+    }
+
+    @Override
+    public void close() {
+        try {
+            browser.handleAsync((launched, failure) -> {
+                if (launched != null) {
+                    launched.close();
+                }
+                if (playwright != null) {
+                    playwright.close();
+                }
+                return null;
+            }, executor).join();
+        } finally {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
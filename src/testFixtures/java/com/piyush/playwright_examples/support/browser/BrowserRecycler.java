@@ -0,0 +1,225 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.browser;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+import com.piyush.playwright_examples.support.SuiteProperties;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Shared browser which is replaced by a fresh one once it has run too many tests, got too old or its processes (driver +
+ * browser, read from /proc) use too much memory, since a long lived chromium keeps growing and slowing down.
+ *
+ * A hot spare is launched in background all the time, so a recycle is only a swap done between two tests : the spare
+ * becomes the browser and the old one is closed in background. If the spare is not ready yet when a recycle is due, the
+ * current browser simply runs one more test, a test never waits for a launch (apart from the very first one).
+ *
+ * A browser which crashed or disconnected is replaced right away with {@link #replaceDisconnected()}, by the spare when it
+ * is ready (the launch is waited for otherwise).
+ *
+ * Every browser has a Playwright instance of its own. Spares are created and launched on the "browser-recycler" thread and
+ * handed over to the test thread when they are swapped in, retired browsers are handed back to it to be closed, so a
+ * browser has a single owner thread at any time (see {@link ManagedBrowser} for why this is safe and how it is checked).
+ * The background thread and the test thread only ever work on different Playwright instances at the same time, which is
+ * what Playwright supports. The recycler itself is meant to be used by one test thread, like the tests of a class.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class BrowserRecycler implements AutoCloseable {
+
+    /* -Dpw.recycle.maxTests (default 50), -Dpw.recycle.maxAgeSec (default 600), -Dpw.recycle.maxRssMb (default 1024), 0 switches one off. */
+    public record Thresholds(int maxTests, Duration maxAge, long maxRssMb) {
+
+        public static Thresholds fromSystemProperties() {
+            return new Thresholds(
+                SuiteProperties.integer("pw.recycle.maxTests", 50),
+                Duration.ofSeconds(SuiteProperties.integer("pw.recycle.maxAgeSec", 600)),
+                SuiteProperties.integer("pw.recycle.maxRssMb", 1024)
+            );
+        }
+    }
+
+    /* Taken after every test. */
+    public record MemorySample(Duration sinceStart, int generation, int testsOnBrowser, double rssMb) {
+    }
+
+    private final Function<Playwright, Browser> launcher;
+    private final Thresholds thresholds;
+    private final ExecutorService background = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "browser-recycler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long startNanos = System.nanoTime();
+    private final List<MemorySample> samples = new CopyOnWriteArrayList<>();
+
+    private ManagedBrowser current;
+    private CompletableFuture<ManagedBrowser> spare;
+    private int generations;
+    private int recycles;
+    private int postponed;
+    private int crashes;
+
+    public BrowserRecycler(Function<Playwright, Browser> launcher, Thresholds thresholds) {
+        this.launcher = launcher;
+        this.thresholds = thresholds;
+    }
+
+    public static BrowserRecycler fromSystemProperties(Function<Playwright, Browser> launcher) {
+        return new BrowserRecycler(launcher, Thresholds.fromSystemProperties());
+    }
+
+    /* Browser for the next test. The first call launches it (and starts the spare), later calls return the current one. */
+    public Browser browser() {
+        if (current == null) {
+            current = ManagedBrowser.launch(++generations, launcher);
+            startSpare();
+        }
+        return current.browser();
+    }
+
+    /**
+     * To be called after every test. Returns true when the browser is due for recycling and the spare is ready, the caller
+     * should then close its contexts of the current browser and call {@link #swap()}.
+     */
+    public boolean testFinished() {
+
+        if (current == null) {
+            return false;
+        }
+
+        current.testFinished();
+        long rssBytes = current.rssBytes();
+        samples.add(new MemorySample(Duration.ofNanos(System.nanoTime() - startNanos), current.generation(), current.tests(), rssBytes / (1024.0 * 1024.0)));
+
+        if (!isDue(current, rssBytes)) {
+            return false;
+        }
+        if (!spare.isDone()) {
+            postponed++;
+            return false;
+        }
+        if (spare.isCompletedExceptionally()) {
+            postponed++;
+            startSpare(); // launch failed, try again.
+            return false;
+        }
+        return true;
+    }
+
+    /* Spare becomes the current browser, the old one is closed in background and a new spare is launched. */
+    public void swap() {
+
+        ManagedBrowser retired = current;
+        current = spare.join(); // the launch happened-before join() returns, the background thread is done with it.
+        current.handOver();
+        recycles++;
+        background.execute(retired::close);
+        startSpare();
+    }
+
+    /* False once the current browser crashed or disconnected, it has to be replaced before the next test. */
+    public boolean isConnected() {
+        return current == null || current.isConnected();
+    }
+
+    /* Replaces the current browser after a crash or disconnect, the test in the middle of it is not counted. */
+    public void replaceDisconnected() {
+
+        ManagedBrowser crashed = current;
+        crashes++;
+
+        ManagedBrowser replacement;
+        try {
+            replacement = spare.join();
+        } catch (CompletionException e) {
+            replacement = null; // spare launch failed as well, launched again below.
+        }
+        if (replacement == null || !replacement.isConnected()) {
+            if (replacement != null) {
+                background.execute(replacement::close);
+            }
+            // launched on the test thread itself, it owns it right away.
+            replacement = ManagedBrowser.launch(++generations, launcher);
+        }
+
+        replacement.handOver();
+        current = replacement;
+        background.execute(crashed::close); // releases its Playwright instance (driver process).
+        startSpare();
+    }
+
+    /* Waits until the spare launch is over (launched or failed), the spare itself stays with the background thread. */
+    public void awaitSpare() {
+        if (spare != null) {
+            try {
+                spare.join();
+            } catch (CompletionException e) {
+                // launched again by testFinished() or replaceDisconnected().
+            }
+        }
+    }
+
+    public int crashes() {
+        return crashes;
+    }
+
+    public List<MemorySample> samples() {
+        return List.copyOf(samples);
+    }
+
+    public int recycles() {
+        return recycles;
+    }
+
+    public void printReport(PrintStream out) {
+        out.printf("Browser recycling : %d browsers launched, %d recycles, %d postponed (spare not ready), %d crashes, thresholds %s%n",
+            generations, recycles, postponed, crashes, thresholds);
+        out.println("   at (s) | browser | tests on it | rss (MB)");
+        samples.forEach(sample -> out.printf("%9.1f | %7d | %11d | %8.1f%n",
+            sample.sinceStart().toMillis() / 1000.0, sample.generation(), sample.testsOnBrowser(), sample.rssMb()));
+    }
+
+    @Override
+    public void close() {
+
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+        if (spare != null) {
+            spare.thenAccept(ManagedBrowser::close);
+        }
+        background.shutdown();
+        try {
+            background.awaitTermination(60, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean isDue(ManagedBrowser browser, long rssBytes) {
+        return (thresholds.maxTests() > 0 && browser.tests() >= thresholds.maxTests())
+            || (!thresholds.maxAge().isZero() && browser.ageNanos() >= thresholds.maxAge().toNanos())
+            || (thresholds.maxRssMb() > 0 && rssBytes >= thresholds.maxRssMb() * 1024 * 1024);
+    }
+
+    private void startSpare() {
+        int generation = ++generations;
+        spare = CompletableFuture.supplyAsync(() -> ManagedBrowser.launch(generation, launcher), background);
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.browser;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+import com.piyush.playwright_examples.support.metrics.ProcessTree;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A browser with a Playwright instance (so a driver process) of its own, which is what makes its memory measurable : the
+ * driver is found as the new child process of the JVM and the browser processes are its descendants.
+ *
+ * Playwright objects must be used by one thread only : a call sends the message and then processes the incoming ones on the
+ * calling thread until its answer is there, so two threads calling into the same instance would steal each other's
+ * messages. A ManagedBrowser is therefore owned by one thread at a time, the thread which launched it to begin with.
+ * Ownership moves only through {@link #handOver()}, called by the new owner after a happens-before edge with the old one
+ * (the CompletableFuture of the spare joined by the test thread, a task submitted to the background thread), and the old
+ * owner never touches it again. {@link #browser()} refuses any other thread, so a missing hand over fails loudly instead of
+ * corrupting the connection. Events of the browser (i.e. onDisconnected) run on whichever thread owns it at that moment.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+final class ManagedBrowser {
+
+    private static final Object CREATE_LOCK = new Object();
+
+    private final int generation;
+    private final Playwright playwright;
+    private final Browser browser;
+    private final ProcessHandle driver;
+    private final long launchedAtNanos = System.nanoTime();
+    private volatile boolean disconnected;
+    private volatile Thread owner = Thread.currentThread();
+    private int tests;
+
+    private ManagedBrowser(int generation, Playwright playwright, Browser browser, ProcessHandle driver) {
+        this.generation = generation;
+        this.playwright = playwright;
+        this.browser = browser;
+        this.driver = driver;
+        browser.onDisconnected(closedBrowser -> disconnected = true);
+    }
+
+    static ManagedBrowser launch(int generation, Function<Playwright, Browser> launcher) {
+
+        Playwright playwright;
+        ProcessHandle driver;
+        synchronized (CREATE_LOCK) { // best effort : Playwright instances created elsewhere at the same moment could be mistaken for ours.
+            Set<Long> before = childPids();
+            playwright = Playwright.create();
+            driver = ProcessHandle.current().children().filter(child -> !before.contains(child.pid())).findFirst().orElse(null);
+        }
+
+        try {
+            return new ManagedBrowser(generation, playwright, launcher.apply(playwright), driver);
+        } catch (RuntimeException e) {
+            playwright.close();
+            throw e;
+        }
+    }
+
+    int generation() {
+        return generation;
+    }
+
+    /* The browser, for the owner thread only. */
+    Browser browser() {
+        Thread current = Thread.currentThread();
+        if (current != owner) {
+            throw new IllegalStateException("Browser #" + generation + " is owned by thread " + owner.getName()
+                + ", it was not handed over to " + current.getName());
+        }
+        return browser;
+    }
+
+    /* Makes the calling thread the owner, to be called once the previous owner is done with it (see the class doc). */
+    void handOver() {
+        owner = Thread.currentThread();
+    }
+
+    int tests() {
+        return tests;
+    }
+
+    void testFinished() {
+        tests++;
+    }
+
+    /* False once the browser crashed, was killed or closed by someone else. */
+    boolean isConnected() {
+        return !disconnected && browser.isConnected();
+    }
+
+    long ageNanos() {
+        return System.nanoTime() - launchedAtNanos;
+    }
+
+    /* Driver + browser processes, 0 when the driver could not be told apart. */
+    long rssBytes() {
+        return driver == null ? 0 : ProcessTree.treeRssBytes(driver);
+    }
+
+    /* Closes the browser and its driver on the calling thread, which takes it over. */
+    void close() {
+        handOver();
+        try {
+            browser.close();
+        } catch (RuntimeException e) {
+            // already gone, i.e. crashed or disconnected.
+        } finally {
+            playwright.close();
+        }
+    }
+
+    private static Set<Long> childPids() {
+        return ProcessHandle.current().children().map(ProcessHandle::pid).collect(Collectors.toCollection(HashSet::new));
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.browser;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Playwright;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Browser and browser context shared by all the tests of a class, on top of a {@link BrowserRecycler} :
+ * <pre>
+ *     {@literal @}RegisterExtension
+ *     static final SharedBrowserExtension BROWSER = SharedBrowserExtension.fromSystemProperties(
+ *         playwright -&gt; playwright.chromium().launch(LaunchProfile.options()));
+ *
+ *     {@literal @}BeforeEach
+ *     void setUp() {
+ *         page = BROWSER.context().newPage();
+ *     }
+ * </pre>
+ * When the browser is recycled between two tests the context is created again on the new browser, so tests should take it
+ * from {@link #context()} every time rather than keep it. Whatever has to be done on every new context (i.e. start tracing)
+ * goes to {@link #onNewContext(Consumer)}.
+ *
+ * A crash does not take the rest of the class down with it : when a page of the context crashed or the browser disconnected
+ * during a test, that test is failed (with the crash as reason) and the context, and the browser if it is gone, are rebuilt
+ * before the next test. A browser which died in between two tests is replaced before the next one as well.
+ *
+ * The recycling report (memory over time) is printed after all the tests of the class.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class SharedBrowserExtension implements BeforeEachCallback, AfterEachCallback, AfterAllCallback {
+
+    private final BrowserRecycler recycler;
+    private final Function<Browser, BrowserContext> contextFactory;
+    private final List<Consumer<BrowserContext>> newContextListeners = new CopyOnWriteArrayList<>();
+
+    private BrowserContext browserContext;
+    private volatile String crash;
+
+    public SharedBrowserExtension(BrowserRecycler recycler, Function<Browser, BrowserContext> contextFactory) {
+        this.recycler = recycler;
+        this.contextFactory = contextFactory;
+    }
+
+    public static SharedBrowserExtension fromSystemProperties(Function<Playwright, Browser> launcher) {
+        return new SharedBrowserExtension(BrowserRecycler.fromSystemProperties(launcher), Browser::newContext);
+    }
+
+    public SharedBrowserExtension onNewContext(Consumer<BrowserContext> listener) {
+        newContextListeners.add(listener);
+        return this;
+    }
+
+    public Browser browser() {
+        return recycler.browser();
+    }
+
+    public BrowserContext context() {
+        if (browserContext == null) {
+            if (!recycler.isConnected()) {
+                recycler.replaceDisconnected();
+            }
+            BrowserContext created = contextFactory.apply(recycler.browser());
+            created.onPage(page -> page.onCrash(crashedPage -> {
+                if (created == browserContext) { // a retired browser may still deliver events while it is closed in background.
+                    crash = "page " + crashedPage.url() + " crashed";
+                }
+            }));
+            browserContext = created;
+            newContextListeners.forEach(listener -> listener.accept(browserContext));
+        }
+        return browserContext;
+    }
+
+    public BrowserRecycler recycler() {
+        return recycler;
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        crash = null;
+        if (!recycler.isConnected()) { // died in between two tests.
+            closeContext();
+        }
+        context(); // created before the test (and before tracing chunks start), not in the middle of it.
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+
+        String reason = !recycler.isConnected() ? "browser disconnected" : crash;
+        if (reason != null) {
+            closeContext();
+            if (!recycler.isConnected()) {
+                recycler.replaceDisconnected();
+            }
+            throw new IllegalStateException("Browser crashed during " + context.getDisplayName() + " (" + reason
+                + "), browser context is rebuilt for the next test");
+        }
+
+        if (recycler.testFinished()) {
+            closeContext(); // on the test thread, before the old browser is closed in background.
+            recycler.swap();
+        }
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        recycler.printReport(System.out);
+        closeContext();
+        recycler.close();
+    }
+
+    private void closeContext() {
+        if (browserContext == null) {
+            return;
+        }
+        try {
+            browserContext.close();
+        } catch (RuntimeException e) {
+            // its browser is already gone.
+        } finally {
+            browserContext = null;
+        }
+    }
+}
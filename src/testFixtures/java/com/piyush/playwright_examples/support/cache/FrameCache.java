@@ -0,0 +1,170 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.cache;
+
+import com.microsoft.playwright.ElementHandle;
+import com.microsoft.playwright.Frame;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Page scoped cache of resolved iframes and shadow hosts, keyed by selector.
+ *
+ * page.frameLocator(selector).locator(field) finds the iframe element again (and enters it) for every action, so filling 10
+ * fields of a form inside an iframe resolves the iframe 10 times. {@link #frame(String...)} resolves it once and hands out the
+ * Frame, whose locators start right inside the frame. Same for shadow hosts found by costly selectors : {@link #shadowHost(String)}
+ * finds the host once and keeps its ElementHandle, whose waitForSelector(..) looks only below the host (open shadow roots
+ * included). The page is left untouched, nothing is written into its DOM.
+ *
+ * <pre>
+ *     FrameCache frames = new FrameCache(page);
+ *     Frame form = frames.frame("//iframe[contains(@id, 'frame-one')]");
+ *     form.locator("#RESULT_TextField-1").fill("Hello");
+ *     form.locator("#RESULT_TextField-2").fill("World"); // no iframe resolution anymore
+ * </pre>
+ *
+ * Entries are dropped when their frame (or any frame above it) navigates or is detached, i.e. a navigation of the page
+ * clears the whole cache. A host re-rendered by page scripts without any navigation (i.e. SPA route changes) leaves a handle
+ * on the detached element and actions on it fail, call {@link #invalidate()} after such changes.
+ * Like Page itself, a cache is meant to be used from the thread driving its page.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class FrameCache {
+
+    private final Page page;
+    private final Map<String, Frame> frames = new LinkedHashMap<>();
+    private final Map<Frame, Map<String, ElementHandle>> hostsByFrame = new LinkedHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong missNanos = new AtomicLong();
+
+    public FrameCache(Page page) {
+        this.page = page;
+        page.onFrameNavigated(this::invalidate);
+        page.onFrameDetached(this::invalidate);
+    }
+
+    /**
+     * Frame of the iframe matched by the selectors, each selector is looked up inside the frame of the previous one, i.e.
+     * frame("#outer", "#inner") for an iframe within an iframe. Waits for the iframes like a locator would.
+     */
+    public Frame frame(String... iframeSelectors) {
+
+        Frame current = page.mainFrame();
+        for (int i = 0; i < iframeSelectors.length; i++) {
+
+            String key = String.join(" >> ", Arrays.copyOfRange(iframeSelectors, 0, i + 1));
+            Frame cached = frames.get(key);
+            if (cached != null && !cached.isDetached()) {
+                hits.incrementAndGet();
+                current = cached;
+                continue;
+            }
+
+            long start = System.nanoTime();
+            ElementHandle iframe = current.waitForSelector(iframeSelectors[i]);
+            Frame child = iframe.contentFrame();
+            iframe.dispose();
+            recordMiss(start);
+
+            if (child == null) {
+                throw new IllegalStateException(iframeSelectors[i] + " is not an iframe");
+            }
+            frames.put(key, child);
+            current = child;
+        }
+        return current;
+    }
+
+    /* Host matched by the selector, i.e. shadowHost("//checkout-form").waitForSelector("#name").fill(..). Waits for it like a locator would. */
+    public ElementHandle shadowHost(String hostSelector) {
+        return shadowHost(page.mainFrame(), hostSelector);
+    }
+
+    public ElementHandle shadowHost(Frame frame, String hostSelector) {
+
+        Map<String, ElementHandle> hosts = hostsByFrame.computeIfAbsent(frame, key -> new LinkedHashMap<>());
+        ElementHandle cached = hosts.get(hostSelector);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+
+        long start = System.nanoTime();
+        ElementHandle host = frame.waitForSelector(hostSelector);
+        recordMiss(start);
+
+        hosts.put(hostSelector, host);
+        return host;
+    }
+
+    public void invalidate() {
+        invalidations.addAndGet(frames.size() + hostsByFrame.values().stream().mapToInt(Map::size).sum());
+        frames.clear();
+        hostsByFrame.values().forEach(FrameCache::dispose);
+        hostsByFrame.clear();
+    }
+
+    public FrameCacheStats stats() {
+        return new FrameCacheStats(hits.get(), misses.get(), invalidations.get(), missNanos.get());
+    }
+
+    /* Drops everything resolved in or below the given frame. */
+    private void invalidate(Frame changed) {
+
+        for (Iterator<Frame> iterator = frames.values().iterator(); iterator.hasNext(); ) {
+            if (isSameOrBelow(iterator.next(), changed)) {
+                iterator.remove();
+                invalidations.incrementAndGet();
+            }
+        }
+        for (Iterator<Map.Entry<Frame, Map<String, ElementHandle>>> iterator = hostsByFrame.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<Frame, Map<String, ElementHandle>> entry = iterator.next();
+            if (isSameOrBelow(entry.getKey(), changed)) {
+                iterator.remove();
+                invalidations.addAndGet(entry.getValue().size());
+            }
+        }
+    }
+
+    /* A frame whose parent chain does not reach the changed one is not affected. Detached frames have no parent anymore, so they are always dropped. */
+    private static boolean isSameOrBelow(Frame frame, Frame changed) {
+        if (frame.isDetached()) {
+            return true;
+        }
+        for (Frame current = frame; current != null; current = current.parentFrame()) {
+            if (current.equals(changed)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /* Handles still alive are released in the browser, the ones of a navigated or detached frame are gone already. */
+    private static void dispose(Map<String, ElementHandle> hosts) {
+        for (ElementHandle host : hosts.values()) {
+            try {
+                host.dispose();
+            } catch (PlaywrightException e) {
+                // its execution context was destroyed.
+            }
+        }
+    }
+
+    private void recordMiss(long startNanos) {
+        misses.incrementAndGet();
+        missNanos.addAndGet(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.cache;
+
+/**
+ * Counters of a {@link FrameCache}. A miss is a real resolution (round-trips to the browser). Its average is not what a hit
+ * saves compared with frameLocator(..), which resolves the iframe within the action call itself, FrameCacheBenchmark
+ * measures that difference.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public record FrameCacheStats(long hits, long misses, long invalidations, long missNanos) {
+
+    public double averageMissMs() {
+        return misses == 0 ? 0 : missNanos / 1_000_000.0 / misses;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d, invalidations=%d, avg resolution=%.2f ms", hits, misses, invalidations, averageMissMs());
+    }
+}
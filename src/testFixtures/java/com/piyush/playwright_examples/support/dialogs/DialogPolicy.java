@@ -0,0 +1,258 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.dialogs;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.Dialog;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Rules saying how to answer dialogs, checked in the order they were added, first match wins :
+ * <pre>
+ *     DialogPolicy policy = DialogPolicy.builder()
+ *         .on(DialogType.CONFIRM, "^Delete .*").dismiss()
+ *         .on(DialogType.PROMPT).respond("Piyush")
+ *         .on(DialogType.CONFIRM).accept()
+ *         .build();
+ * </pre>
+ * A rule without message pattern matches every message of its type. Dialogs no rule matches get Playwright's default
+ * (dismiss) unless {@link Builder#otherwise(Action)} says something else.
+ *
+ * The rules are compiled once, to a matcher for {@link Dialog}s and to an init script which answers alert, confirm and
+ * prompt inside the page itself (see {@link DialogResponder}). Patterns are used as JavaScript RegExp there, so keep them
+ * to the syntax both have in common (classes, groups, quantifiers, anchors, and case insensitivity either as flag or a
+ * leading (?i)).
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class DialogPolicy {
+
+    public enum Action {
+        ACCEPT,
+        DISMISS,
+        RESPOND
+    }
+
+    public record Rule(DialogType type, Pattern message, Action action, String text) {
+
+        boolean matches(DialogType dialogType, String dialogMessage) {
+            return (type == null || type == dialogType) && (message == null || message.matcher(dialogMessage).find());
+        }
+
+        /* beforeunload can not be answered by a page script, only by a dialog handler. */
+        boolean isInPage() {
+            return type != DialogType.BEFOREUNLOAD;
+        }
+
+        @Override
+        public String toString() {
+            return (type == null ? "any" : type.jsName()) + (message == null ? "" : " /" + message.pattern() + "/") + " -> "
+                + action.name().toLowerCase() + (text == null ? "" : " '" + text + "'");
+        }
+    }
+
+    private final List<Rule> rules;
+    private final Action otherwise;
+    private final boolean inPage;
+    private final String script;
+
+    private DialogPolicy(List<Rule> rules, Action otherwise, boolean inPage) {
+        this.rules = List.copyOf(rules);
+        this.otherwise = otherwise;
+        this.inPage = inPage;
+        this.script = compileScript(this.rules);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public List<Rule> rules() {
+        return rules;
+    }
+
+    public boolean isInPage() {
+        return inPage;
+    }
+
+    /* Index of the first matching rule, -1 when none matches. */
+    public int match(DialogType type, String message) {
+        for (int i = 0; i < rules.size(); i++) {
+            if (rules.get(i).matches(type, message)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /* Answers the dialog as per the rules, returns the index of the rule used or -1 for the fallback. */
+    int answer(Dialog dialog) {
+
+        int index = match(DialogType.of(dialog.type()), dialog.message());
+        Action action = index < 0 ? otherwise : rules.get(index).action();
+        String text = index < 0 ? null : rules.get(index).text();
+
+        switch (action) {
+            case ACCEPT -> dialog.accept();
+            case RESPOND -> dialog.accept(text);
+            case DISMISS -> dialog.dismiss();
+        }
+        return index;
+    }
+
+    String script() {
+        return script;
+    }
+
+    private static String compileScript(List<Rule> rules) {
+
+        List<Map<String, Object>> compiled = new ArrayList<>();
+        for (Rule rule : rules) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("type", rule.isInPage() ? (rule.type() == null ? null : rule.type().jsName()) : "beforeunload");
+            String pattern = rule.message() == null ? null : rule.message().pattern();
+            boolean caseInsensitive = rule.message() != null && (rule.message().flags() & Pattern.CASE_INSENSITIVE) != 0;
+            if (pattern != null && pattern.startsWith("(?i)")) { // inline flags are Java only.
+                pattern = pattern.substring(4);
+                caseInsensitive = true;
+            }
+            json.put("pattern", pattern);
+            json.put("flags", caseInsensitive ? "i" : "");
+            json.put("action", rule.action().name().toLowerCase());
+            json.put("text", rule.text());
+            compiled.add(json);
+        }
+
+        try {
+            return SCRIPT.formatted(new ObjectMapper().writeValueAsString(compiled), DialogResponder.BINDING);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /*
+     * Replaces alert/confirm/prompt of every frame. Calls matching a rule are answered synchronously right here, the rest
+     * go to the original function, i.e. raise a real dialog for the context handler. The binding call reporting it is not
+     * awaited, so the page never waits on the test.
+     */
+    private static final String SCRIPT = """
+        (() => {
+          if (window.__pwDialogPolicy) return;
+          Object.defineProperty(window, '__pwDialogPolicy', { value: true });
+
+          const rules = %s.map(rule => ({ ...rule, regex: rule.pattern === null ? null : new RegExp(rule.pattern, rule.flags) }));
+          const original = { alert: window.alert, confirm: window.confirm, prompt: window.prompt };
+
+          const answer = (type, args) => {
+            const started = performance.now();
+            const message = args.length > 0 && args[0] !== undefined ? String(args[0]) : '';
+            const index = rules.findIndex(rule => (rule.type === null || rule.type === type) && (rule.regex === null || rule.regex.test(message)));
+            if (index < 0) return original[type].apply(window, args);
+
+            const rule = rules[index];
+            let result;
+            if (type === 'alert') result = undefined;
+            else if (type === 'confirm') result = rule.action !== 'dismiss';
+            else if (rule.action === 'dismiss') result = null;
+            else if (rule.action === 'respond') result = rule.text === null ? '' : rule.text;
+            else result = args.length > 1 && args[1] !== undefined ? String(args[1]) : '';
+
+            try {
+              window['%s'](index, type, performance.now() - started);
+            } catch (e) {
+              // binding not there (i.e. context closing), nothing to report.
+            }
+            return result;
+          };
+
+          window.alert = function alert() { return answer('alert', arguments); };
+          window.confirm = function confirm() { return answer('confirm', arguments); };
+          window.prompt = function prompt() { return answer('prompt', arguments); };
+        })();
+        """;
+
+    public static final class Builder {
+
+        private final List<Rule> rules = new ArrayList<>();
+        private Action otherwise = Action.DISMISS;
+        private boolean inPage = true;
+
+        private Builder() {
+        }
+
+        public RuleBuilder on(DialogType type) {
+            return new RuleBuilder(this, type, null);
+        }
+
+        public RuleBuilder on(DialogType type, String messagePattern) {
+            return new RuleBuilder(this, type, Pattern.compile(messagePattern));
+        }
+
+        public RuleBuilder on(DialogType type, Pattern messagePattern) {
+            return new RuleBuilder(this, type, messagePattern);
+        }
+
+        /* Any dialog type, by message only. */
+        public RuleBuilder onMessage(String messagePattern) {
+            return new RuleBuilder(this, null, Pattern.compile(messagePattern));
+        }
+
+        public Builder otherwise(Action action) {
+            if (action == Action.RESPOND) {
+                throw new IllegalArgumentException("Fallback can only accept or dismiss");
+            }
+            this.otherwise = action;
+            return this;
+        }
+
+        /* false to answer every dialog through the context handler only, i.e. to compare with the in page answers. */
+        public Builder inPage(boolean inPage) {
+            this.inPage = inPage;
+            return this;
+        }
+
+        public DialogPolicy build() {
+            return new DialogPolicy(rules, otherwise, inPage);
+        }
+    }
+
+    public static final class RuleBuilder {
+
+        private final Builder builder;
+        private final DialogType type;
+        private final Pattern message;
+
+        private RuleBuilder(Builder builder, DialogType type, Pattern message) {
+            this.builder = builder;
+            this.type = type;
+            this.message = message;
+        }
+
+        public Builder accept() {
+            return add(Action.ACCEPT, null);
+        }
+
+        public Builder dismiss() {
+            return add(Action.DISMISS, null);
+        }
+
+        /* Prompt answered with the text, other types are accepted. */
+        public Builder respond(String text) {
+            return add(Action.RESPOND, text);
+        }
+
+        private Builder add(Action action, String text) {
+            builder.rules.add(new Rule(type, message, action, text));
+            return builder;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.dialogs;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Dialog;
+import com.microsoft.playwright.Frame;
+import com.microsoft.playwright.Page;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Applies a {@link DialogPolicy} to a whole browser context : every page, present and future, popups included. The init
+ * script only runs on navigation, so it is also evaluated right away in every frame of the pages already open.
+ * <pre>
+ *     DialogResponder dialogs = DialogResponder.install(browserContext, policy);
+ *     ...
+ *     System.out.println(dialogs.stats());
+ * </pre>
+ *
+ * alert, confirm and prompt calls matching a rule are answered by an init script inside the page, synchronously, so no
+ * dialog is opened and the page does not wait for the test at all. Whatever the script does not answer (beforeunload,
+ * dialogs no rule matches, or all of them when the policy is not in page) goes through a single context level dialog
+ * handler applying the same rules.
+ *
+ * Since it is bound to the context and not to pages, there is nothing to register per test and no page.onDialog(..)
+ * left behind on a reused page. A context takes one responder, installing a second one fails. The responder is forgotten
+ * when the context closes (or on {@link #uninstall()}), so it does not keep the context and its pages alive.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class DialogResponder {
+
+    static final String BINDING = "__pwDialogHandled";
+
+    private static final Map<BrowserContext, DialogResponder> INSTALLED = new ConcurrentHashMap<>();
+
+    private final DialogPolicy policy;
+    private final Consumer<Dialog> handler = this::onDialog;
+    private final Consumer<BrowserContext> closeHandler = closed -> INSTALLED.remove(closed, this);
+    private final BrowserContext browserContext;
+
+    private final AtomicLongArray countsByRule;
+    private final LongAdder inPage = new LongAdder();
+    private final LongAdder byHandler = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+    private final DoubleAdder inPageMs = new DoubleAdder();
+    private final LongAdder handlerNanos = new LongAdder();
+
+    private DialogResponder(BrowserContext browserContext, DialogPolicy policy) {
+        this.browserContext = browserContext;
+        this.policy = policy;
+        this.countsByRule = new AtomicLongArray(policy.rules().size());
+    }
+
+    public static DialogResponder install(BrowserContext browserContext, DialogPolicy policy) {
+
+        DialogResponder responder = new DialogResponder(browserContext, policy);
+        if (INSTALLED.putIfAbsent(browserContext, responder) != null) {
+            throw new IllegalStateException("A dialog responder is already installed on this context");
+        }
+
+        if (policy.isInPage()) {
+            browserContext.exposeBinding(BINDING, (source, args) -> {
+                responder.onAnsweredInPage(((Number) args[0]).intValue(), ((Number) args[2]).doubleValue());
+                return null;
+            });
+            browserContext.addInitScript(policy.script());
+            for (Page page : browserContext.pages()) {
+                for (Frame frame : page.frames()) {
+                    frame.evaluate(policy.script()); // does nothing when the frame has it already.
+                }
+            }
+        }
+        browserContext.onDialog(responder.handler);
+        browserContext.onClose(responder.closeHandler);
+        return responder;
+    }
+
+    /*
+     * Stops the context handler, dialogs get Playwright's default behaviour again. The init script stays in the pages
+     * which are already open and is injected in new ones as well, Playwright has no way to remove it.
+     */
+    public void uninstall() {
+        browserContext.offDialog(handler);
+        browserContext.offClose(closeHandler);
+        INSTALLED.remove(browserContext, this);
+    }
+
+    public DialogStats stats() {
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (int i = 0; i < countsByRule.length(); i++) {
+            counts.put(policy.rules().get(i).toString(), countsByRule.get(i));
+        }
+        return new DialogStats(inPage.sum(), byHandler.sum(), fallbacks.sum(), inPageMs.sum(), handlerNanos.sum() / 1_000_000.0, counts);
+    }
+
+    private void onAnsweredInPage(int ruleIndex, double elapsedMs) {
+        inPage.increment();
+        inPageMs.add(elapsedMs);
+        countsByRule.incrementAndGet(ruleIndex);
+    }
+
+    private void onDialog(Dialog dialog) {
+
+        long start = System.nanoTime();
+        int ruleIndex = policy.answer(dialog);
+        handlerNanos.add(System.nanoTime() - start);
+
+        byHandler.increment();
+        if (ruleIndex < 0) {
+            fallbacks.increment();
+        } else {
+            countsByRule.incrementAndGet(ruleIndex);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.dialogs;
+
+import java.util.Map;
+
+/**
+ * Counters of a {@link DialogResponder}. Dialogs answered in the page never leave the browser, the ones answered by the
+ * context handler cost a round trip each (dialog event to the test, accept/dismiss back), which is where the handler
+ * time goes.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public record DialogStats(long handledInPage, long handledByHandler, long fallbacks, double inPageMs, double handlerMs,
+                          Map<String, Long> countsByRule) {
+
+    public long handled() {
+        return handledInPage + handledByHandler;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("dialogs : %d (in page %d in %.2f ms, by handler %d in %.1f ms, %d by fallback), per rule %s",
+            handled(), handledInPage, inPageMs, handledByHandler, handlerMs, fallbacks, countsByRule);
+    }
+}
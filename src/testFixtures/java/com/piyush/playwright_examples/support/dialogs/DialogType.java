@@ -0,0 +1,28 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.dialogs;
+
+/**
+ * Dialog types as reported by Dialog.type().
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public enum DialogType {
+
+    ALERT,
+    CONFIRM,
+    PROMPT,
+    BEFOREUNLOAD;
+
+    public String jsName() {
+        return name().toLowerCase();
+    }
+
+    public static DialogType of(String type) {
+        return valueOf(type.toUpperCase());
+    }
+}
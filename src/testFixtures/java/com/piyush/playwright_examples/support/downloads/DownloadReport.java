@@ -0,0 +1,37 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.downloads;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * What {@link DownloadVerifier} found in a single pass over a download.
+ *
+ * @param contentType  sniffed from the first bytes (zip, gzip, pdf, png, unknown), not the server header.
+ * @param zipEntries   empty unless the download is a zip and listing was asked for.
+ * @param persistedTo  null unless persisting was asked for.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public record DownloadReport(String suggestedFilename, String url, long size, String sha256, String contentType,
+                             List<ZipEntryInfo> zipEntries, Path persistedTo, long elapsedNanos) {
+
+    public record ZipEntryInfo(String name, long size, boolean directory) {
+    }
+
+    public double throughputMbPerSec() {
+        return elapsedNanos == 0 ? 0 : (size / (1024.0 * 1024.0)) / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s : %d bytes, sha256=%s, %s%s%s, %.1f MB/s", suggestedFilename, size, sha256, contentType,
+            zipEntries.isEmpty() ? "" : ", " + zipEntries.size() + " zip entries",
+            persistedTo == null ? "" : ", persisted to " + persistedTo, throughputMbPerSec());
+    }
+}
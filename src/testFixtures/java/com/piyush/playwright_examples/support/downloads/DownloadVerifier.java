@@ -0,0 +1,229 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.downloads;
+
+import com.microsoft.playwright.Download;
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Inspects a download by reading download.createReadStream() exactly once : SHA-256, size, sniffed content type and (for zips)
+ * the entry listing are all computed in the same pass with a fixed 64 KB buffer, so memory stays constant whatever the size
+ * of the download is. Nothing is written to disk unless {@link Options#setPersistTo(Path)} is set, in which case the bytes
+ * are written while they are read instead of a separate download.saveAs(..) copy.
+ *
+ * <pre>
+ *     Download download = page.waitForDownload(() -> page.click("a:text('chromedriver_mac32.zip')"));
+ *     DownloadReport report = DownloadVerifier.verify(download);
+ *     assertThat(report.zipEntries()).extracting(DownloadReport.ZipEntryInfo::name).contains("chromedriver");
+ * </pre>
+ *
+ * Zip entries are inflated while listing (that is how their sizes are known for streamed zips), which is CPU and not memory.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class DownloadVerifier {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int SNIFF_BYTES = 8;
+
+    public static class Options {
+
+        public boolean listZipEntries = true;
+        public int maxZipEntries = 10_000;
+        public Path persistTo;
+
+        public Options setListZipEntries(boolean listZipEntries) {
+            this.listZipEntries = listZipEntries;
+            return this;
+        }
+
+        public Options setMaxZipEntries(int maxZipEntries) {
+            this.maxZipEntries = maxZipEntries;
+            return this;
+        }
+
+        public Options setPersistTo(Path persistTo) {
+            this.persistTo = persistTo;
+            return this;
+        }
+    }
+
+    private DownloadVerifier() {
+    }
+
+    public static DownloadReport verify(Download download) {
+        return verify(download, new Options());
+    }
+
+    public static DownloadReport verify(Download download, Options options) {
+
+        long start = System.nanoTime();
+        InputStream stream = download.createReadStream();
+        if (stream == null) {
+            throw new IllegalStateException("Download failed : " + download.failure());
+        }
+
+        try {
+            Inspection inspection = inspect(stream, options);
+            return new DownloadReport(download.suggestedFilename(), download.url(), inspection.size, inspection.sha256,
+                inspection.contentType, inspection.zipEntries, options.persistTo, System.nanoTime() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read download " + download.suggestedFilename(), e);
+        }
+    }
+
+    /* Same single pass for any stream, i.e. a file or an HTTP response body. The stream is closed. */
+    public static Inspection inspect(InputStream stream, Options options) throws IOException {
+
+        OutputStream persisted = null;
+        if (options.persistTo != null) {
+            Files.createDirectories(options.persistTo.toAbsolutePath().getParent());
+            persisted = Files.newOutputStream(options.persistTo);
+        }
+
+        try (TappedInputStream tapped = new TappedInputStream(stream, persisted);
+             BufferedInputStream buffered = new BufferedInputStream(tapped, BUFFER_SIZE)) {
+
+            buffered.mark(SNIFF_BYTES);
+            byte[] magic = buffered.readNBytes(SNIFF_BYTES);
+            buffered.reset();
+            String contentType = sniff(magic);
+
+            List<DownloadReport.ZipEntryInfo> entries = new ArrayList<>();
+            if (contentType.equals("zip") && options.listZipEntries) {
+                ZipInputStream zip = new ZipInputStream(buffered); // not closed here, closing the outer stream is enough.
+                byte[] buffer = new byte[BUFFER_SIZE];
+                ZipEntry entry;
+                while ((entry = zip.getNextEntry()) != null && entries.size() < options.maxZipEntries) {
+                    long entrySize = 0;
+                    for (int read; (read = zip.read(buffer)) != -1; ) {
+                        entrySize += read;
+                    }
+                    entries.add(new DownloadReport.ZipEntryInfo(entry.getName(), entrySize, entry.isDirectory()));
+                }
+            }
+
+            /* Whatever the zip reader did not need (central directory etc.) still counts for the size and the hash. */
+            buffered.transferTo(OutputStream.nullOutputStream());
+
+            return new Inspection(tapped.size, HexFormat.of().formatHex(tapped.digest.digest()), contentType, List.copyOf(entries));
+        } finally {
+            if (persisted != null) {
+                persisted.close();
+            }
+        }
+    }
+
+    public record Inspection(long size, String sha256, String contentType, List<DownloadReport.ZipEntryInfo> zipEntries) {
+    }
+
+    private static String sniff(byte[] magic) {
+        if (startsWith(magic, 0x50, 0x4B, 0x03, 0x04) || startsWith(magic, 0x50, 0x4B, 0x05, 0x06)) {
+            return "zip";
+        }
+        if (startsWith(magic, 0x1F, 0x8B)) {
+            return "gzip";
+        }
+        if (startsWith(magic, '%', 'P', 'D', 'F')) {
+            return "pdf";
+        }
+        if (startsWith(magic, 0x89, 'P', 'N', 'G')) {
+            return "png";
+        }
+        return "unknown";
+    }
+
+    private static boolean startsWith(byte[] bytes, int... prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((bytes[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /* Hashes and counts every byte read from the underlying stream, and copies it to the optional output. */
+    private static final class TappedInputStream extends FilterInputStream {
+
+        private final MessageDigest digest;
+        private final OutputStream copy;
+        private long size;
+
+        private TappedInputStream(InputStream in, OutputStream copy) {
+            super(in);
+            this.copy = copy;
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public int read() throws IOException {
+            int value = super.read();
+            if (value != -1) {
+                digest.update((byte) value);
+                size++;
+                if (copy != null) {
+                    copy.write(value);
+                }
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                digest.update(buffer, offset, read);
+                size += read;
+                if (copy != null) {
+                    copy.write(buffer, offset, read);
+                }
+            }
+            return read;
+        }
+
+        /* Skipped bytes would be missing from the hash, so skipping reads through them. */
+        @Override
+        public long skip(long count) throws IOException {
+            byte[] buffer = new byte[(int) Math.min(BUFFER_SIZE, Math.max(1, count))];
+            long skipped = 0;
+            while (skipped < count) {
+                int read = read(buffer, 0, (int) Math.min(buffer.length, count - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
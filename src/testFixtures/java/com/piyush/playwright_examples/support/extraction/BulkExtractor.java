@@ -0,0 +1,212 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.extraction;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads fields of every element matching a container selector in a single browser round-trip (one locator.evaluateAll(..))
+ * and maps them to a record. Compared to locator.nth(i).getByTestId(..).innerText() per field and element, which is one
+ * round-trip each, this stays at one call whatever the number of cards is.
+ *
+ * <pre>
+ *     BulkExtractor&lt;ProductCard&gt; extractor = BulkExtractor.of(".card", ProductCard.class)
+ *         .text("name", "[data-test=product-name]")
+ *         .text("price", "[data-test=product-price]")
+ *         .absent("inStock", "[data-test=out-of-stock]");
+ *
+ *     List&lt;ProductCard&gt; cards = extractor.extractFrom(page);
+ * </pre>
+ *
+ * Field names are the record component names, the values are converted to the component types (String, boolean, int, long,
+ * double, BigDecimal and their boxed types, numbers are the first number of the text ignoring currency signs etc. i.e. "$14.15" is 14.15).
+ * Child selectors are CSS relative to the container element, a null selector reads the container itself.
+ *
+ * NOTE : like allInnerTexts(), evaluateAll(..) does not auto-wait, wait for the content (i.e. first().waitFor()) before extracting.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class BulkExtractor<T extends Record> {
+
+    private static final String EXTRACT_SCRIPT = """
+        (elements, fields) => elements.map(element => {
+          const record = {};
+          for (const field of fields) {
+            const target = field.selector ? element.querySelector(field.selector) : element;
+            switch (field.source) {
+              case 'TEXT': record[field.name] = target ? target.textContent.trim() : null; break;
+              case 'INNER_TEXT': record[field.name] = target ? target.innerText.trim() : null; break;
+              case 'ATTRIBUTE': record[field.name] = target ? target.getAttribute(field.attribute) : null; break;
+              case 'PRESENT': record[field.name] = target !== null; break;
+              case 'ABSENT': record[field.name] = target === null; break;
+            }
+          }
+          return record;
+        })
+        """;
+
+    /* A run of digits and separators (with an optional minus right before it), checked against STRICT_NUMBER afterwards. */
+    private static final Pattern NUMBER_TOKEN = Pattern.compile("-?\\d[\\d.,]*\\d|-?\\d");
+    private static final Pattern STRICT_NUMBER = Pattern.compile("-?(\\d{1,3}(,\\d{3})+|\\d+)(\\.\\d+)?");
+
+    private enum Source {
+        TEXT, INNER_TEXT, ATTRIBUTE, PRESENT, ABSENT
+    }
+
+    private final String containerSelector;
+    private final Class<T> recordType;
+    private final RecordComponent[] components;
+    private final Constructor<T> constructor;
+    private final List<Map<String, Object>> fields = new ArrayList<>();
+
+    private BulkExtractor(String containerSelector, Class<T> recordType) {
+
+        this.containerSelector = containerSelector;
+        this.recordType = recordType;
+        this.components = recordType.getRecordComponents();
+        try {
+            this.constructor = recordType.getDeclaredConstructor(Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new));
+            this.constructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("No canonical constructor in " + recordType, e);
+        }
+    }
+
+    public static <T extends Record> BulkExtractor<T> of(String containerSelector, Class<T> recordType) {
+        return new BulkExtractor<>(containerSelector, recordType);
+    }
+
+    /* textContent, trimmed. Does not need layout so it is cheaper than innerText. */
+    public BulkExtractor<T> text(String field, String selector) {
+        return add(field, selector, Source.TEXT, null);
+    }
+
+    /* innerText, trimmed. Rendered text only, i.e. without hidden elements. */
+    public BulkExtractor<T> innerText(String field, String selector) {
+        return add(field, selector, Source.INNER_TEXT, null);
+    }
+
+    public BulkExtractor<T> attribute(String field, String selector, String attribute) {
+        return add(field, selector, Source.ATTRIBUTE, attribute);
+    }
+
+    public BulkExtractor<T> present(String field, String selector) {
+        return add(field, selector, Source.PRESENT, null);
+    }
+
+    public BulkExtractor<T> absent(String field, String selector) {
+        return add(field, selector, Source.ABSENT, null);
+    }
+
+    public List<T> extractFrom(Page page) {
+        return extractFrom(page.locator(containerSelector));
+    }
+
+    /* Extracts from the elements matched by the given locator, i.e. page.locator(".card").filter(..), the container selector is not used. */
+    @SuppressWarnings("unchecked")
+    public List<T> extractFrom(Locator containers) {
+
+        List<Map<String, Object>> rows = (List<Map<String, Object>>) containers.evaluateAll(EXTRACT_SCRIPT, fields);
+
+        List<T> records = new ArrayList<>(rows.size());
+        for (Map<String, Object> row : rows) {
+            records.add(toRecord(row));
+        }
+        return records;
+    }
+
+    private BulkExtractor<T> add(String field, String selector, Source source, String attribute) {
+
+        if (Arrays.stream(components).noneMatch(component -> component.getName().equals(field))) {
+            throw new IllegalArgumentException(recordType.getSimpleName() + " has no component named " + field);
+        }
+
+        Map<String, Object> spec = new LinkedHashMap<>();
+        spec.put("name", field);
+        spec.put("selector", selector);
+        spec.put("source", source.name());
+        spec.put("attribute", attribute);
+        fields.add(spec);
+        return this;
+    }
+
+    private T toRecord(Map<String, Object> row) {
+
+        Object[] values = new Object[components.length];
+        for (int i = 0; i < components.length; i++) {
+            values[i] = convert(row.get(components[i].getName()), components[i]);
+        }
+
+        try {
+            return constructor.newInstance(values);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create " + recordType.getSimpleName() + " from " + row, e);
+        }
+    }
+
+    private static Object convert(Object value, RecordComponent component) {
+
+        Class<?> type = component.getType();
+        if (value == null || (value instanceof String string && string.isEmpty() && type != String.class)) {
+            if (type.isPrimitive()) {
+                throw new IllegalStateException("No value extracted for primitive component " + component.getName());
+            }
+            return null;
+        }
+
+        if (type == String.class) {
+            return value.toString();
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return value instanceof Boolean bool ? bool : Boolean.parseBoolean(value.toString());
+        }
+
+        BigDecimal number = value instanceof Number numeric ? new BigDecimal(numeric.toString()) : parseNumber(value.toString());
+        if (type == int.class || type == Integer.class) {
+            return number.intValue();
+        }
+        if (type == long.class || type == Long.class) {
+            return number.longValue();
+        }
+        if (type == double.class || type == Double.class) {
+            return number.doubleValue();
+        }
+        if (type == BigDecimal.class) {
+            return number;
+        }
+        throw new IllegalArgumentException("Unsupported type " + type.getSimpleName() + " of component " + component.getName());
+    }
+
+    /*
+     * First number of the text, i.e. "$14.15", "1,299.00 EUR", "$10 - $20" (10). Commas are thousands separators and the dot
+     * is the decimal point, anything else like "1.234,56" or "12,5" is refused rather than guessed.
+     */
+    static BigDecimal parseNumber(String text) {
+
+        Matcher token = NUMBER_TOKEN.matcher(text);
+        if (!token.find()) {
+            throw new IllegalStateException("Not a number : " + text);
+        }
+        String number = token.group();
+        if (!STRICT_NUMBER.matcher(number).matches()) {
+            throw new IllegalStateException("Ambiguous number '" + number + "' in : " + text
+                + ", only ',' as thousands separator and '.' as decimal point are supported");
+        }
+        return new BigDecimal(number.replace(",", ""));
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.extraction;
+
+import java.math.BigDecimal;
+
+/**
+ * Product card of https://practicesoftwaretesting.com, read in one round-trip with {@link #EXTRACTOR}.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public record ProductCard(String name, BigDecimal price, boolean inStock, String link) {
+
+    public static final BulkExtractor<ProductCard> EXTRACTOR = BulkExtractor.of(".card", ProductCard.class)
+        .text("name", "[data-test=product-name]")
+        .text("price", "[data-test=product-price]")
+        .absent("inStock", "[data-test=out-of-stock]")
+        .attribute("link", null, "href");
+}
@@ -0,0 +1,225 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.fixtures;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Local HTTP server generating large downloads and swallowing large uploads on the fly, nothing is held in memory or on disk :
+ * <pre>
+ *     /bytes?size=1073741824             deterministic pseudo random bytes, with Content-Length
+ *     /zip?entries=100&amp;entrySize=1048576  zip of text entries (entry-000.txt ..), streamed chunked
+ *     /download?href=/bytes?size=..      html page with a link to click, the server sends both as attachments
+ *     /upload                            POST multipart/form-data, answers the size of every part as json
+ *     /upload-form                       html form (#files, multiple, and #submit) posting to /upload
+ * </pre>
+ * {@link #sha256OfBytes(long)} recomputes what /bytes sends, to verify a download without keeping a copy of it.
+ * {@link #writeBytes(OutputStream, long)} writes the same bytes anywhere else, i.e. to generate large upload files.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class LargePayloadServer implements AutoCloseable {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final HttpServer server;
+
+    private LargePayloadServer(HttpServer server) {
+        this.server = server;
+    }
+
+    public static LargePayloadServer start() throws IOException {
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/bytes", LargePayloadServer::sendBytes);
+        server.createContext("/zip", LargePayloadServer::sendZip);
+        server.createContext("/download", LargePayloadServer::sendLinkPage);
+        server.createContext("/upload", LargePayloadServer::receiveUpload);
+        server.createContext("/upload-form", LargePayloadServer::sendUploadForm);
+        server.setExecutor(Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "large-payload-server");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        server.start();
+        return new LargePayloadServer(server);
+    }
+
+    public String url(String pathAndQuery) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + pathAndQuery;
+    }
+
+    /* Page with a single link (#download) to the given path, to trigger a browser download by clicking it. */
+    public String downloadPageUrl(String pathAndQuery) {
+        return url("/download?href=" + URLEncoder.encode(pathAndQuery, StandardCharsets.UTF_8));
+    }
+
+    public static String sha256OfBytes(long size) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            writeBytes(new DigestOutputStream(OutputStream.nullOutputStream(), digest), size);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static void writeBytes(OutputStream out, long size) throws IOException {
+        PayloadGenerator generator = new PayloadGenerator();
+        byte[] chunk = new byte[CHUNK_SIZE];
+        for (long remaining = size; remaining > 0; ) {
+            int length = (int) Math.min(chunk.length, remaining);
+            generator.fill(chunk, length);
+            out.write(chunk, 0, length);
+            remaining -= length;
+        }
+    }
+
+    public static String zipEntryName(int index) {
+        return String.format("entry-%03d.txt", index);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private static void sendBytes(HttpExchange exchange) throws IOException {
+
+        long size = Long.parseLong(query(exchange.getRequestURI()).getOrDefault("size", "1048576"));
+        exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+        exchange.getResponseHeaders().add("Content-Disposition", "attachment; filename=\"payload-" + size + ".bin\"");
+        exchange.sendResponseHeaders(200, size);
+
+        try (OutputStream body = exchange.getResponseBody()) {
+            writeBytes(body, size);
+        }
+    }
+
+    private static void sendZip(HttpExchange exchange) throws IOException {
+
+        Map<String, String> query = query(exchange.getRequestURI());
+        int entries = Integer.parseInt(query.getOrDefault("entries", "10"));
+        long entrySize = Long.parseLong(query.getOrDefault("entrySize", "1048576"));
+
+        exchange.getResponseHeaders().add("Content-Type", "application/zip");
+        exchange.getResponseHeaders().add("Content-Disposition", "attachment; filename=\"payload-" + entries + ".zip\"");
+        exchange.sendResponseHeaders(200, 0); // chunked, the size is not known upfront.
+
+        byte[] line = "Playwright streaming download verification line.\n".getBytes(StandardCharsets.US_ASCII);
+        try (ZipOutputStream zip = new ZipOutputStream(exchange.getResponseBody())) {
+            for (int i = 0; i < entries; i++) {
+                zip.putNextEntry(new ZipEntry(zipEntryName(i)));
+                for (long written = 0; written < entrySize; ) {
+                    int length = (int) Math.min(line.length, entrySize - written);
+                    zip.write(line, 0, length);
+                    written += length;
+                }
+                zip.closeEntry();
+            }
+        }
+    }
+
+    private static void sendLinkPage(HttpExchange exchange) throws IOException {
+
+        String href = query(exchange.getRequestURI()).getOrDefault("href", "/bytes");
+        sendText(exchange, 200, "text/html", "<html><body><a id='download' href='" + href + "'>Download</a></body></html>");
+    }
+
+    /* Responds i.e. {"millis":1234,"parts":[{"name":"files","filename":"large-0.bin","size":1073741824}]} */
+    private static void receiveUpload(HttpExchange exchange) throws IOException {
+
+        long start = System.nanoTime();
+        List<MultipartCounter.Part> parts;
+        try (InputStream body = exchange.getRequestBody()) {
+            parts = MultipartCounter.count(body, MultipartCounter.boundary(exchange.getRequestHeaders().getFirst("Content-Type")));
+        } catch (IOException | IllegalArgumentException e) {
+            sendText(exchange, 400, "text/plain", e.getMessage());
+            return;
+        }
+
+        StringBuilder json = new StringBuilder("{\"millis\":").append((System.nanoTime() - start) / 1_000_000).append(",\"parts\":[");
+        for (int i = 0; i < parts.size(); i++) {
+            MultipartCounter.Part part = parts.get(i);
+            json.append(i == 0 ? "" : ",")
+                .append("{\"name\":\"").append(part.name())
+                .append("\",\"filename\":").append(part.filename() == null ? "null" : "\"" + part.filename() + "\"")
+                .append(",\"size\":").append(part.size()).append('}');
+        }
+        sendText(exchange, 200, "application/json", json.append("]}").toString());
+    }
+
+    private static void sendUploadForm(HttpExchange exchange) throws IOException {
+        sendText(exchange, 200, "text/html", """
+            <html><body>
+              <form method="post" action="/upload" enctype="multipart/form-data">
+                <input type="file" id="files" name="files" multiple/>
+                <button id="submit" type="submit">Upload</button>
+              </form>
+            </body></html>
+            """);
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String contentType, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(bytes);
+        }
+    }
+
+    private static Map<String, String> query(URI uri) {
+        Map<String, String> parameters = new HashMap<>();
+        String rawQuery = uri.getRawQuery();
+        if (rawQuery != null) {
+            for (String pair : rawQuery.split("&")) {
+                int separator = pair.indexOf('=');
+                if (separator > 0) {
+                    parameters.put(pair.substring(0, separator), URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        return parameters;
+    }
+
+    /* xorshift64, fast enough to outrun the network and the same sequence every time. */
+    private static final class PayloadGenerator {
+
+        private long state = 0x9E3779B97F4A7C15L;
+
+        private void fill(byte[] chunk, int length) {
+            for (int i = 0; i < length; i += 8) {
+                state ^= state << 13;
+                state ^= state >>> 7;
+                state ^= state << 17;
+                for (int j = 0; j < 8 && i + j < length; j++) {
+                    chunk[i + j] = (byte) (state >>> (j * 8));
+                }
+            }
+        }
+    }
+}
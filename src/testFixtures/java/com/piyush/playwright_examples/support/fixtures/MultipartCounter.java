@@ -0,0 +1,130 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.fixtures;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads a multipart/form-data body once and counts the bytes of every part, without buffering the parts. Used by
+ * {@link LargePayloadServer} to tell what it received for uploads of any size.
+ *
+ * The delimiter ("\r\n--" + boundary) is searched with KMP, so the state carries over from one read to the next and
+ * a delimiter split between two reads is still found.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+final class MultipartCounter {
+
+    private static final Pattern BOUNDARY = Pattern.compile("boundary=\"?([^\";]+)\"?");
+    private static final Pattern NAME = Pattern.compile("[; ]name=\"([^\"]*)\"");
+    private static final Pattern FILENAME = Pattern.compile("filename=\"([^\"]*)\"");
+    private static final int MAX_HEADER_BYTES = 16 * 1024;
+
+    record Part(String name, String filename, long size) {
+    }
+
+    private MultipartCounter() {
+    }
+
+    static String boundary(String contentType) {
+        Matcher matcher = BOUNDARY.matcher(contentType == null ? "" : contentType);
+        if (!matcher.find()) {
+            throw new IllegalArgumentException("Not a multipart content type : " + contentType);
+        }
+        return matcher.group(1);
+    }
+
+    static List<Part> count(InputStream body, String boundary) throws IOException {
+
+        byte[] delimiter = ("\r\n--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        int[] fallback = failureFunction(delimiter);
+
+        List<Part> parts = new ArrayList<>();
+        StringBuilder headers = null; // null while reading a part body.
+        String name = null;
+        String filename = null;
+        long partBytes = 0;
+        int matched = 2; // body starts with "--boundary", as if "\r\n" was already seen.
+        boolean preamble = true;
+
+        byte[] buffer = new byte[64 * 1024];
+        for (int read; (read = body.read(buffer)) != -1; ) {
+            for (int i = 0; i < read; i++) {
+                byte current = buffer[i];
+
+                if (headers != null) {
+                    headers.append((char) (current & 0xFF));
+                    if (headers.length() == 2 && headers.toString().equals("--")) {
+                        drain(body);
+                        return parts;
+                    }
+                    if (headers.length() > 2 && endsWithBlankLine(headers)) {
+                        name = group(NAME, headers);
+                        filename = group(FILENAME, headers);
+                        headers = null;
+                        partBytes = 0;
+                        matched = 0;
+                    } else if (headers.length() > MAX_HEADER_BYTES) {
+                        throw new IOException("Multipart headers longer than " + MAX_HEADER_BYTES + " bytes");
+                    }
+                    continue;
+                }
+
+                partBytes++;
+                while (matched > 0 && delimiter[matched] != current) {
+                    matched = fallback[matched - 1];
+                }
+                if (delimiter[matched] == current) {
+                    matched++;
+                }
+                if (matched == delimiter.length) {
+                    if (!preamble) {
+                        parts.add(new Part(name, filename, partBytes - delimiter.length));
+                    }
+                    preamble = false;
+                    headers = new StringBuilder();
+                }
+            }
+        }
+        throw new IOException("Multipart body ended without the closing delimiter");
+    }
+
+    private static int[] failureFunction(byte[] pattern) {
+        int[] fallback = new int[pattern.length];
+        for (int i = 1, length = 0; i < pattern.length; ) {
+            if (pattern[i] == pattern[length]) {
+                fallback[i++] = ++length;
+            } else if (length > 0) {
+                length = fallback[length - 1];
+            } else {
+                fallback[i++] = 0;
+            }
+        }
+        return fallback;
+    }
+
+    private static boolean endsWithBlankLine(StringBuilder headers) {
+        int length = headers.length();
+        return length >= 4 && headers.substring(length - 4).equals("\r\n\r\n");
+    }
+
+    private static String group(Pattern pattern, CharSequence headers) {
+        Matcher matcher = pattern.matcher(headers);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static void drain(InputStream body) throws IOException {
+        body.transferTo(OutputStream.nullOutputStream());
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.fixtures;
+
+/**
+ * Generates a product listing page of roughly the given number of elements, for selector benchmarks. Every card has an
+ * image, name, price, labelled input, button and a small list (11 elements per card) with unique texts and attributes :
+ * <pre>
+ *     &lt;div class="card" data-test="product-000042"&gt;
+ *       &lt;img alt="Product 000042"&gt; &lt;h5 data-test="product-name"&gt;Product 000042&lt;/h5&gt; &lt;span data-test="product-price"&gt;..
+ *       &lt;label for="qty-000042"&gt;Quantity 000042&lt;/label&gt; &lt;input id="qty-000042" placeholder="Qty 000042"&gt;
+ *       &lt;button aria-label="Add Product 000042 to cart"&gt;Add to cart&lt;/button&gt; &lt;ul&gt;&lt;li&gt;..
+ * </pre>
+ * Names are zero padded so that a name is never a substring of another one (getByText is a substring match).
+ *
+ * About 10% of the cards sit inside open shadow roots (one host per 10 cards, attached by a script on load) and another 10%
+ * inside an iframe (#catalog-frame, via srcdoc). Elements to look for are at the very end, which is the worst case for a DOM
+ * walk : the last light DOM card ({@link #targetName()}), [data-test=shadow-target] in the last shadow root and
+ * [data-test=frame-target] in the iframe.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class SyntheticDom {
+
+    public static final int ELEMENTS_PER_CARD = 11;
+
+    private final int lightCards;
+    private final int shadowCards;
+    private final int frameCards;
+
+    private SyntheticDom(int elements) {
+        int cards = Math.max(10, elements / ELEMENTS_PER_CARD);
+        this.shadowCards = Math.max(1, cards / 10);
+        this.frameCards = Math.max(1, cards / 10);
+        this.lightCards = cards - shadowCards - frameCards;
+    }
+
+    public static SyntheticDom ofElements(int elements) {
+        return new SyntheticDom(elements);
+    }
+
+    public int elementCount() {
+        return (lightCards + shadowCards + frameCards) * ELEMENTS_PER_CARD;
+    }
+
+    /* Name of the last card of the light DOM. */
+    public String targetName() {
+        return name(lightCards - 1);
+    }
+
+    public String targetId() {
+        return id(lightCards - 1);
+    }
+
+    public String html() {
+
+        StringBuilder html = new StringBuilder(elementCount() * 220);
+        html.append("<html><head><title>Synthetic catalog</title></head><body>")
+            .append("<nav role=\"menubar\" aria-label=\"Main menu\">")
+            .append("<a role=\"menuitem\" href=\"#\">Home</a><a role=\"menuitem\" href=\"#\">Categories</a><a role=\"menuitem\" href=\"#\">Contact</a>")
+            .append("</nav><main class=\"container\">");
+
+        for (int i = 0; i < lightCards; i++) {
+            appendCard(html, i, null);
+        }
+
+        /* Shadow hosts carry their cards in a template, the script below moves them into an open shadow root. */
+        for (int host = 0; host * 10 < shadowCards; host++) {
+            html.append("<div class=\"shadow-host\"><template>");
+            for (int i = host * 10; i < Math.min(shadowCards, (host + 1) * 10); i++) {
+                appendCard(html, lightCards + i, i == shadowCards - 1 ? "shadow-target" : null);
+            }
+            html.append("</template></div>");
+        }
+
+        StringBuilder frame = new StringBuilder("<html><body>");
+        for (int i = 0; i < frameCards; i++) {
+            appendCard(frame, lightCards + shadowCards + i, i == frameCards - 1 ? "frame-target" : null);
+        }
+        frame.append("</body></html>");
+        html.append("<iframe id=\"catalog-frame\" srcdoc=\"").append(frame.toString().replace("&", "&amp;").replace("\"", "&quot;")).append("\"></iframe>");
+
+        html.append("</main><script>")
+            .append("for (const host of document.querySelectorAll('.shadow-host')) {")
+            .append("  const template = host.querySelector('template');")
+            .append("  host.attachShadow({mode: 'open'}).appendChild(template.content);")
+            .append("  template.remove();")
+            .append("}")
+            .append("</script></body></html>");
+
+        return html.toString();
+    }
+
+    private static void appendCard(StringBuilder html, int index, String buttonTestId) {
+
+        String id = id(index);
+        String name = name(index);
+        html.append("<div class=\"card\" data-test=\"product-").append(id).append("\">")
+            .append("<img src=\"data:,\" alt=\"").append(name).append("\">")
+            .append("<h5 data-test=\"product-name\">").append(name).append("</h5>")
+            .append("<span class=\"price\" data-test=\"product-price\">$").append(10 + index % 90).append(".99</span>")
+            .append("<label for=\"qty-").append(id).append("\">Quantity ").append(id).append("</label>")
+            .append("<input id=\"qty-").append(id).append("\" placeholder=\"Qty ").append(id).append("\">")
+            .append("<button aria-label=\"Add ").append(name).append(" to cart\"")
+            .append(buttonTestId == null ? "" : " data-test=\"" + buttonTestId + "\"").append(">Add to cart</button>")
+            .append("<ul><li>In stock</li><li>Free delivery</li><li>Rating ").append(index % 5 + 1).append("</li></ul>")
+            .append("</div>");
+    }
+
+    private static String id(int index) {
+        return String.format("%06d", index);
+    }
+
+    private static String name(int index) {
+        return "Product " + id(index);
+    }
+}
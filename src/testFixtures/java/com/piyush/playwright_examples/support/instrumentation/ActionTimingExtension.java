@@ -0,0 +1,101 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.instrumentation;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+import org.junit.platform.commons.support.ReflectionSupport;
+
+/**
+ * Tells {@link ActionTimings} which test (or lifecycle method) is running, so the recorded calls are grouped per test class
+ * and method in the flame graph. Add it with {@literal @}ExtendWith(ActionTimingExtension.class) on the test class, calls made
+ * outside of an intercepted method are recorded under "unknown".
+ *
+ * Playwright objects injected as parameters of test and lifecycle methods (i.e. Page, BrowserContext of {@literal @}UsePlaywright)
+ * are wrapped with {@link Instrumentation#wrap(Object)} before the method gets them, so they are timed without any change to
+ * the test. JUnit has no way to replace the arguments of an invocation, so in that case the invocation is skipped and the
+ * method is invoked here with the wrapped arguments, through ReflectionSupport like JUnit does (same exceptions reported).
+ * Interceptors registered after this extension never see such an invocation, so it has to be the innermost one : put its
+ * {@literal @}ExtendWith last on the class, after {@literal @}UsePlaywright and the other extensions, and do not combine it with
+ * method level extensions or {@literal @}RegisterExtension fields which intercept invocations. Extensions of the services file
+ * are registered before the class level ones, they are not affected. Objects created by the test itself are not touched,
+ * wrap them with Instrumentation.wrap(Playwright.create()) to time them.
+ *
+ * NOTE : PlaywrightAssertions.assertThat(..) does not accept the proxies, use Instrumentation.assertThat(..) on injected
+ * objects in classes which use this extension.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class ActionTimingExtension implements InvocationInterceptor {
+
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                    ExtensionContext extensionContext) throws Throwable {
+        timed(invocation, invocationContext);
+    }
+
+    @Override
+    public void interceptTestTemplateMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                            ExtensionContext extensionContext) throws Throwable {
+        timed(invocation, invocationContext);
+    }
+
+    @Override
+    public void interceptBeforeAllMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                         ExtensionContext extensionContext) throws Throwable {
+        timed(invocation, invocationContext);
+    }
+
+    @Override
+    public void interceptBeforeEachMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                          ExtensionContext extensionContext) throws Throwable {
+        timed(invocation, invocationContext);
+    }
+
+    @Override
+    public void interceptAfterEachMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                         ExtensionContext extensionContext) throws Throwable {
+        timed(invocation, invocationContext);
+    }
+
+    @Override
+    public void interceptAfterAllMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                        ExtensionContext extensionContext) throws Throwable {
+        timed(invocation, invocationContext);
+    }
+
+    private static void timed(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext) throws Throwable {
+
+        if (!ActionTimings.isEnabled()) {
+            invocation.proceed();
+            return;
+        }
+
+        Method method = invocationContext.getExecutable();
+        ActionTimings.setRoot(method.getDeclaringClass().getSimpleName(), method.getName());
+        try {
+            List<Object> arguments = invocationContext.getArguments();
+            if (arguments.stream().noneMatch(Instrumentation::isInstrumentable)) {
+                invocation.proceed();
+                return;
+            }
+
+            invocation.skip();
+            invokeWithWrappedArguments(method, invocationContext.getTarget().orElse(null), arguments);
+        } finally {
+            ActionTimings.clearRoot();
+        }
+    }
+
+    /* Makes the method accessible (test and lifecycle methods are often package private) and rethrows what it threw. */
+    private static void invokeWithWrappedArguments(Method method, Object target, List<Object> arguments) {
+        ReflectionSupport.invokeMethod(method, target, arguments.stream().map(Instrumentation::wrap).toArray());
+    }
+}
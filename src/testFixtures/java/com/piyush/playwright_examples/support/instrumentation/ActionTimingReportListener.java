@@ -0,0 +1,41 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.instrumentation;
+
+import com.piyush.playwright_examples.support.SuiteProperties;
+import java.io.IOException;
+import java.nio.file.Path;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Registered through META-INF/services/org.junit.platform.launcher.TestExecutionListener. Once all the tests are done it
+ * writes the collapsed stacks to {pw.timing.dir}/actions.collapsed (default build/reports/action-timings) and prints the
+ * slowest selectors (-Dpw.timing.top, default 20). Does nothing unless -Dpw.timing.actions=true.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class ActionTimingReportListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+
+        if (!ActionTimings.isEnabled() || !ActionTimings.hasData()) {
+            return;
+        }
+
+        Path collapsedStacks = SuiteProperties.path("pw.timing.dir", "build/reports/action-timings").resolve("actions.collapsed");
+        try {
+            ActionTimings.writeCollapsedStacks(collapsedStacks);
+            System.out.println("Action timings (collapsed stacks) : " + collapsedStacks.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("Could not write action timings : " + e);
+        }
+
+        ActionTimings.printSlowestSelectors(SuiteProperties.integer("pw.timing.top", 20), System.out);
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.instrumentation;
+
+import com.piyush.playwright_examples.support.SuiteProperties;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the timings recorded by the {@link Instrumentation} proxies. Switched on with -Dpw.timing.actions=true, when it is
+ * off the proxies are never created, so there is no overhead at all.
+ *
+ * Each call is recorded against its stack i.e. {test class};{test method};{outer call};{call}. Calls made inside callbacks
+ * (i.e. the click inside page.waitForPopup(() -> ...)) are nested under the outer call. The collapsed stack file holds the
+ * self time of each stack in micro seconds, which is the input format of flame graph tools :
+ * flamegraph.pl build/reports/action-timings/actions.collapsed > actions.svg  (or load it in https://www.speedscope.app)
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class ActionTimings {
+
+    private static final boolean ENABLED = SuiteProperties.bool("pw.timing.actions", false);
+
+    private static final ThreadLocal<String> ROOT = ThreadLocal.withInitial(() -> "unknown");
+    private static final ThreadLocal<Deque<Frame>> STACK = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static final Map<String, LongAdder> SELF_NANOS_BY_STACK = new ConcurrentHashMap<>();
+    private static final Map<String, SelectorStats> STATS_BY_SELECTOR = new ConcurrentHashMap<>();
+
+    static final class Frame {
+
+        private final String path;
+        private long childNanos;
+
+        private Frame(String path) {
+            this.path = path;
+        }
+    }
+
+    public static final class SelectorStats {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public double totalMs() {
+            return totalNanos.sum() / 1_000_000.0;
+        }
+
+        public double maxMs() {
+            return maxNanos.get() / 1_000_000.0;
+        }
+    }
+
+    private ActionTimings() {
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /* Set by ActionTimingExtension around every test and lifecycle method. */
+    static void setRoot(String testClass, String testMethod) {
+        ROOT.set(sanitize(testClass) + ";" + sanitize(testMethod));
+    }
+
+    static void clearRoot() {
+        ROOT.remove();
+        STACK.remove();
+    }
+
+    static Frame enter(String frameName) {
+        Deque<Frame> stack = STACK.get();
+        String parentPath = stack.isEmpty() ? ROOT.get() : stack.peek().path;
+        Frame frame = new Frame(parentPath + ";" + sanitize(frameName));
+        stack.push(frame);
+        return frame;
+    }
+
+    static void exit(Frame frame, long nanos, String selector) {
+
+        Deque<Frame> stack = STACK.get();
+        stack.pop();
+        if (!stack.isEmpty()) {
+            stack.peek().childNanos += nanos;
+        }
+
+        SELF_NANOS_BY_STACK.computeIfAbsent(frame.path, path -> new LongAdder()).add(Math.max(0, nanos - frame.childNanos));
+        if (selector != null) {
+            STATS_BY_SELECTOR.computeIfAbsent(selector, key -> new SelectorStats()).add(nanos);
+        }
+    }
+
+    static boolean hasData() {
+        return !SELF_NANOS_BY_STACK.isEmpty();
+    }
+
+    public static void writeCollapsedStacks(Path file) throws IOException {
+
+        List<String> lines = new ArrayList<>();
+        SELF_NANOS_BY_STACK.forEach((stack, nanos) -> {
+            long micros = nanos.sum() / 1_000;
+            if (micros > 0) {
+                lines.add(stack + " " + micros);
+            }
+        });
+        lines.sort(Comparator.naturalOrder());
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, lines);
+    }
+
+    public static void printSlowestSelectors(int top, PrintStream out) {
+
+        out.println("--- Slowest selectors (total time across all calls) ---");
+        out.printf("%12s %8s %10s  %s%n", "total ms", "calls", "max ms", "selector");
+        STATS_BY_SELECTOR.entrySet().stream()
+            .sorted(Comparator.comparingDouble((Map.Entry<String, SelectorStats> entry) -> entry.getValue().totalMs()).reversed())
+            .limit(top)
+            .forEach(entry -> out.printf("%12.1f %8d %10.1f  %s%n",
+                entry.getValue().totalMs(), entry.getValue().count(), entry.getValue().maxMs(), entry.getKey()));
+    }
+
+    /* ';' separates the frames and the last space separates the value in the collapsed format. */
+    private static String sanitize(String frame) {
+        return frame.replace(';', ',').replace('\n', ' ');
+    }
+}
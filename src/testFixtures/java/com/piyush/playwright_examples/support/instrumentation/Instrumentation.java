@@ -0,0 +1,205 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.instrumentation;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.assertions.LocatorAssertions;
+import com.microsoft.playwright.assertions.PageAssertions;
+import com.microsoft.playwright.assertions.PlaywrightAssertions;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps Playwright objects (Playwright, Browser, BrowserContext, Page, Frame, Locator, FrameLocator etc.) in dynamic proxies
+ * which time every call and record it in {@link ActionTimings}. Objects returned by a proxied call are proxied as well, so
+ * wrapping Playwright.create() is enough to instrument everything created from it :
+ * <pre>
+ *     Playwright playwright = Instrumentation.wrap(Playwright.create());
+ * </pre>
+ *
+ * When -Dpw.timing.actions is not true, wrap(..) returns the object as it is.
+ *
+ * NOTE : Playwright implementation casts its own types internally, so proxies passed back to Playwright are unwrapped
+ * (direct arguments as well as the fields of options objects like Locator.FilterOptions#has). PlaywrightAssertions.assertThat(..)
+ * is out of our reach, so use {@link #assertThat(Locator)} / {@link #assertThat(Page)} with instrumented objects.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class Instrumentation {
+
+    private static final String PLAYWRIGHT_PACKAGE = "com.microsoft.playwright";
+
+    private static final Map<Class<?>, Class<?>[]> INTERFACES_BY_CLASS = new ConcurrentHashMap<>();
+
+    private Instrumentation() {
+    }
+
+    public static <T> T wrap(T target) {
+        return wrap(target, null);
+    }
+
+    public static LocatorAssertions assertThat(Locator locator) {
+        return wrap(PlaywrightAssertions.assertThat(unwrap(locator)), describe(locator));
+    }
+
+    public static PageAssertions assertThat(Page page) {
+        return wrap(PlaywrightAssertions.assertThat(unwrap(page)));
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> T unwrap(T object) {
+        if (object != null && Proxy.isProxyClass(object.getClass()) && Proxy.getInvocationHandler(object) instanceof TimingHandler handler) {
+            return (T) handler.target;
+        }
+        return object;
+    }
+
+    static boolean isInstrumentable(Object object) {
+        return ActionTimings.isEnabled()
+            && object != null
+            && !Proxy.isProxyClass(object.getClass())
+            && playwrightInterfaces(object.getClass()).length > 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(T target, String description) {
+
+        if (!isInstrumentable(target)) {
+            return target;
+        }
+
+        Class<?>[] interfaces = playwrightInterfaces(target.getClass());
+        return (T) Proxy.newProxyInstance(
+            Instrumentation.class.getClassLoader(),
+            interfaces,
+            new TimingHandler(target, interfaces[0].getSimpleName(), description)
+        );
+    }
+
+    private static Class<?>[] playwrightInterfaces(Class<?> type) {
+        return INTERFACES_BY_CLASS.computeIfAbsent(type, key -> {
+            Set<Class<?>> interfaces = new LinkedHashSet<>();
+            for (Class<?> current = key; current != null; current = current.getSuperclass()) {
+                for (Class<?> implemented : current.getInterfaces()) {
+                    if (Modifier.isPublic(implemented.getModifiers()) && implemented.getName().startsWith(PLAYWRIGHT_PACKAGE)) {
+                        interfaces.add(implemented);
+                    }
+                }
+            }
+            return interfaces.toArray(new Class<?>[0]);
+        });
+    }
+
+    /* Locator.toString() gives its resolved selector i.e. Locator@internal:role=button[name="Search"i] */
+    private static String describe(Object object) {
+        Object target = unwrap(object);
+        if (target instanceof Locator) {
+            String selector = target.toString();
+            return selector.startsWith("Locator@") ? selector.substring("Locator@".length()) : selector;
+        }
+        return null;
+    }
+
+    private static final class TimingHandler implements InvocationHandler {
+
+        private final Object target;
+        private final String typeName;
+        private final String description;
+
+        private TimingHandler(Object target, String typeName, String description) {
+            this.target = target;
+            this.typeName = typeName;
+            this.description = description;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> target.equals(unwrap(args[0]));
+                    case "hashCode" -> target.hashCode();
+                    default -> target.toString();
+                };
+            }
+
+            Object[] targetArgs = unwrapArguments(args);
+            String selector = description != null ? description : describe(target);
+
+            ActionTimings.Frame frame = ActionTimings.enter(typeName + "." + method.getName());
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = method.invoke(target, targetArgs);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                ActionTimings.exit(frame, System.nanoTime() - start, selector);
+            }
+
+            return wrapResult(method, result, selector, targetArgs);
+        }
+
+        private Object wrapResult(Method method, Object result, String selector, Object[] args) {
+
+            if (result instanceof List<?> list && !list.isEmpty() && isInstrumentable(list.get(0))) {
+                return list.stream().map(Instrumentation::wrap).toList();
+            }
+            if (!isInstrumentable(result)) {
+                return result;
+            }
+
+            /* FrameLocator has no public selector, so it is described by the call chain which created it. */
+            String childDescription = describe(result);
+            if (childDescription == null) {
+                String argument = args != null && args.length > 0 && args[0] instanceof String string ? string : "";
+                childDescription = (selector == null ? "" : selector + " >> ") + method.getName() + "(" + argument + ")";
+            }
+            return wrap(result, childDescription);
+        }
+
+        private static Object[] unwrapArguments(Object[] args) {
+
+            if (args == null) {
+                return null;
+            }
+
+            Object[] unwrapped = new Object[args.length];
+            for (int i = 0; i < args.length; i++) {
+                unwrapped[i] = unwrap(args[i]);
+                if (unwrapped[i] != null && unwrapped[i].getClass().getName().startsWith(PLAYWRIGHT_PACKAGE) && unwrapped[i].getClass().getSimpleName().endsWith("Options")) {
+                    unwrapOptionFields(unwrapped[i]);
+                }
+            }
+            return unwrapped;
+        }
+
+        /* Options classes are plain objects with public fields, i.e. Locator.FilterOptions#has */
+        private static void unwrapOptionFields(Object options) {
+            for (Field field : options.getClass().getFields()) {
+                try {
+                    Object value = field.get(options);
+                    if (value != null && Proxy.isProxyClass(value.getClass())) {
+                        field.set(options, unwrap(value));
+                    }
+                } catch (IllegalAccessException e) {
+                    // public fields of public option classes, not expected.
+                }
+            }
+        }
+    }
+}
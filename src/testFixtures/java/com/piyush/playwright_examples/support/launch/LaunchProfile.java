@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.launch;
+
+import com.microsoft.playwright.BrowserType;
+import com.piyush.playwright_examples.support.SuiteProperties;
+
+/**
+ * Named browser launch profiles, picked for the whole run with -Dpw.launch.profile :
+ * <pre>
+ *     as-written  (default) launch options exactly as the test wrote them.
+ *     fast-ci     headless (old headless shell of chromium), no slowMo. No args are added : Playwright already launches
+ *                 chromium without /dev/shm, timer throttling, backgrounding of hidden pages and extensions.
+ *     debug       headed, with -Dpw.launch.slowMo (default 250 ms) between actions.
+ * </pre>
+ * Tests pass their launch options through {@link #current()}.apply(..), so the profile wins over what they hard-code
+ * (i.e. setHeadless(false)) while the rest of their options and args are kept :
+ * <pre>
+ *     Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
+ * </pre>
+ * {@literal @}UsePlaywright classes get the same through {@link LaunchProfileOptions} and {@literal @}UseBrowserConfig ones
+ * through {@link LaunchProfileBrowserConfig}.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public enum LaunchProfile {
+
+    AS_WRITTEN {
+        @Override
+        public BrowserType.LaunchOptions apply(BrowserType.LaunchOptions options) {
+            return options;
+        }
+    },
+
+    FAST_CI {
+        @Override
+        public BrowserType.LaunchOptions apply(BrowserType.LaunchOptions options) {
+            return options
+                .setHeadless(true)
+                .setSlowMo(0);
+        }
+    },
+
+    DEBUG {
+        @Override
+        public BrowserType.LaunchOptions apply(BrowserType.LaunchOptions options) {
+            return options
+                .setHeadless(false)
+                .setSlowMo(SuiteProperties.integer("pw.launch.slowMo", 250));
+        }
+    };
+
+    /* Applies the profile to the given options (the same object is changed and returned). */
+    public abstract BrowserType.LaunchOptions apply(BrowserType.LaunchOptions options);
+
+    public static LaunchProfile current() {
+        return SuiteProperties.enumValue("pw.launch.profile", LaunchProfile.class, AS_WRITTEN);
+    }
+
+    /* Launch options of the current profile for tests which have none of their own. */
+    public static BrowserType.LaunchOptions options() {
+        return current().apply(new BrowserType.LaunchOptions());
+    }
+}
@@ -0,0 +1,23 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.launch;
+
+import io.github.uchagani.jp.BrowserConfig;
+import io.github.uchagani.jp.PlaywrightBrowserConfig;
+
+/**
+ * junit-playwright browser config (chromium) launching the browser as per the current {@link LaunchProfile}.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class LaunchProfileBrowserConfig implements PlaywrightBrowserConfig {
+
+    @Override
+    public BrowserConfig getBrowserConfig() {
+        return new BrowserConfig().chromium().withLaunchOptions(LaunchProfile.options()).launch();
+    }
+}
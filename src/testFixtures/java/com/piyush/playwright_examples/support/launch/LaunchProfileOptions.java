@@ -0,0 +1,27 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.launch;
+
+import com.microsoft.playwright.junit.Options;
+import com.microsoft.playwright.junit.OptionsFactory;
+
+/**
+ * Options factory for {@literal @}UsePlaywright test classes, launching the browser as per the current {@link LaunchProfile} :
+ * <pre>
+ *     {@literal @}UsePlaywright(LaunchProfileOptions.class)
+ * </pre>
+ * Factories of their own can do the same with .setLaunchOptions(LaunchProfile.current().apply(..)).
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class LaunchProfileOptions implements OptionsFactory {
+
+    @Override
+    public Options getOptions() {
+        return new Options().setLaunchOptions(LaunchProfile.options());
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Samples the used heap of the test JVM on a daemon thread (every 20 ms) while it is open, to see the peak of an operation :
+ * <pre>
+ *     try (HeapSampler heap = HeapSampler.start()) {
+ *         ...
+ *         System.out.println(heap.peakGrowthMb());
+ *     }
+ * </pre>
+ * Garbage is part of the used heap, so the peak growth is an upper bound of what the operation really kept.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class HeapSampler implements AutoCloseable {
+
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    private final long baselineBytes;
+    private final AtomicLong peakBytes = new AtomicLong();
+    private final Thread sampler;
+    private volatile boolean running = true;
+
+    private HeapSampler() {
+        System.gc();
+        this.baselineBytes = usedHeap();
+        this.peakBytes.set(baselineBytes);
+        this.sampler = new Thread(() -> {
+            while (running) {
+                peakBytes.accumulateAndGet(usedHeap(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "heap-sampler");
+        this.sampler.setDaemon(true);
+        this.sampler.start();
+    }
+
+    public static HeapSampler start() {
+        return new HeapSampler();
+    }
+
+    public double baselineMb() {
+        return baselineBytes / (1024.0 * 1024.0);
+    }
+
+    public double peakMb() {
+        return Math.max(peakBytes.get(), usedHeap()) / (1024.0 * 1024.0);
+    }
+
+    public double peakGrowthMb() {
+        return peakMb() - baselineMb();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        sampler.interrupt();
+    }
+
+    private static long usedHeap() {
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+}
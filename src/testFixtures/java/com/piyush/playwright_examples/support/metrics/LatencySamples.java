@@ -0,0 +1,57 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.metrics;
+
+import java.util.Arrays;
+
+/**
+ * Collects latencies (in nanos) of repeated runs of the same operation and gives their percentiles in millis. Percentiles
+ * are nearest rank, i.e. p99 of 30 samples is the slowest one.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class LatencySamples {
+
+    private long[] nanos = new long[64];
+    private int count;
+
+    public void add(long sampleNanos) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = sampleNanos;
+    }
+
+    /* Runs the operation and records how long it took. */
+    public void time(Runnable operation) {
+        long start = System.nanoTime();
+        operation.run();
+        add(System.nanoTime() - start);
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public double medianMs() {
+        return percentileMs(50);
+    }
+
+    public double p99Ms() {
+        return percentileMs(99);
+    }
+
+    public double percentileMs(double percentile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long[] sorted = Arrays.copyOf(nanos, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * count);
+        return sorted[Math.max(0, rank - 1)] / 1_000_000.0;
+    }
+}
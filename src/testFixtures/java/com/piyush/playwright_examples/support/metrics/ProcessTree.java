@@ -0,0 +1,65 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.metrics;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Playwright driver (node) is a child process of the test JVM and the browsers are children of the driver, so the processes
+ * below the JVM are the whole "browser side" of the suite.
+ *
+ * NOTE : only processes which are still alive are counted. Resident memory is read from /proc, so it is 0 on other than Linux.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class ProcessTree {
+
+    private ProcessTree() {
+    }
+
+    /* Total CPU time (user + system) consumed so far by all the live descendants of the given process. */
+    public static Duration cpuTime(ProcessHandle root) {
+        return root.descendants()
+            .map(process -> process.info().totalCpuDuration().orElse(Duration.ZERO))
+            .reduce(Duration.ZERO, Duration::plus);
+    }
+
+    public static Duration descendantsCpuTime() {
+        return cpuTime(ProcessHandle.current());
+    }
+
+    /* Resident set size of a single process (VmRSS of /proc/{pid}/status), 0 if it is gone or /proc is not there. */
+    public static long rssBytes(ProcessHandle process) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(process.pid()), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024; // reported in kB.
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // process exited in between, or no procfs.
+        }
+        return 0;
+    }
+
+    /* The Playwright driver processes, i.e. node, which are the direct children of the test JVM. */
+    public static long driverRssBytes() {
+        return ProcessHandle.current().children().mapToLong(ProcessTree::rssBytes).sum();
+    }
+
+    /* The process and all its live descendants, i.e. a driver with its browsers. */
+    public static long treeRssBytes(ProcessHandle root) {
+        return rssBytes(root) + root.descendants().mapToLong(ProcessTree::rssBytes).sum();
+    }
+
+    public static long descendantsRssBytes() {
+        return ProcessHandle.current().descendants().mapToLong(ProcessTree::rssBytes).sum();
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Same as {@link HeapSampler} but for the processes below the test JVM : peak resident memory of the Playwright driver and
+ * of the whole browser side (driver + browsers), sampled every 50 ms from /proc while it is open.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class RssSampler implements AutoCloseable {
+
+    private final long driverBaselineBytes;
+    private final AtomicLong driverPeakBytes = new AtomicLong();
+    private final AtomicLong descendantsPeakBytes = new AtomicLong();
+    private final Thread sampler;
+    private volatile boolean running = true;
+
+    private RssSampler() {
+        this.driverBaselineBytes = ProcessTree.driverRssBytes();
+        this.driverPeakBytes.set(driverBaselineBytes);
+        this.sampler = new Thread(() -> {
+            while (running) {
+                sample();
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "rss-sampler");
+        this.sampler.setDaemon(true);
+        this.sampler.start();
+    }
+
+    public static RssSampler start() {
+        return new RssSampler();
+    }
+
+    public double driverBaselineMb() {
+        return driverBaselineBytes / (1024.0 * 1024.0);
+    }
+
+    public double driverPeakMb() {
+        return driverPeakBytes.get() / (1024.0 * 1024.0);
+    }
+
+    public double driverPeakGrowthMb() {
+        return driverPeakMb() - driverBaselineMb();
+    }
+
+    public double descendantsPeakMb() {
+        return descendantsPeakBytes.get() / (1024.0 * 1024.0);
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        sampler.interrupt();
+        sample();
+    }
+
+    private void sample() {
+        driverPeakBytes.accumulateAndGet(ProcessTree.driverRssBytes(), Math::max);
+        descendantsPeakBytes.accumulateAndGet(ProcessTree.descendantsRssBytes(), Math::max);
+    }
+}
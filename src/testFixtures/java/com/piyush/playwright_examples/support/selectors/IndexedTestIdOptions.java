@@ -0,0 +1,31 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.selectors;
+
+import com.microsoft.playwright.junit.Options;
+import com.microsoft.playwright.junit.OptionsFactory;
+
+/**
+ * Options factory for {@literal @}UsePlaywright test classes which look elements up by data-test. It sets data-test as the
+ * test id attribute, and together with {@link UsesTestIdIndex} (which registers {@link TestIdIndexEngine} on the Playwright
+ * created from these options) both getByTestId(..) and the indexed "test-index=" selectors are available :
+ * <pre>
+ *     {@literal @}UsePlaywright(IndexedTestIdOptions.class)
+ *     public class SomeTest implements UsesTestIdIndex { .. }
+ * </pre>
+ *
+ * NOTE : Options has no hook to register selector engines, that is why the registration itself is done by the interface.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class IndexedTestIdOptions implements OptionsFactory {
+
+    @Override
+    public Options getOptions() {
+        return new Options().setTestIdAttribute(TestIdIndexEngine.DEFAULT_ATTRIBUTE);
+    }
+}
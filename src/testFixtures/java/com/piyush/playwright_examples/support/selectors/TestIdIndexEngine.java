@@ -0,0 +1,151 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.selectors;
+
+import com.microsoft.playwright.Playwright;
+import com.microsoft.playwright.Selectors;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Selector engine which looks up elements by their test id attribute (data-test) from an index kept inside the page, instead
+ * of walking the DOM for every query like the built-in test id engine does :
+ * <pre>
+ *     TestIdIndexEngine.install(playwright);
+ *     page.locator("test-index=product-name").allInnerTexts();
+ * </pre>
+ *
+ * The index (attribute value -> elements) is built on the first query of a document and kept current by a MutationObserver.
+ * Pending mutation records are applied at the beginning of every query (observer.takeRecords()), so a query right after a
+ * DOM change never sees a stale index. Like the built-in engines it pierces open shadow roots : the ones present when the
+ * index is built or inserted later along with their host are indexed and observed.
+ *
+ * NOTE : a shadow root attached (attachShadow) to a host which is already indexed does not produce a mutation, elements
+ * inside it are not found. Frames have their own document and so their own index.
+ *
+ * It runs as a content script, i.e. in an isolated world, so page scripts can neither see nor break it.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class TestIdIndexEngine {
+
+    public static final String NAME = "test-index";
+    public static final String DEFAULT_ATTRIBUTE = "data-test";
+
+    /* Selectors can be registered only once per Playwright instance, the same instance is shared by many test classes. */
+    private static final Set<Playwright> INSTALLED = Collections.newSetFromMap(Collections.synchronizedMap(new WeakHashMap<>()));
+
+    private static final String SCRIPT = """
+        (() => {
+          const ATTRIBUTE = %s;
+          const SELECTOR = '[' + CSS.escape(ATTRIBUTE) + ']';
+          const indexes = new WeakMap();
+
+          function createIndex(document) {
+            const byValue = new Map();
+            const observer = new MutationObserver(records => apply(records));
+            const options = { subtree: true, childList: true, attributes: true, attributeFilter: [ATTRIBUTE], attributeOldValue: true };
+
+            const add = element => {
+              const value = element.getAttribute(ATTRIBUTE);
+              if (value === null) return;
+              let elements = byValue.get(value);
+              if (!elements) byValue.set(value, elements = new Set());
+              elements.add(element);
+            };
+            const remove = (element, value) => {
+              const elements = byValue.get(value);
+              if (elements && elements.delete(element) && elements.size === 0) byValue.delete(value);
+            };
+            /* Walks the subtree including open shadow roots, which are observed too since the document observer does not see inside them. */
+            const visit = (node, callback) => {
+              if (node.nodeType !== Node.ELEMENT_NODE && node.nodeType !== Node.DOCUMENT_FRAGMENT_NODE && node.nodeType !== Node.DOCUMENT_NODE) return;
+              const walker = document.createTreeWalker(node, NodeFilter.SHOW_ELEMENT);
+              for (let element = node.nodeType === Node.ELEMENT_NODE ? node : walker.nextNode(); element; element = walker.nextNode()) {
+                callback(element);
+                if (element.shadowRoot) {
+                  observer.observe(element.shadowRoot, options);
+                  visit(element.shadowRoot, callback);
+                }
+              }
+            };
+            const apply = records => {
+              for (const record of records) {
+                if (record.type === 'attributes') {
+                  if (record.oldValue !== null) remove(record.target, record.oldValue);
+                  add(record.target);
+                } else {
+                  record.removedNodes.forEach(node => visit(node, element => remove(element, element.getAttribute(ATTRIBUTE))));
+                  record.addedNodes.forEach(node => visit(node, add));
+                }
+              }
+            };
+
+            visit(document, add);
+            observer.observe(document, options);
+            return { byValue, sync: () => apply(observer.takeRecords()) };
+          }
+
+          /* root.contains(..) stops at shadow boundaries, this one crosses them. */
+          function contains(root, element) {
+            for (let node = element.parentNode || element.host; node; node = node.parentNode || node.host) {
+              if (node === root) return true;
+            }
+            return false;
+          }
+
+          function lookup(root, value) {
+            const document = root.ownerDocument || root;
+            let index = indexes.get(document);
+            if (!index) indexes.set(document, index = createIndex(document));
+            index.sync();
+
+            const elements = index.byValue.get(value);
+            if (!elements) return [];
+            const result = [];
+            for (const element of elements) {
+              if (element.isConnected && element.getAttribute(ATTRIBUTE) === value && contains(root, element)) {
+                result.push(element);
+              }
+            }
+            if (result.length > 1) {
+              result.sort((first, second) => first.compareDocumentPosition(second) & Node.DOCUMENT_POSITION_FOLLOWING ? -1 : 1);
+            }
+            return result;
+          }
+
+          return {
+            query(root, value) {
+              return lookup(root, value)[0] || null;
+            },
+            queryAll(root, value) {
+              return lookup(root, value);
+            }
+          };
+        })()
+        """;
+
+    private TestIdIndexEngine() {
+    }
+
+    public static void install(Playwright playwright) {
+        install(playwright, DEFAULT_ATTRIBUTE);
+    }
+
+    /* Must be called before the pages which use it are created. Calling it again for the same Playwright does nothing. */
+    public static void install(Playwright playwright, String attribute) {
+        if (INSTALLED.add(playwright)) {
+            playwright.selectors().register(NAME, script(attribute), new Selectors.RegisterOptions().setContentScript(true));
+        }
+    }
+
+    public static String script(String attribute) {
+        return String.format(SCRIPT, "'" + attribute.replace("\\", "\\\\").replace("'", "\\'") + "'");
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.selectors;
+
+import com.microsoft.playwright.Playwright;
+import org.junit.jupiter.api.BeforeAll;
+
+/**
+ * Implemented by {@literal @}UsePlaywright test classes to register {@link TestIdIndexEngine} before their pages are created.
+ * Playwright injected here is the same (per thread) instance the test methods get, see {@link IndexedTestIdOptions}.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public interface UsesTestIdIndex {
+
+    @BeforeAll
+    static void installTestIdIndex(Playwright playwright) {
+        TestIdIndexEngine.install(playwright);
+    }
+}
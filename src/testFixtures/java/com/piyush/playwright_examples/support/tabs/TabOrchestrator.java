@@ -0,0 +1,246 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.tabs;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.TimeoutError;
+import com.microsoft.playwright.options.WaitUntilState;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Tracks every tab (page) of a browser context, including popups, from the moment it is created, through a context level
+ * onPage listener and the page load events :
+ * <pre>
+ *     TabOrchestrator tabs = TabOrchestrator.attach(browserContext);
+ *
+ *     List&lt;Page&gt; popups = tabs.open(2, () -&gt; {             // both links clicked right away, no wait in between.
+ *         page.click("a.first[target='_blank']");
+ *         page.click("a.second[target='_blank']");
+ *     });
+ *     tabs.awaitAll(popups, TabState.SETTLED, Duration.ofSeconds(30));   // one deadline for all of them.
+ * </pre>
+ *
+ * Playwright Java is single threaded, so "concurrent" here means the browser loads all the tabs at the same time while the
+ * test thread waits for all of them in a single BrowserContext.waitForCondition(..), instead of a waitForLoadState(..)
+ * per tab one after the other. Events of every tab are dispatched during that wait, so the states stay current.
+ *
+ * SETTLED (loaded + no main frame navigation for {@link #setSettleQuietPeriod(Duration)}, 500 ms by default) is the
+ * one to use for pages which redirect on their own after loading : reading page.title() while such a redirect runs
+ * fails with "Execution context was destroyed".
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class TabOrchestrator {
+
+    private static final Duration DEFAULT_DEADLINE = Duration.ofSeconds(30);
+
+    private final BrowserContext browserContext;
+    private final Map<Page, Tab> tabs = new LinkedHashMap<>();
+    private long settleQuietNanos = Duration.ofMillis(500).toNanos();
+
+    public static final class Tab {
+
+        private final Page page;
+        private final long openedAtNanos = System.nanoTime();
+        private TabState state = TabState.OPENED;
+        private long lastNavigationNanos = openedAtNanos;
+        private long readyAtNanos;
+        private int navigations;
+
+        private Tab(Page page) {
+            this.page = page;
+        }
+
+        public Page page() {
+            return page;
+        }
+
+        /* State as per the events received so far, SETTLED is only known by {@link #isAtLeast(TabState, long)}. */
+        public TabState state() {
+            return state;
+        }
+
+        public int navigations() {
+            return navigations;
+        }
+
+        /* Time from the tab being opened to its last load event. */
+        public Duration timeToLoad() {
+            return readyAtNanos == 0 ? null : Duration.ofNanos(readyAtNanos - openedAtNanos);
+        }
+
+        private boolean isAtLeast(TabState wanted, long settleQuietNanos) {
+            if (state.isTerminal()) {
+                return false;
+            }
+            if (wanted == TabState.SETTLED) {
+                return state == TabState.LOADED && System.nanoTime() - lastNavigationNanos >= settleQuietNanos;
+            }
+            return state.compareTo(wanted) >= 0;
+        }
+
+        private void onMainFrameNavigated() {
+            navigations++;
+            lastNavigationNanos = System.nanoTime();
+            state = TabState.COMMITTED;
+        }
+
+        private void onDomContentLoaded() {
+            if (!isBlank() && state.compareTo(TabState.DOM_CONTENT_LOADED) < 0) {
+                state = TabState.DOM_CONTENT_LOADED;
+            }
+        }
+
+        private void onLoad() {
+            if (!isBlank() && !state.isTerminal()) {
+                state = TabState.LOADED;
+                readyAtNanos = System.nanoTime();
+            }
+        }
+
+        /* Load events of the initial about:blank of a popup come before the navigation to its real url. */
+        private boolean isBlank() {
+            return navigations == 0 && "about:blank".equals(page.url());
+        }
+
+        @Override
+        public String toString() {
+            return state + " " + page.url();
+        }
+    }
+
+    private TabOrchestrator(BrowserContext browserContext) {
+        this.browserContext = browserContext;
+    }
+
+    public static TabOrchestrator attach(BrowserContext browserContext) {
+        TabOrchestrator orchestrator = new TabOrchestrator(browserContext);
+        browserContext.pages().forEach(page -> orchestrator.track(page, true));
+        browserContext.onPage(page -> orchestrator.track(page, false));
+        return orchestrator;
+    }
+
+    public TabOrchestrator setSettleQuietPeriod(Duration quietPeriod) {
+        this.settleQuietNanos = quietPeriod.toNanos();
+        return this;
+    }
+
+    public Tab tab(Page page) {
+        Tab tab = tabs.get(page);
+        if (tab == null) {
+            throw new IllegalArgumentException("Page is not of the tracked context : " + page.url());
+        }
+        return tab;
+    }
+
+    public List<Tab> tabs() {
+        return List.copyOf(tabs.values());
+    }
+
+    public List<Page> open(int count, Runnable action) {
+        return open(count, action, DEFAULT_DEADLINE);
+    }
+
+    /* Runs the action and returns the pages it opened, in the order they were created, once there are at least count of them. */
+    public List<Page> open(int count, Runnable action, Duration deadline) {
+
+        int before = tabs.size();
+        action.run();
+        await(() -> tabs.size() - before >= count, deadline, () -> "Expected " + count + " new tabs, got " + (tabs.size() - before));
+
+        return tabs.keySet().stream().skip(before).toList();
+    }
+
+    public void awaitAll(Collection<Page> pages, TabState state, Duration deadline) {
+
+        List<Tab> awaited = pages.stream().map(this::tab).toList();
+        await(() -> awaited.stream().allMatch(tab -> tab.isAtLeast(state, settleQuietNanos) || tab.state.isTerminal()),
+            deadline, () -> "Tabs not " + state + " : " + lagging(awaited, state));
+
+        List<Tab> failed = awaited.stream().filter(tab -> tab.state.isTerminal()).toList();
+        if (!failed.isEmpty()) {
+            throw new PlaywrightException("Tabs " + failed + " ended before being " + state);
+        }
+    }
+
+    /**
+     * Starts some work in every page (which should not wait itself, i.e. a navigation with waitUntil COMMIT), waits for
+     * all of them to reach the state and then collects a result from each, all within the one deadline.
+     */
+    public <T> Map<Page, T> fanOut(Collection<Page> pages, Consumer<Page> start, TabState state, Function<Page, T> collect, Duration deadline) {
+
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        pages.forEach(start);
+        awaitAll(pages, state, Duration.ofNanos(Math.max(1, deadlineNanos - System.nanoTime())));
+
+        Map<Page, T> results = new LinkedHashMap<>();
+        pages.forEach(page -> results.put(page, collect.apply(page)));
+        return results;
+    }
+
+    public <T> Map<Page, T> navigateAll(Map<Page, String> urls, TabState state, Function<Page, T> collect, Duration deadline) {
+        return fanOut(urls.keySet(), page -> page.navigate(urls.get(page), new Page.NavigateOptions().setWaitUntil(WaitUntilState.COMMIT)),
+            state, collect, deadline);
+    }
+
+    private void track(Page page, boolean existing) {
+
+        if (tabs.containsKey(page)) {
+            return;
+        }
+
+        Tab tab = new Tab(page);
+        tabs.put(page, tab);
+
+        page.onFrameNavigated(frame -> {
+            if (frame.parentFrame() == null) {
+                tab.onMainFrameNavigated();
+            }
+        });
+        page.onDOMContentLoaded(loaded -> tab.onDomContentLoaded());
+        page.onLoad(loaded -> tab.onLoad());
+        page.onClose(closed -> tab.state = TabState.CLOSED);
+        page.onCrash(crashed -> tab.state = TabState.CRASHED);
+
+        /*
+         * A popup may come with its first navigation already committed, its load events follow. Pages which existed
+         * before attach(..) already had all their events, they are taken as loaded.
+         */
+        if (!"about:blank".equals(page.url())) {
+            tab.navigations = 1;
+            tab.state = existing ? TabState.LOADED : TabState.COMMITTED;
+            tab.readyAtNanos = existing ? tab.openedAtNanos : 0;
+        }
+    }
+
+    private void await(BooleanSupplier condition, Duration deadline, Supplier<String> failure) {
+        try {
+            browserContext.waitForCondition(condition, new BrowserContext.WaitForConditionOptions().setTimeout(deadline.toMillis()));
+        } catch (TimeoutError e) {
+            throw new TimeoutError(failure.get() + " within " + deadline.toMillis() + " ms", e);
+        }
+    }
+
+    private String lagging(List<Tab> awaited, TabState state) {
+        return awaited.stream()
+            .filter(tab -> !tab.isAtLeast(state, settleQuietNanos))
+            .map(Tab::toString)
+            .collect(Collectors.joining(", ", "[", "]"));
+    }
+}
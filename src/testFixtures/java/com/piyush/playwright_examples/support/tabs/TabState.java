@@ -0,0 +1,31 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.tabs;
+
+/**
+ * Readiness of a tab tracked by {@link TabOrchestrator}, in the order a navigation goes through them. A new main frame
+ * navigation (i.e. a redirect done by script) brings a tab back to COMMITTED.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public enum TabState {
+
+    /* Page exists, still on its initial about:blank. */
+    OPENED,
+    /* Main frame navigation committed, the new document has started loading. */
+    COMMITTED,
+    DOM_CONTENT_LOADED,
+    LOADED,
+    /* Loaded, and no main frame navigation for the quiet period of the orchestrator. */
+    SETTLED,
+    CLOSED,
+    CRASHED;
+
+    boolean isTerminal() {
+        return this == CLOSED || this == CRASHED;
+    }
+}
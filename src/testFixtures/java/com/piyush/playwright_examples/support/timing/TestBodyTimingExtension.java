@@ -0,0 +1,50 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.timing;
+
+import java.lang.reflect.Method;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+
+/**
+ * Marks when the test method itself starts and ends, {@link TestTimingListener} sees the start and the end of the whole
+ * test and works out setup / body / teardown from it. Registered for every test class through extension auto detection
+ * (META-INF/services/org.junit.jupiter.api.extension.Extension + junit-platform.properties of the test fixtures).
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class TestBodyTimingExtension implements InvocationInterceptor {
+
+    @Override
+    public void interceptTestMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                    ExtensionContext extensionContext) throws Throwable {
+        timed(invocation, extensionContext);
+    }
+
+    @Override
+    public void interceptTestTemplateMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> invocationContext,
+                                            ExtensionContext extensionContext) throws Throwable {
+        timed(invocation, extensionContext);
+    }
+
+    private static void timed(Invocation<Void> invocation, ExtensionContext extensionContext) throws Throwable {
+
+        if (!TestTimingListener.isEnabled()) {
+            invocation.proceed();
+            return;
+        }
+
+        String uniqueId = extensionContext.getUniqueId();
+        TestTimingListener.bodyStarted(uniqueId);
+        try {
+            invocation.proceed();
+        } finally {
+            TestTimingListener.bodyFinished(uniqueId);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.timing;
+
+/**
+ * Phases of a single test : everything before the test method (BeforeEach callbacks of extensions + @BeforeEach methods),
+ * the test method itself and everything after it (@AfterEach methods + AfterEach callbacks).
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public enum TestPhase {
+    SETUP,
+    BODY,
+    TEARDOWN
+}
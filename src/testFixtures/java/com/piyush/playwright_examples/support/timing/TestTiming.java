@@ -0,0 +1,37 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.timing;
+
+/**
+ * Duration of every {@link TestPhase} of one run of a test, in milli seconds.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public record TestTiming(long setupMs, long bodyMs, long teardownMs) {
+
+    public long totalMs() {
+        return setupMs + bodyMs + teardownMs;
+    }
+
+    public long ms(TestPhase phase) {
+        return switch (phase) {
+            case SETUP -> setupMs;
+            case BODY -> bodyMs;
+            case TEARDOWN -> teardownMs;
+        };
+    }
+
+    /* 12/340/5 */
+    String format() {
+        return setupMs + "/" + bodyMs + "/" + teardownMs;
+    }
+
+    static TestTiming parse(String text) {
+        String[] parts = text.split("/");
+        return new TestTiming(Long.parseLong(parts[0]), Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.timing;
+
+import com.piyush.playwright_examples.support.SuiteProperties;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Registered through META-INF/services/org.junit.platform.launcher.TestExecutionListener. Records setup, body and teardown
+ * time (see {@link TestPhase}) of every passing test, compares it with the previous runs of the same test kept in
+ * -Dpw.regression.history (default .gradle/test-timings.tsv, last -Dpw.regression.historyRuns runs, default 20) and reports the
+ * tests which got slower, see {@link TimingRegression} for the thresholds :
+ *
+ *    -Dpw.regression.minRuns      runs needed before a test is judged, default 5
+ *    -Dpw.regression.sigma        how many spreads above the median, default 3
+ *    -Dpw.regression.tolerance    how much slower in relative terms, default 0.25 (25%)
+ *    -Dpw.regression.minDeltaMs   how much slower in absolute terms, default 250
+ *
+ * The top -Dpw.regression.top (default 10) regressions are printed with their per phase deltas and all of them are
+ * written to build/reports/test-timings/{suite}-regressions.txt, which fails the Gradle test task with -Dpw.regression.gate=fail.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class TestTimingListener implements TestExecutionListener {
+
+    private static final TimingGate GATE = SuiteProperties.enumValue("pw.regression.gate", TimingGate.class, TimingGate.WARN);
+
+    private static final Map<String, Long> TEST_STARTS = new ConcurrentHashMap<>();
+    private static final Map<String, long[]> BODY_NANOS = new ConcurrentHashMap<>();
+
+    private final Map<String, TestTiming> timings = new ConcurrentHashMap<>();
+
+    static boolean isEnabled() {
+        return GATE != TimingGate.OFF;
+    }
+
+    static void bodyStarted(String uniqueId) {
+        BODY_NANOS.put(uniqueId, new long[]{System.nanoTime(), 0});
+    }
+
+    static void bodyFinished(String uniqueId) {
+        long[] body = BODY_NANOS.get(uniqueId);
+        if (body != null) {
+            body[1] = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        if (isEnabled()) {
+            writeRegressions(List.of()); // the one of a previous run would fail this run.
+        }
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier testIdentifier) {
+        if (isEnabled() && testIdentifier.isTest()) {
+            TEST_STARTS.put(testIdentifier.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+
+        if (!isEnabled() || !testIdentifier.isTest()) {
+            return;
+        }
+
+        long end = System.nanoTime();
+        Long start = TEST_STARTS.remove(testIdentifier.getUniqueId());
+        long[] body = BODY_NANOS.remove(testIdentifier.getUniqueId());
+
+        /* Failed tests often end early or wait for a timeout, their durations say nothing about the speed of the test. */
+        if (start == null || body == null || body[1] == 0 || testExecutionResult.getStatus() != TestExecutionResult.Status.SUCCESSFUL) {
+            return;
+        }
+
+        timings.put(testName(testIdentifier), new TestTiming(
+            (body[0] - start) / 1_000_000,
+            (body[1] - body[0]) / 1_000_000,
+            (end - body[1]) / 1_000_000
+        ));
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+
+        if (!isEnabled() || timings.isEmpty()) {
+            return;
+        }
+
+        TimingRegression.Thresholds thresholds = new TimingRegression.Thresholds(
+            SuiteProperties.integer("pw.regression.minRuns", 5),
+            SuiteProperties.decimal("pw.regression.sigma", 3),
+            SuiteProperties.decimal("pw.regression.tolerance", 0.25),
+            SuiteProperties.integer("pw.regression.minDeltaMs", 250)
+        );
+
+        List<TimingRegression> regressions = new ArrayList<>();
+        try {
+            TimingHistory.update(SuiteProperties.path("pw.regression.history", ".gradle/test-timings.tsv"), timings,
+                SuiteProperties.integer("pw.regression.historyRuns", 20),
+                history -> timings.forEach((test, timing) -> TimingRegression.detect(test, history.getOrDefault(test, List.of()), timing, thresholds)
+                    .ifPresent(regressions::add)));
+        } catch (IOException e) {
+            System.err.println("Could not update the test timing history : " + e);
+            return;
+        }
+
+        regressions.sort(Comparator.comparingLong(TimingRegression::deltaMs).reversed());
+        writeRegressions(regressions);
+
+        System.out.printf("Test timings : %d tests recorded, %d regressions (gate %s)%n", timings.size(), regressions.size(), GATE);
+        printRegressions(regressions.subList(0, Math.min(regressions.size(), SuiteProperties.integer("pw.regression.top", 10))), System.out);
+    }
+
+    static void printRegressions(List<TimingRegression> regressions, PrintStream out) {
+
+        if (regressions.isEmpty()) {
+            return;
+        }
+        out.printf("%10s %8s %7s | %22s | %22s | %s%n", "delta ms", "ratio", "runs", "setup/body/teardown ms", "baseline", "test (slower phase)");
+        regressions.forEach(regression -> out.printf("%+10d %7.2fx %7d | %22s | %22s | %s (%s)%n",
+            regression.deltaMs(), regression.ratio(), regression.baselineRuns(),
+            regression.current().format(), regression.baseline().format(),
+            regression.test(), regression.mainPhase().name().toLowerCase()));
+    }
+
+    /* One file per suite (-Dpw.regression.suite, set to the Gradle task name), removed when there is nothing to report. */
+    private static void writeRegressions(List<TimingRegression> regressions) {
+
+        Path file = SuiteProperties.path("pw.regression.dir", "build/reports/test-timings")
+            .resolve(SuiteProperties.string("pw.regression.suite", "test") + "-regressions.txt");
+        try {
+            if (regressions.isEmpty()) {
+                Files.deleteIfExists(file);
+                return;
+            }
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                printRegressions(regressions, out);
+            }
+        } catch (IOException e) {
+            System.err.println("Could not write the timing regressions : " + e);
+        }
+    }
+
+    /* com.piyush.playwright_examples.UI._2TestWithHooks#testSearchByKeyword(), invocations of templates get their index i.e. [2] */
+    private static String testName(TestIdentifier testIdentifier) {
+        return testIdentifier.getSource()
+            .filter(MethodSource.class::isInstance)
+            .map(source -> ((MethodSource) source).getClassName() + "#" + testIdentifier.getLegacyReportingName())
+            .orElse(testIdentifier.getUniqueId());
+    }
+}
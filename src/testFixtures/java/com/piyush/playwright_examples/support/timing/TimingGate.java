@@ -0,0 +1,22 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.timing;
+
+/**
+ * What to do with timing regressions, -Dpw.regression.gate (default warn). The listener itself can not fail the build (JUnit
+ * only logs listener exceptions), so with FAIL the Gradle test task fails once it sees the regressions file written for it.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public enum TimingGate {
+    /* Nothing is recorded. */
+    OFF,
+    /* Regressions are reported. */
+    WARN,
+    /* Regressions are reported and fail the test task. */
+    FAIL
+}
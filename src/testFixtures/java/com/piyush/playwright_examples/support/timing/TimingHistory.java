@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.timing;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Last runs of every test, one line per test : {test}\t{setup/body/teardown ms of the oldest run},...,{of the latest run}.
+ * Only the last maxRuns runs are kept, so the file stays small however long it is used.
+ *
+ * Test suites run in separate JVMs at the same time (apiTest, uiTest, shards) and share the file, so it is read and
+ * written back under a file lock.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+final class TimingHistory {
+
+    private TimingHistory() {
+    }
+
+    /**
+     * Reads the history, lets the caller look at it (before the latest runs are added) and writes it back with the latest
+     * runs appended.
+     */
+    static void update(Path file, Map<String, TestTiming> latest, int maxRuns, Consumer<Map<String, List<TestTiming>>> beforeUpdate) throws IOException {
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+
+            FileLock lock = channel.lock(); // released in finally, a resource which is never read gets a [try] warning.
+            try {
+                ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+                while (content.hasRemaining() && channel.read(content) >= 0) {
+                    // reads the whole file.
+                }
+                Map<String, List<TestTiming>> history = parse(new String(content.array(), StandardCharsets.UTF_8));
+
+                beforeUpdate.accept(history);
+
+                latest.forEach((test, timing) -> {
+                    List<TestTiming> runs = history.computeIfAbsent(test, key -> new ArrayList<>());
+                    runs.add(timing);
+                    if (runs.size() > maxRuns) {
+                        runs.subList(0, runs.size() - maxRuns).clear();
+                    }
+                });
+
+                channel.truncate(0);
+                channel.write(ByteBuffer.wrap(format(history).getBytes(StandardCharsets.UTF_8)), 0);
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    static Map<String, List<TestTiming>> parse(String text) {
+
+        Map<String, List<TestTiming>> history = new TreeMap<>();
+        for (String line : text.split("\n")) {
+            int tab = line.lastIndexOf('\t');
+            if (tab <= 0) {
+                continue;
+            }
+            List<TestTiming> runs = new ArrayList<>();
+            for (String run : line.substring(tab + 1).split(",")) {
+                runs.add(TestTiming.parse(run));
+            }
+            history.put(line.substring(0, tab), runs);
+        }
+        return history;
+    }
+
+    private static String format(Map<String, List<TestTiming>> history) {
+        StringBuilder text = new StringBuilder();
+        history.forEach((test, runs) -> {
+            text.append(test).append('\t');
+            for (int i = 0; i < runs.size(); i++) {
+                text.append(i == 0 ? "" : ",").append(runs.get(i).format());
+            }
+            text.append('\n');
+        });
+        return text.toString();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.timing;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A test which took longer than its baseline, the median of its previous runs. To count as a regression the total time has
+ * to be above median + sigma * spread (spread being the median absolute deviation scaled to a standard deviation, so a few
+ * outliers in the history do not move it), more than tolerance slower in relative terms and more than minDeltaMs slower in
+ * absolute terms : a noisy test or a 2 ms test getting 3 ms slower is not reported.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public record TimingRegression(String test, TestTiming baseline, TestTiming current, int baselineRuns) {
+
+    public record Thresholds(int minRuns, double sigma, double tolerance, long minDeltaMs) {
+    }
+
+    public long deltaMs() {
+        return current.totalMs() - baseline.totalMs();
+    }
+
+    public double ratio() {
+        return baseline.totalMs() == 0 ? Double.POSITIVE_INFINITY : (double) current.totalMs() / baseline.totalMs();
+    }
+
+    /* Phase which got slower the most, i.e. a slower @BeforeEach rather than the test itself. */
+    public TestPhase mainPhase() {
+        return Arrays.stream(TestPhase.values())
+            .max((first, second) -> Long.compare(current.ms(first) - baseline.ms(first), current.ms(second) - baseline.ms(second)))
+            .orElseThrow();
+    }
+
+    static Optional<TimingRegression> detect(String test, List<TestTiming> previousRuns, TestTiming current, Thresholds thresholds) {
+
+        if (previousRuns.size() < thresholds.minRuns()) {
+            return Optional.empty();
+        }
+
+        long[] totals = previousRuns.stream().mapToLong(TestTiming::totalMs).sorted().toArray();
+        double median = median(totals);
+        double spread = 1.4826 * median(Arrays.stream(totals).map(total -> (long) Math.abs(total - median)).sorted().toArray());
+
+        long total = current.totalMs();
+        boolean regressed = total > median + thresholds.sigma() * spread
+            && total > median * (1 + thresholds.tolerance())
+            && total - median > thresholds.minDeltaMs();
+
+        if (!regressed) {
+            return Optional.empty();
+        }
+
+        TestTiming baseline = new TestTiming(
+            (long) median(previousRuns.stream().mapToLong(TestTiming::setupMs).sorted().toArray()),
+            (long) median(previousRuns.stream().mapToLong(TestTiming::bodyMs).sorted().toArray()),
+            (long) median(previousRuns.stream().mapToLong(TestTiming::teardownMs).sorted().toArray())
+        );
+        return Optional.of(new TimingRegression(test, baseline, current, previousRuns.size()));
+    }
+
+    private static double median(long[] sorted) {
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+    }
+}
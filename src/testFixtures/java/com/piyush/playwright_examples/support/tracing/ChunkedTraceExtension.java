@@ -0,0 +1,130 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.tracing;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Tracing;
+import com.piyush.playwright_examples.support.SuiteProperties;
+import com.piyush.playwright_examples.support.TestNames;
+import com.piyush.playwright_examples.support.artifacts.ArtifactService;
+import com.piyush.playwright_examples.support.artifacts.ArtifactType;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Tracing is started only once per browser context (tracing().start()) and every test records its own chunk with
+ * tracing().startChunk() / tracing().stopChunk(). The chunk is exported to disk only when it is needed i.e. the test failed,
+ * mode is ON or the test was picked by the sample rate. For passing tests stopChunk() is called without a path, so no zip
+ * is serialized or written at all. Exported chunks are handed over to {@link ArtifactService}, which moves and indexes them
+ * into build/artifacts/traces in background.
+ *
+ * Usage :
+ * <pre>
+ *     {@literal @}RegisterExtension
+ *     static final ChunkedTraceExtension TRACES = ChunkedTraceExtension.fromSystemProperties();
+ *
+ *     {@literal @}BeforeAll / {@literal @}BeforeEach
+ *     void setUp() {
+ *         ...
+ *         TRACES.attach(browserContext);
+ *     }
+ * </pre>
+ *
+ * NOTE : chunks are started right before the test method and stopped right after it, so actions done in @BeforeEach are
+ * not part of the chunk. Tests sharing one instance of this extension are expected to run sequentially (JUnit default).
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class ChunkedTraceExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private final TraceMode mode;
+    private final double sampleRate;
+
+    private final Set<BrowserContext> tracedContexts = Collections.synchronizedSet(Collections.newSetFromMap(new IdentityHashMap<>()));
+
+    public ChunkedTraceExtension(TraceMode mode, double sampleRate) {
+        this.mode = mode;
+        this.sampleRate = sampleRate;
+    }
+
+    /* -Dpw.trace.mode (default retain-on-failure) and -Dpw.trace.sampleRate (0.0 - 1.0, default 0) */
+    public static ChunkedTraceExtension fromSystemProperties() {
+        return new ChunkedTraceExtension(
+            SuiteProperties.enumValue("pw.trace.mode", TraceMode.class, TraceMode.RETAIN_ON_FAILURE),
+            SuiteProperties.decimal("pw.trace.sampleRate", 0.0)
+        );
+    }
+
+    /**
+     * Starts tracing on the context. Calling it again for an already traced context is a no-op, so it is safe to call it
+     * from @BeforeEach as well. Closed contexts are forgotten automatically.
+     */
+    public void attach(BrowserContext browserContext) {
+
+        if (mode == TraceMode.OFF || !tracedContexts.add(browserContext)) {
+            return;
+        }
+
+        browserContext.tracing().start(new Tracing.StartOptions()
+            .setScreenshots(true)
+            .setSnapshots(true));
+
+        browserContext.onClose(tracedContexts::remove);
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+
+        for (BrowserContext browserContext : snapshot()) {
+            browserContext.tracing().startChunk(new Tracing.StartChunkOptions().setTitle(context.getDisplayName()));
+        }
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+
+        List<BrowserContext> browserContexts = snapshot();
+        boolean keep = mode == TraceMode.ON
+            || context.getExecutionException().isPresent()
+            || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+
+        for (int i = 0; i < browserContexts.size(); i++) {
+
+            if (!keep) {
+                browserContexts.get(i).tracing().stopChunk(); // without path nothing is exported.
+                continue;
+            }
+
+            String suffix = browserContexts.size() == 1 ? "" : "-" + i;
+            String fileName = "trace-" + TestNames.slug(context) + suffix + ".zip";
+
+            /* Playwright itself writes the zip here, moving + indexing it is done in background. */
+            ArtifactService artifactService = ArtifactService.getInstance();
+            Path stagedTrace = artifactService.stagingFile(fileName);
+            browserContexts.get(i).tracing().stopChunk(new Tracing.StopChunkOptions().setPath(stagedTrace));
+
+            artifactService.submit(ArtifactType.TRACE, TestNames.slug(context), stagedTrace, fileName, false);
+            context.publishReportEntry("trace", artifactService.directory(ArtifactType.TRACE).resolve(fileName).toAbsolutePath().toString());
+        }
+    }
+
+    /* Contexts of a browser which crashed or disconnected can not record anything anymore, they are forgotten. */
+    private List<BrowserContext> snapshot() {
+        synchronized (tracedContexts) {
+            tracedContexts.removeIf(browserContext -> browserContext.browser() != null && !browserContext.browser().isConnected());
+            return new ArrayList<>(tracedContexts);
+        }
+    }
+}
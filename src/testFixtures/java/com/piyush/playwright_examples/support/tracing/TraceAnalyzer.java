@@ -0,0 +1,288 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.tracing;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads Playwright trace zips (i.e. the ones written by {@link ChunkedTraceExtension}) and ranks where the time and bytes went :
+ * slowest actions, longest waits, largest responses and total bytes transferred per trace, plus the same rankings across
+ * all the traces of the run.
+ *
+ * The zip is streamed, nothing is extracted to disk. Only the *.trace (actions) and *.network (resources) entries are parsed
+ * and DOM snapshots / screencast frames inside them are skipped without building them in memory.
+ *
+ * Run it with : ./gradlew analyzeTraces (defaults to build/artifacts/traces) or ./gradlew analyzeTraces --args="--top 20 path/to/traces"
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class TraceAnalyzer {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = MAPPER.getFactory().disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    private static final Set<String> RELEVANT_EVENTS = Set.of("before", "after", "action", "resource-snapshot");
+
+    public record ActionTiming(String trace, String name, String selector, double durationMs, boolean failed) {
+
+        public boolean isWait() {
+            return name.contains("waitFor") || name.startsWith("expect") || name.endsWith(".expect");
+        }
+    }
+
+    public record ResourceTiming(String trace, String method, String url, int status, long bytes, double durationMs) {
+    }
+
+    public record TraceSummary(String trace, List<ActionTiming> actions, List<ResourceTiming> resources) {
+
+        public long totalBytes() {
+            return resources.stream().mapToLong(ResourceTiming::bytes).sum();
+        }
+
+        public double totalActionMs() {
+            return actions.stream().mapToDouble(ActionTiming::durationMs).sum();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+
+        int top = 10;
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--top")) {
+                top = Integer.parseInt(args[++i]);
+            } else {
+                inputs.add(Paths.get(args[i]));
+            }
+        }
+        if (inputs.isEmpty()) {
+            inputs.add(Paths.get("build/artifacts/traces"));
+        }
+
+        List<TraceSummary> summaries = new ArrayList<>();
+        for (Path traceZip : collectTraceZips(inputs)) {
+            summaries.add(analyze(traceZip));
+        }
+
+        printReport(summaries, top, System.out);
+    }
+
+    public static List<Path> collectTraceZips(List<Path> inputs) throws IOException {
+
+        List<Path> traceZips = new ArrayList<>();
+        for (Path input : inputs) {
+            if (Files.isDirectory(input)) {
+                try (Stream<Path> files = Files.walk(input)) {
+                    files.filter(file -> file.getFileName().toString().endsWith(".zip")).sorted().forEach(traceZips::add);
+                }
+            } else if (Files.exists(input)) {
+                traceZips.add(input);
+            }
+        }
+        return traceZips;
+    }
+
+    public static TraceSummary analyze(Path traceZip) throws IOException {
+
+        String traceName = traceZip.getFileName().toString();
+        Map<String, ObjectNode> pendingActions = new HashMap<>();
+        List<ActionTiming> actions = new ArrayList<>();
+        List<ResourceTiming> resources = new ArrayList<>();
+
+        try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(traceZip))) {
+
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+
+                String entryName = entry.getName();
+                if (!entryName.endsWith(".trace") && !entryName.endsWith(".network")) {
+                    continue;
+                }
+
+                try (JsonParser parser = JSON_FACTORY.createParser((InputStream) zip)) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        ObjectNode event = readRelevantEvent(parser);
+                        if (event != null) {
+                            onEvent(traceName, event, pendingActions, actions, resources);
+                        }
+                    }
+                }
+            }
+        }
+
+        return new TraceSummary(traceName, actions, resources);
+    }
+
+    /* Returns null (after skipping the rest of the object) as soon as the "type" field says the event is not interesting. */
+    private static ObjectNode readRelevantEvent(JsonParser parser) throws IOException {
+
+        ObjectNode event = MAPPER.createObjectNode();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+
+            String field = parser.currentName();
+            parser.nextToken();
+
+            if (field.equals("type") && !RELEVANT_EVENTS.contains(parser.getText())) {
+                skipRestOfObject(parser);
+                return null;
+            }
+            event.set(field, MAPPER.readTree(parser));
+        }
+        return RELEVANT_EVENTS.contains(event.path("type").asText()) ? event : null;
+    }
+
+    private static void skipRestOfObject(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
+        }
+    }
+
+    private static void onEvent(String traceName, ObjectNode event, Map<String, ObjectNode> pendingActions,
+                                List<ActionTiming> actions, List<ResourceTiming> resources) {
+
+        switch (event.path("type").asText()) {
+
+            case "before" -> pendingActions.put(event.path("callId").asText(), event);
+
+            case "after" -> {
+                ObjectNode before = pendingActions.remove(event.path("callId").asText());
+                if (before != null) {
+                    actions.add(new ActionTiming(
+                        traceName,
+                        actionName(before),
+                        before.path("params").path("selector").asText(null),
+                        event.path("endTime").asDouble() - before.path("startTime").asDouble(),
+                        event.hasNonNull("error")
+                    ));
+                }
+            }
+
+            /* Older trace format, a single event per action. */
+            case "action" -> {
+                JsonNode metadata = event.path("metadata");
+                actions.add(new ActionTiming(
+                    traceName,
+                    actionName(metadata),
+                    metadata.path("params").path("selector").asText(null),
+                    metadata.path("endTime").asDouble() - metadata.path("startTime").asDouble(),
+                    metadata.hasNonNull("error")
+                ));
+            }
+
+            case "resource-snapshot" -> {
+                JsonNode snapshot = event.path("snapshot");
+                JsonNode response = snapshot.path("response");
+                long transferSize = response.path("_transferSize").asLong(-1);
+                long bytes = transferSize > 0 ? transferSize : Math.max(0, response.path("content").path("size").asLong(0));
+
+                resources.add(new ResourceTiming(
+                    traceName,
+                    snapshot.path("request").path("method").asText(),
+                    snapshot.path("request").path("url").asText(),
+                    response.path("status").asInt(),
+                    bytes,
+                    snapshot.path("time").asDouble()
+                ));
+            }
+
+            default -> {
+            }
+        }
+    }
+
+    private static String actionName(JsonNode action) {
+        String apiName = action.path("apiName").asText("");
+        return apiName.isEmpty() ? action.path("class").asText() + "." + action.path("method").asText() : apiName;
+    }
+
+    public static void printReport(List<TraceSummary> summaries, int top, PrintStream out) {
+
+        for (TraceSummary summary : summaries) {
+            out.printf("%n=================== %s ===================%n", summary.trace());
+            out.printf("Actions : %d (%.0f ms), responses : %d (%s)%n",
+                summary.actions().size(), summary.totalActionMs(), summary.resources().size(), megabytes(summary.totalBytes()));
+
+            printActions("Slowest actions", summary.actions().stream().filter(action -> !action.isWait()), top, out);
+            printActions("Longest waits", summary.actions().stream().filter(ActionTiming::isWait), top, out);
+            printResources("Largest responses", summary.resources().stream(), top, out);
+        }
+
+        List<ActionTiming> allActions = summaries.stream().flatMap(summary -> summary.actions().stream()).toList();
+        List<ResourceTiming> allResources = summaries.stream().flatMap(summary -> summary.resources().stream()).toList();
+
+        out.printf("%n=================== All traces (%d) ===================%n", summaries.size());
+        out.printf("Actions : %d (%.0f ms), responses : %d (%s)%n",
+            allActions.size(), allActions.stream().mapToDouble(ActionTiming::durationMs).sum(),
+            allResources.size(), megabytes(allResources.stream().mapToLong(ResourceTiming::bytes).sum()));
+
+        printActions("Slowest actions", allActions.stream().filter(action -> !action.isWait()), top, out);
+        printActions("Longest waits", allActions.stream().filter(ActionTiming::isWait), top, out);
+        printResources("Largest responses", allResources.stream(), top, out);
+
+        out.println("--- Total time per action type ---");
+        allActions.stream()
+            .collect(Collectors.groupingBy(ActionTiming::name, Collectors.summingDouble(ActionTiming::durationMs)))
+            .entrySet().stream()
+            .sorted(Map.Entry.<String, Double>comparingByValue().reversed())
+            .limit(top)
+            .forEach(entry -> out.printf("%10.0f ms  %s%n", entry.getValue(), entry.getKey()));
+
+        out.println("--- Bytes per URL ---");
+        allResources.stream()
+            .collect(Collectors.groupingBy(ResourceTiming::url, Collectors.summingLong(ResourceTiming::bytes)))
+            .entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .limit(top)
+            .forEach(entry -> out.printf("%12s  %s%n", megabytes(entry.getValue()), entry.getKey()));
+    }
+
+    private static void printActions(String title, Stream<ActionTiming> actions, int top, PrintStream out) {
+        out.println("--- " + title + " ---");
+        actions.sorted(Comparator.comparingDouble(ActionTiming::durationMs).reversed())
+            .limit(top)
+            .forEach(action -> out.printf("%10.0f ms  %s%s%s  [%s]%n",
+                action.durationMs(),
+                action.name(),
+                action.selector() == null ? "" : " " + action.selector(),
+                action.failed() ? " (failed)" : "",
+                action.trace()));
+    }
+
+    private static void printResources(String title, Stream<ResourceTiming> resources, int top, PrintStream out) {
+        out.println("--- " + title + " ---");
+        resources.sorted(Comparator.comparingLong(ResourceTiming::bytes).reversed())
+            .limit(top)
+            .forEach(resource -> out.printf("%12s %6.0f ms  %s %d %s  [%s]%n",
+                megabytes(resource.bytes()), resource.durationMs(), resource.method(), resource.status(), resource.url(), resource.trace()));
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format("%.2f MB", bytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.tracing;
+
+/**
+ * Selected with -Dpw.trace.mode=off|on|retain-on-failure.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public enum TraceMode {
+
+    /* No tracing at all. */
+    OFF,
+
+    /* Every test chunk is written to disk. */
+    ON,
+
+    /* Chunks are written only for failed tests (plus a sample of passing tests if pw.trace.sampleRate is set). */
+    RETAIN_ON_FAILURE
+}
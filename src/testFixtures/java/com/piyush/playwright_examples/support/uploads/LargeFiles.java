@@ -0,0 +1,55 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.uploads;
+
+import com.piyush.playwright_examples.support.fixtures.LargePayloadServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Generates large files to upload, of any size and without holding them in the heap :
+ * <pre>
+ *     SPARSE     file of zeros created by only setting its length, takes no disk space on most file systems (ext4, xfs, apfs ..)
+ *     GENERATED  written through a 64 KB buffer with the bytes of {@link LargePayloadServer} (sha256OfBytes(size) matches)
+ * </pre>
+ * Sparse files are instant, but compress to nothing, so use GENERATED where the transport may compress.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class LargeFiles {
+
+    public enum Kind {
+        SPARSE,
+        GENERATED
+    }
+
+    private LargeFiles() {
+    }
+
+    public static Path create(Path dir, String fileName, long size, Kind kind) throws IOException {
+        return kind == Kind.SPARSE ? sparse(dir, fileName, size) : generated(dir, fileName, size);
+    }
+
+    public static Path sparse(Path dir, String fileName, long size) throws IOException {
+        Path file = Files.createDirectories(dir).resolve(fileName);
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+            randomAccessFile.setLength(size);
+        }
+        return file;
+    }
+
+    public static Path generated(Path dir, String fileName, long size) throws IOException {
+        Path file = Files.createDirectories(dir).resolve(fileName);
+        try (OutputStream out = Files.newOutputStream(file)) {
+            LargePayloadServer.writeBytes(out, size);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.uploads;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * multipart/form-data request body which streams its file parts straight from disk. Playwright's API request context takes
+ * files only as byte[] (FormData.set(name, Path) reads the whole file), so this one is sent with the JDK HttpClient instead :
+ * <pre>
+ *     MultipartBody body = MultipartBody.builder()
+ *         .field("description", "Large attachment")
+ *         .file("attachment", Paths.get("large.bin"))
+ *         .build();
+ *
+ *     UploadResult result = new MultipartUploader("http://localhost:8080").post("/attachments", body);
+ * </pre>
+ * Every file part is a BodyPublishers.ofFile(..), which reads the file in small chunks only as fast as the connection
+ * takes them, so the heap stays flat whatever the size and number of parts. Content-Length is known upfront.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class MultipartBody {
+
+    private final String boundary;
+    private final List<HttpRequest.BodyPublisher> publishers;
+    private final long contentLength;
+    private final int parts;
+
+    private MultipartBody(String boundary, List<HttpRequest.BodyPublisher> publishers, int parts) {
+        this.boundary = boundary;
+        this.publishers = publishers;
+        this.contentLength = publishers.stream().mapToLong(HttpRequest.BodyPublisher::contentLength).sum();
+        this.parts = parts;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String contentType() {
+        return "multipart/form-data; boundary=" + boundary;
+    }
+
+    public long contentLength() {
+        return contentLength;
+    }
+
+    public int parts() {
+        return parts;
+    }
+
+    /* A new publisher each time, so the same body can be sent again (i.e. on a retry). */
+    public HttpRequest.BodyPublisher publisher() {
+        return HttpRequest.BodyPublishers.concat(publishers.toArray(new HttpRequest.BodyPublisher[0]));
+    }
+
+    public static final class Builder {
+
+        private final String boundary = "----PlaywrightExamples" + UUID.randomUUID().toString().replace("-", "");
+        private final List<HttpRequest.BodyPublisher> publishers = new ArrayList<>();
+        private int parts;
+
+        private Builder() {
+        }
+
+        public Builder field(String name, String value) {
+            addHeaders("Content-Disposition: form-data; name=\"" + escape(name) + "\"\r\n");
+            publishers.add(HttpRequest.BodyPublishers.ofString(value, StandardCharsets.UTF_8));
+            parts++;
+            return this;
+        }
+
+        public Builder file(String name, Path file) {
+            return file(name, file, file.getFileName().toString(), contentTypeOf(file));
+        }
+
+        public Builder file(String name, Path file, String fileName, String contentType) {
+            addHeaders("Content-Disposition: form-data; name=\"" + escape(name) + "\"; filename=\"" + escape(fileName) + "\"\r\n"
+                + "Content-Type: " + contentType + "\r\n");
+            try {
+                publishers.add(HttpRequest.BodyPublishers.ofFile(file));
+            } catch (FileNotFoundException e) {
+                throw new UncheckedIOException(e);
+            }
+            parts++;
+            return this;
+        }
+
+        public MultipartBody build() {
+            List<HttpRequest.BodyPublisher> all = new ArrayList<>(publishers);
+            all.add(ascii((parts == 0 ? "--" : "\r\n--") + boundary + "--\r\n"));
+            return new MultipartBody(boundary, List.copyOf(all), parts);
+        }
+
+        /* Delimiter of the previous part (if any) goes together with the headers of the next one. */
+        private void addHeaders(String headers) {
+            publishers.add(ascii((parts == 0 ? "--" : "\r\n--") + boundary + "\r\n" + headers + "\r\n"));
+        }
+
+        private static HttpRequest.BodyPublisher ascii(String text) {
+            return HttpRequest.BodyPublishers.ofByteArray(text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static String escape(String value) {
+            return value.replace("\"", "%22").replace("\r", "%0D").replace("\n", "%0A");
+        }
+
+        private static String contentTypeOf(Path file) {
+            try {
+                String contentType = Files.probeContentType(file);
+                return contentType != null ? contentType : "application/octet-stream";
+            } catch (IOException e) {
+                return "application/octet-stream";
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.uploads;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sends {@link MultipartBody} requests, the multipart counterpart of the APIRequestContext the BE tests create : same base
+ * url and extra headers, paths are resolved against the base url.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class MultipartUploader {
+
+    private final HttpClient httpClient;
+    private final URI baseUrl;
+    private final Map<String, String> extraHeaders;
+
+    public MultipartUploader(String baseUrl) {
+        this(baseUrl, Map.of());
+    }
+
+    public MultipartUploader(String baseUrl, Map<String, String> extraHeaders) {
+        this.httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
+        this.baseUrl = URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + "/");
+        this.extraHeaders = extraHeaders;
+    }
+
+    public UploadResult post(String path, MultipartBody body) {
+        return send("POST", path, body);
+    }
+
+    public UploadResult put(String path, MultipartBody body) {
+        return send("PUT", path, body);
+    }
+
+    private UploadResult send(String method, String path, MultipartBody body) {
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUrl.resolve(path.startsWith("/") ? path.substring(1) : path))
+            .method(method, body.publisher());
+        extraHeaders.forEach((name, value) -> {
+            if (!name.equalsIgnoreCase("Content-Type")) { // the json one of the API context must not win over the boundary.
+                request.header(name, value);
+            }
+        });
+        request.header("Content-Type", body.contentType());
+
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            return new UploadResult(response.statusCode(), response.body(), body.contentLength(), body.parts(), System.nanoTime() - start);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while uploading to " + path, e);
+        }
+    }
+}
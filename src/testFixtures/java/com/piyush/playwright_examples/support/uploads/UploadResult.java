@@ -0,0 +1,30 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.uploads;
+
+/**
+ * Outcome of a {@link MultipartUploader} request. The elapsed time runs from sending the first byte to receiving the whole
+ * response, so the throughput includes the time the server took to answer.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public record UploadResult(int status, String body, long bytesSent, int parts, long elapsedNanos) {
+
+    public boolean ok() {
+        return status >= 200 && status <= 299;
+    }
+
+    public double throughputMbPerSec() {
+        return elapsedNanos == 0 ? 0 : (bytesSent / (1024.0 * 1024.0)) / (elapsedNanos / 1_000_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d %s, %d parts, %.1f MB in %.2f s (%.1f MB/s)",
+            status, ok() ? "OK" : "FAILED", parts, bytesSent / (1024.0 * 1024.0), elapsedNanos / 1_000_000_000.0, throughputMbPerSec());
+    }
+}
@@ -0,0 +1,27 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.video;
+
+/**
+ * Selected with -Dpw.video.policy=off|on|retain-on-failure|sampled.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public enum VideoPolicy {
+
+    /* Contexts are created without recordVideoDir, so nothing is encoded. */
+    OFF,
+
+    /* Every test is recorded and every video is kept. */
+    ON,
+
+    /* Every test is recorded, videos of passing tests are deleted as soon as the context is closed. */
+    RETAIN_ON_FAILURE,
+
+    /* Only a sample of the tests (-Dpw.video.sampleRate) is recorded at all, the recorded videos are kept. */
+    SAMPLED
+}
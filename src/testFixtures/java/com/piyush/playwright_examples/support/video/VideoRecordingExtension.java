@@ -0,0 +1,186 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.video;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.piyush.playwright_examples.support.SuiteProperties;
+import com.piyush.playwright_examples.support.TestNames;
+import com.piyush.playwright_examples.support.artifacts.ArtifactService;
+import com.piyush.playwright_examples.support.artifacts.ArtifactType;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Applies the {@link VideoPolicy} to the browser contexts created through {@link #newContext(Browser, Browser.NewContextOptions)}.
+ *
+ * Video file is finalized by Playwright only when its context is closed, and the test result is known only once the test
+ * method is done. Whatever comes last (context close or the end of test) decides the fate of the videos : failure videos
+ * are handed over to {@link ArtifactService} (build/artifacts/videos) and linked in the test report, passing ones are deleted.
+ *
+ * Usage :
+ * <pre>
+ *     {@literal @}RegisterExtension
+ *     static final VideoRecordingExtension VIDEOS = VideoRecordingExtension.fromSystemProperties();
+ *
+ *     BrowserContext browserContext = VIDEOS.newContext(browser, new Browser.NewContextOptions().setRecordVideoSize(640, 480));
+ * </pre>
+ *
+ * A per class summary of recorded/kept/discarded videos and their size is printed after all the tests of the class.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class VideoRecordingExtension implements BeforeEachCallback, AfterTestExecutionCallback, AfterAllCallback {
+
+    private final VideoPolicy policy;
+    private final double sampleRate;
+
+    private volatile boolean recordCurrentTest;
+    private volatile String currentOwner = "unknown";
+    private final List<Recording> currentRecordings = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong recordedContexts = new AtomicLong();
+    private final AtomicLong keptVideos = new AtomicLong();
+    private final AtomicLong keptBytes = new AtomicLong();
+    private final AtomicLong discardedVideos = new AtomicLong();
+    private final AtomicLong discardedBytes = new AtomicLong();
+
+    private static final class Recording {
+
+        private final String owner;
+        private final List<Path> videos = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private volatile Boolean keep;
+        private volatile boolean closed;
+
+        private Recording(String owner) {
+            this.owner = owner;
+        }
+    }
+
+    public VideoRecordingExtension(VideoPolicy policy, double sampleRate) {
+        this.policy = policy;
+        this.sampleRate = sampleRate;
+    }
+
+    /* -Dpw.video.policy (default retain-on-failure) and -Dpw.video.sampleRate (0.0 - 1.0, default 0.1, used by SAMPLED only) */
+    public static VideoRecordingExtension fromSystemProperties() {
+        return new VideoRecordingExtension(
+            SuiteProperties.enumValue("pw.video.policy", VideoPolicy.class, VideoPolicy.RETAIN_ON_FAILURE),
+            SuiteProperties.decimal("pw.video.sampleRate", 0.1)
+        );
+    }
+
+    /**
+     * Creates the context with video recording switched on only if the policy wants the current test recorded.
+     * The given options should not set recordVideoDir, it is managed here.
+     */
+    public BrowserContext newContext(Browser browser, Browser.NewContextOptions options) {
+
+        if (!recordCurrentTest) {
+            return browser.newContext(options);
+        }
+
+        BrowserContext browserContext = browser.newContext(options
+            .setRecordVideoDir(ArtifactService.getInstance().stagingFile("videos")));
+
+        Recording recording = new Recording(currentOwner);
+        currentRecordings.add(recording);
+        recordedContexts.incrementAndGet();
+
+        browserContext.onPage(page -> {
+            if (page.video() != null) {
+                recording.videos.add(page.video().path());
+            }
+        });
+        browserContext.onClose(closedContext -> {
+            recording.closed = true;
+            finish(recording);
+        });
+
+        return browserContext;
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+
+        currentOwner = TestNames.slug(context);
+        recordCurrentTest = switch (policy) {
+            case OFF -> false;
+            case ON, RETAIN_ON_FAILURE -> true;
+            case SAMPLED -> ThreadLocalRandom.current().nextDouble() < sampleRate;
+        };
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+
+        boolean keep = context.getExecutionException().isPresent() || policy != VideoPolicy.RETAIN_ON_FAILURE;
+
+        for (Recording recording : currentRecordings) {
+            recording.keep = keep;
+
+            if (keep) {
+                for (int i = 0; i < recording.videos.size(); i++) {
+                    Path target = ArtifactService.getInstance().directory(ArtifactType.VIDEO).resolve(videoFileName(recording, i));
+                    context.publishReportEntry("video", target.toAbsolutePath().toString());
+                }
+            }
+            finish(recording); // contexts which are already closed (i.e. by the test itself) are handled right here.
+        }
+        currentRecordings.clear();
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        System.out.println("Videos [" + policy + "] : " + stats());
+    }
+
+    public VideoStats stats() {
+        return new VideoStats(recordedContexts.get(), keptVideos.get(), keptBytes.get(), discardedVideos.get(), discardedBytes.get());
+    }
+
+    private void finish(Recording recording) {
+
+        if (!recording.closed || recording.keep == null || !recording.finished.compareAndSet(false, true)) {
+            return;
+        }
+
+        for (int i = 0; i < recording.videos.size(); i++) {
+            Path video = recording.videos.get(i);
+            try {
+                long size = Files.exists(video) ? Files.size(video) : 0;
+
+                if (recording.keep) {
+                    keptVideos.incrementAndGet();
+                    keptBytes.addAndGet(size);
+                    ArtifactService.getInstance().submit(ArtifactType.VIDEO, recording.owner, video, videoFileName(recording, i), false);
+                } else {
+                    discardedVideos.incrementAndGet();
+                    discardedBytes.addAndGet(size);
+                    Files.deleteIfExists(video);
+                }
+            } catch (IOException e) {
+                System.err.println("Could not handle video " + video + " : " + e);
+            }
+        }
+    }
+
+    private static String videoFileName(Recording recording, int index) {
+        return recording.owner + (index == 0 ? "" : "-" + index) + ".webm";
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.video;
+
+/**
+ * Counters of a {@link VideoRecordingExtension}. Written bytes are the kept plus the discarded ones, i.e. what the encoder
+ * produced whatever the policy decided afterwards.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public record VideoStats(long recordedContexts, long keptVideos, long keptBytes, long discardedVideos, long discardedBytes) {
+
+    public long writtenBytes() {
+        return keptBytes + discardedBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d recorded contexts, kept %d (%.2f MB), discarded %d (%.2f MB)",
+            recordedContexts, keptVideos, keptBytes / (1024.0 * 1024.0), discardedVideos, discardedBytes / (1024.0 * 1024.0));
+    }
+}
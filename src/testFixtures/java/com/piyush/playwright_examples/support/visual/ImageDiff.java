@@ -0,0 +1,361 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.visual;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import javax.imageio.ImageIO;
+
+/**
+ * Compares two PNG screenshots, cheapest checks first :
+ * 1. identical bytes, nothing is decoded.
+ * 2. different size.
+ * 3. perceptual hash ({@link PerceptualHash}) too far apart, the pixel diff is skipped.
+ * 4. pixel diff, the image is split into 256x256 tiles which are diffed in parallel on a fork-join pool. Rows of a tile
+ *    which are identical are skipped with Arrays.mismatch(..), which the JIT turns into vectorized (SIMD) comparisons,
+ *    so only the rows which really differ are compared pixel by pixel.
+ *
+ * Pixels are compared by their YIQ colour distance (same as pixelmatch) against {@link VisualOptions#threshold}. A different
+ * pixel is counted as anti-aliasing with the detection of pixelmatch (Vysniauskas, "Anti-aliased pixel and intensity slope
+ * detector") : in either image the pixel lies between its darkest and brightest neighbours, and one of these neighbours sits
+ * in a flat area (3+ identical siblings) in both images, i.e. it is the blended edge of a shape which did not move. A shape
+ * moved by a pixel leaves flat areas which are not the same in both images, so it is reported as different.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class ImageDiff {
+
+    private static final int TILE_SIZE = 256;
+    private static final double MAX_YIQ_DELTA = 35215;
+
+    private static final int DIFF_COLOUR = 0xFFFF0000;
+    private static final int ANTI_ALIASED_COLOUR = 0xFFFFFF00;
+
+    public record Raster(int width, int height, int[] pixels) {
+    }
+
+    /* hashDistance / differentPixels are -1 when the comparison did not get that far. expected and actual are the decoded
+     * images (null when the bytes were identical), kept to render the diff image on mismatch. */
+    public record Result(boolean matches, String reason, int hashDistance, long differentPixels, long antiAliasedPixels,
+                         double diffPixelRatio, long elapsedNanos, Raster expected, Raster actual) {
+    }
+
+    private ImageDiff() {
+    }
+
+    public static Result compare(byte[] expectedPng, byte[] actualPng, VisualOptions options) {
+        return compare(expectedPng, actualPng, options, ForkJoinPool.commonPool());
+    }
+
+    public static Result compare(byte[] expectedPng, byte[] actualPng, VisualOptions options, ForkJoinPool pool) {
+
+        long start = System.nanoTime();
+        if (Arrays.equals(expectedPng, actualPng)) {
+            return new Result(true, "identical bytes", 0, 0, 0, 0, System.nanoTime() - start, null, null);
+        }
+
+        ForkJoinTask<Raster> expectedDecoding = pool.submit(() -> decode(expectedPng));
+        Raster actual = decode(actualPng);
+        Raster expected = expectedDecoding.join();
+
+        if (expected.width() != actual.width() || expected.height() != actual.height()) {
+            String reason = String.format("size differs, expected %dx%d but was %dx%d",
+                expected.width(), expected.height(), actual.width(), actual.height());
+            return new Result(false, reason, -1, -1, 0, 1, System.nanoTime() - start, expected, actual);
+        }
+
+        for (Rectangle region : options.maskedRegions) {
+            mask(expected, region);
+            mask(actual, region);
+        }
+
+        int hashDistance = PerceptualHash.distance(
+            PerceptualHash.of(expected.pixels(), expected.width(), expected.height()),
+            PerceptualHash.of(actual.pixels(), actual.width(), actual.height()));
+        if (hashDistance > options.maxHashDistance) {
+            String reason = String.format("perceptually different, hash distance %d > %d", hashDistance, options.maxHashDistance);
+            return new Result(false, reason, hashDistance, -1, 0, 1, System.nanoTime() - start, expected, actual);
+        }
+
+        long[] counts = pool.invoke(new TileTask(expected, actual, null, options, 0, tileCount(expected)));
+        double ratio = counts[0] / (double) expected.pixels().length;
+        boolean matches = ratio <= options.maxDiffPixelRatio;
+        String reason = String.format("%d different pixels (%.4f%%), %d anti-aliased", counts[0], ratio * 100, counts[1]);
+
+        return new Result(matches, reason, hashDistance, counts[0], counts[1], ratio, System.nanoTime() - start, expected, actual);
+    }
+
+    /* Faded expected image with the different pixels in red and the anti-aliased ones in yellow. */
+    public static BufferedImage renderDiff(Result result, VisualOptions options) {
+
+        Raster expected = result.expected();
+        Raster actual = result.actual();
+        if (expected.width() != actual.width() || expected.height() != actual.height()) {
+            BufferedImage image = new BufferedImage(actual.width(), actual.height(), BufferedImage.TYPE_INT_ARGB);
+            image.setRGB(0, 0, actual.width(), actual.height(), actual.pixels(), 0, actual.width());
+            return image;
+        }
+
+        int[] output = new int[expected.pixels().length];
+        ForkJoinPool.commonPool().invoke(new TileTask(expected, actual, output, options, 0, tileCount(expected)));
+
+        BufferedImage image = new BufferedImage(expected.width(), expected.height(), BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, expected.width(), expected.height(), output, 0, expected.width());
+        return image;
+    }
+
+    public static Raster decode(byte[] png) {
+
+        BufferedImage image;
+        try {
+            image = ImageIO.read(new ByteArrayInputStream(png));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (image == null) {
+            throw new IllegalArgumentException("Not an image");
+        }
+        return toRaster(image);
+    }
+
+    /* Reads the decoder's own buffers for the usual PNG layouts, BufferedImage.getRGB(..) converts pixel by pixel otherwise. */
+    public static Raster toRaster(BufferedImage image) {
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int[] pixels = new int[width * height];
+
+        switch (image.getType()) {
+            case BufferedImage.TYPE_3BYTE_BGR -> {
+                byte[] data = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+                for (int i = 0, j = 0; i < pixels.length; i++, j += 3) {
+                    pixels[i] = 0xFF000000 | (data[j + 2] & 0xFF) << 16 | (data[j + 1] & 0xFF) << 8 | (data[j] & 0xFF);
+                }
+            }
+            case BufferedImage.TYPE_4BYTE_ABGR -> {
+                byte[] data = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+                for (int i = 0, j = 0; i < pixels.length; i++, j += 4) {
+                    pixels[i] = (data[j] & 0xFF) << 24 | (data[j + 3] & 0xFF) << 16 | (data[j + 2] & 0xFF) << 8 | (data[j + 1] & 0xFF);
+                }
+            }
+            case BufferedImage.TYPE_INT_ARGB -> System.arraycopy(((DataBufferInt) image.getRaster().getDataBuffer()).getData(), 0, pixels, 0, pixels.length);
+            default -> image.getRGB(0, 0, width, height, pixels, 0, width);
+        }
+        return new Raster(width, height, pixels);
+    }
+
+    private static void mask(Raster raster, Rectangle region) {
+        Rectangle clipped = region.intersection(new Rectangle(0, 0, raster.width(), raster.height()));
+        if (clipped.isEmpty()) { // entirely outside of the image, intersection(..) then has a negative width or height.
+            return;
+        }
+        for (int y = clipped.y; y < clipped.y + clipped.height; y++) {
+            int rowStart = y * raster.width();
+            Arrays.fill(raster.pixels(), rowStart + clipped.x, rowStart + clipped.x + clipped.width, 0);
+        }
+    }
+
+    private static int tileCount(Raster raster) {
+        return tilesPerRow(raster) * ((raster.height() + TILE_SIZE - 1) / TILE_SIZE);
+    }
+
+    private static int tilesPerRow(Raster raster) {
+        return (raster.width() + TILE_SIZE - 1) / TILE_SIZE;
+    }
+
+    /* Returns {different pixels, anti-aliased pixels} of the tiles [fromTile, toTile), splitting until a single tile is left. */
+    private static final class TileTask extends RecursiveTask<long[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Raster expected;
+        private final Raster actual;
+        private final int[] output;
+        private final VisualOptions options;
+        private final int fromTile;
+        private final int toTile;
+
+        private TileTask(Raster expected, Raster actual, int[] output, VisualOptions options, int fromTile, int toTile) {
+            this.expected = expected;
+            this.actual = actual;
+            this.output = output;
+            this.options = options;
+            this.fromTile = fromTile;
+            this.toTile = toTile;
+        }
+
+        @Override
+        protected long[] compute() {
+
+            if (toTile - fromTile > 1) {
+                int middle = (fromTile + toTile) >>> 1;
+                TileTask left = new TileTask(expected, actual, output, options, fromTile, middle);
+                left.fork();
+                long[] right = new TileTask(expected, actual, output, options, middle, toTile).compute();
+                long[] leftCounts = left.join();
+                return new long[]{leftCounts[0] + right[0], leftCounts[1] + right[1]};
+            }
+            return diffTile(fromTile);
+        }
+
+        private long[] diffTile(int tile) {
+
+            int width = expected.width();
+            int x0 = (tile % tilesPerRow(expected)) * TILE_SIZE;
+            int y0 = (tile / tilesPerRow(expected)) * TILE_SIZE;
+            int x1 = Math.min(x0 + TILE_SIZE, width);
+            int y1 = Math.min(y0 + TILE_SIZE, expected.height());
+
+            int[] expectedPixels = expected.pixels();
+            int[] actualPixels = actual.pixels();
+            double maxDelta = MAX_YIQ_DELTA * options.threshold * options.threshold;
+
+            long different = 0;
+            long antiAliased = 0;
+            for (int y = y0; y < y1; y++) {
+
+                int from = y * width + x0;
+                int to = y * width + x1;
+                int mismatch = Arrays.mismatch(expectedPixels, from, to, actualPixels, from, to);
+                if (mismatch < 0 && output == null) {
+                    continue;
+                }
+
+                int firstDifferent = mismatch < 0 ? to : from + mismatch;
+                if (output != null) {
+                    for (int i = from; i < firstDifferent; i++) {
+                        output[i] = faded(expectedPixels[i]);
+                    }
+                }
+
+                for (int i = firstDifferent; i < to; i++) {
+                    int expectedPixel = expectedPixels[i];
+                    int actualPixel = actualPixels[i];
+
+                    if (expectedPixel == actualPixel || delta(expectedPixel, actualPixel) <= maxDelta) {
+                        if (output != null) {
+                            output[i] = faded(expectedPixel);
+                        }
+                    } else if (options.ignoreAntiAliasing
+                        && (isAntiAliased(expected, actual, i - y * width, y) || isAntiAliased(actual, expected, i - y * width, y))) {
+                        antiAliased++;
+                        if (output != null) {
+                            output[i] = ANTI_ALIASED_COLOUR;
+                        }
+                    } else {
+                        different++;
+                        if (output != null) {
+                            output[i] = DIFF_COLOUR;
+                        }
+                    }
+                }
+            }
+            return new long[]{different, antiAliased};
+        }
+    }
+
+    /*
+     * Anti-aliasing check of pixelmatch : the pixel (x, y) of image is anti-aliased when it has both darker and brighter
+     * neighbours, no more than 2 neighbours of its own brightness, and its darkest or brightest neighbour has 3+ identical
+     * siblings in both images.
+     */
+    static boolean isAntiAliased(Raster image, Raster other, int x, int y) {
+
+        int x0 = Math.max(x - 1, 0), y0 = Math.max(y - 1, 0);
+        int x2 = Math.min(x + 1, image.width() - 1), y2 = Math.min(y + 1, image.height() - 1);
+        double brightness = brightness(image.pixels()[y * image.width() + x]);
+
+        int zeroes = x == x0 || x == x2 || y == y0 || y == y2 ? 1 : 0;
+        double min = 0, max = 0;
+        int minX = 0, minY = 0, maxX = 0, maxY = 0;
+        for (int nx = x0; nx <= x2; nx++) {
+            for (int ny = y0; ny <= y2; ny++) {
+                if (nx == x && ny == y) {
+                    continue;
+                }
+                double delta = brightness(image.pixels()[ny * image.width() + nx]) - brightness;
+                if (delta == 0) {
+                    if (++zeroes > 2) {
+                        return false;
+                    }
+                } else if (delta < min) {
+                    min = delta;
+                    minX = nx;
+                    minY = ny;
+                } else if (delta > max) {
+                    max = delta;
+                    maxX = nx;
+                    maxY = ny;
+                }
+            }
+        }
+        if (min == 0 || max == 0) {
+            return false;
+        }
+        return (hasManySiblings(image, minX, minY) && hasManySiblings(other, minX, minY))
+            || (hasManySiblings(image, maxX, maxY) && hasManySiblings(other, maxX, maxY));
+    }
+
+    /* True when the pixel has 3+ neighbours of exactly its colour (image borders count as one), i.e. it is in a flat area. */
+    private static boolean hasManySiblings(Raster image, int x, int y) {
+
+        int x0 = Math.max(x - 1, 0), y0 = Math.max(y - 1, 0);
+        int x2 = Math.min(x + 1, image.width() - 1), y2 = Math.min(y + 1, image.height() - 1);
+        int pixel = image.pixels()[y * image.width() + x];
+
+        int zeroes = x == x0 || x == x2 || y == y0 || y == y2 ? 1 : 0;
+        for (int nx = x0; nx <= x2; nx++) {
+            for (int ny = y0; ny <= y2; ny++) {
+                if ((nx != x || ny != y) && image.pixels()[ny * image.width() + nx] == pixel && ++zeroes > 2) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /* Y of YIQ, the pixel blended over white first as pixelmatch does for transparent pixels. */
+    private static double brightness(int pixel) {
+        double alpha = ((pixel >>> 24) & 0xFF) / 255.0;
+        double r = 255 + (((pixel >> 16) & 0xFF) - 255) * alpha;
+        double g = 255 + (((pixel >> 8) & 0xFF) - 255) * alpha;
+        double b = 255 + ((pixel & 0xFF) - 255) * alpha;
+        return r * 0.29889531 + g * 0.58662247 + b * 0.11448223;
+    }
+
+    /* Squared YIQ distance, see "Measuring perceived color difference using YIQ NTSC transmission color space" (Kotsarenko, Ramos). */
+    static double delta(int first, int second) {
+
+        if (first == second) {
+            return 0;
+        }
+
+        int r1 = (first >> 16) & 0xFF, g1 = (first >> 8) & 0xFF, b1 = first & 0xFF;
+        int r2 = (second >> 16) & 0xFF, g2 = (second >> 8) & 0xFF, b2 = second & 0xFF;
+
+        double y = (r1 - r2) * 0.29889531 + (g1 - g2) * 0.58662247 + (b1 - b2) * 0.11448223;
+        double i = (r1 - r2) * 0.59597799 - (g1 - g2) * 0.27417610 - (b1 - b2) * 0.32180189;
+        double q = (r1 - r2) * 0.21147017 - (g1 - g2) * 0.52261711 + (b1 - b2) * 0.31114694;
+
+        return 0.5053 * y * y + 0.299 * i * i + 0.1957 * q * q;
+    }
+
+    private static int faded(int pixel) {
+        double luminance = ((pixel >> 16) & 0xFF) * 0.29889531 + ((pixel >> 8) & 0xFF) * 0.58662247 + (pixel & 0xFF) * 0.11448223;
+        int grey = (int) (255 + (luminance - 255) * 0.1);
+        return 0xFF000000 | grey << 16 | grey << 8 | grey;
+    }
+}
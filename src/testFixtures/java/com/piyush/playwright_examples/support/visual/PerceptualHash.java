@@ -0,0 +1,112 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.visual;
+
+import java.util.Arrays;
+
+/**
+ * 64 bit DCT based perceptual hash (pHash). The image is averaged down to 32x32 luminance, the low 8x8 frequencies of
+ * its DCT are taken and each bit says whether that frequency is above the median. Screenshots which look alike have a small
+ * hamming distance between their hashes, completely different pages end up far apart (usually > 20 of 64 bits).
+ *
+ * Used as a cheap prefilter by {@link ImageDiff}, it reads every pixel once and the DCT itself is on 32x32 values only.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class PerceptualHash {
+
+    private static final int SIZE = 32;
+    private static final int LOW_FREQUENCIES = 8;
+    private static final double[][] COSINES = new double[SIZE][SIZE];
+
+    static {
+        for (int frequency = 0; frequency < SIZE; frequency++) {
+            for (int position = 0; position < SIZE; position++) {
+                COSINES[frequency][position] = Math.cos((2 * position + 1) * frequency * Math.PI / (2.0 * SIZE));
+            }
+        }
+    }
+
+    private PerceptualHash() {
+    }
+
+    /* pixels are ARGB, row by row. */
+    public static long of(int[] pixels, int width, int height) {
+
+        double[][] luminance = downscale(pixels, width, height);
+
+        double[][] rowsTransformed = new double[SIZE][LOW_FREQUENCIES];
+        for (int y = 0; y < SIZE; y++) {
+            for (int u = 0; u < LOW_FREQUENCIES; u++) {
+                double sum = 0;
+                for (int x = 0; x < SIZE; x++) {
+                    sum += luminance[y][x] * COSINES[u][x];
+                }
+                rowsTransformed[y][u] = sum;
+            }
+        }
+
+        double[] coefficients = new double[LOW_FREQUENCIES * LOW_FREQUENCIES];
+        for (int v = 0; v < LOW_FREQUENCIES; v++) {
+            for (int u = 0; u < LOW_FREQUENCIES; u++) {
+                double sum = 0;
+                for (int y = 0; y < SIZE; y++) {
+                    sum += rowsTransformed[y][u] * COSINES[v][y];
+                }
+                coefficients[v * LOW_FREQUENCIES + u] = sum;
+            }
+        }
+
+        /* DC term (the average brightness) is left out of the median, it says nothing about the structure. */
+        double[] acTerms = new double[coefficients.length - 1];
+        System.arraycopy(coefficients, 1, acTerms, 0, acTerms.length);
+        Arrays.sort(acTerms);
+        double median = (acTerms[acTerms.length / 2 - 1] + acTerms[acTerms.length / 2]) / 2;
+
+        long hash = 0;
+        for (int i = 0; i < coefficients.length; i++) {
+            if (coefficients[i] > median) {
+                hash |= 1L << i;
+            }
+        }
+        return hash;
+    }
+
+    public static int distance(long first, long second) {
+        return Long.bitCount(first ^ second);
+    }
+
+    /* Box average of every source pixel into a 32x32 grid, so no pixel is skipped like with nearest neighbour sampling. */
+    private static double[][] downscale(int[] pixels, int width, int height) {
+
+        double[][] sums = new double[SIZE][SIZE];
+        int[][] counts = new int[SIZE][SIZE];
+
+        int[] cellXs = new int[width];
+        for (int x = 0; x < width; x++) {
+            cellXs[x] = (int) ((long) x * SIZE / width);
+        }
+
+        for (int y = 0; y < height; y++) {
+            int cellY = (int) ((long) y * SIZE / height);
+            int rowStart = y * width;
+            for (int x = 0; x < width; x++) {
+                int cellX = cellXs[x];
+                int pixel = pixels[rowStart + x];
+                sums[cellY][cellX] += 0.299 * ((pixel >> 16) & 0xFF) + 0.587 * ((pixel >> 8) & 0xFF) + 0.114 * (pixel & 0xFF);
+                counts[cellY][cellX]++;
+            }
+        }
+
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                sums[y][x] = counts[y][x] == 0 ? 0 : sums[y][x] / counts[y][x];
+            }
+        }
+        return sums;
+    }
+}
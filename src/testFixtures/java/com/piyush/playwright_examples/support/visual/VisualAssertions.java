@@ -0,0 +1,111 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.visual;
+
+import com.microsoft.playwright.Locator;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.ScreenshotAnimations;
+import com.microsoft.playwright.options.ScreenshotCaret;
+import com.piyush.playwright_examples.support.SuiteProperties;
+import com.piyush.playwright_examples.support.TestNames;
+import com.piyush.playwright_examples.support.artifacts.ArtifactService;
+import com.piyush.playwright_examples.support.artifacts.ArtifactType;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import javax.imageio.ImageIO;
+
+/**
+ * Screenshot assertions against baseline PNGs kept in src/uiTest/resources/visual-baselines (-Dpw.visual.baselineDir).
+ * Screenshots are taken in memory, nothing is written for a passing comparison. On mismatch the actual screenshot and the
+ * diff image are handed over to {@link ArtifactService} (build/artifacts/screenshots) and the assertion fails.
+ *
+ * A missing baseline fails the assertion (a fresh checkout or CI would otherwise compare nothing), the actual screenshot is
+ * saved with the artifacts. Baselines are only written with -Dpw.visual.update=true, which records all the ones touched by the
+ * run : review and commit them.
+ *
+ * <pre>
+ *     VisualAssertions.assertMatchesBaseline(page, "home-page");
+ *     VisualAssertions.assertMatchesBaseline(page.locator(".card").first(), "product-card", new VisualOptions().setMaxDiffPixelRatio(0.001));
+ * </pre>
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public final class VisualAssertions {
+
+    private VisualAssertions() {
+    }
+
+    public static void assertMatchesBaseline(Page page, String name) {
+        assertMatchesBaseline(page, name, new VisualOptions());
+    }
+
+    public static void assertMatchesBaseline(Page page, String name, VisualOptions options) {
+        byte[] screenshot = page.screenshot(new Page.ScreenshotOptions()
+            .setFullPage(true)
+            .setAnimations(ScreenshotAnimations.DISABLED)
+            .setCaret(ScreenshotCaret.HIDE)
+            .setMask(options.mask));
+        assertMatchesBaseline(screenshot, name, options);
+    }
+
+    public static void assertMatchesBaseline(Locator locator, String name) {
+        assertMatchesBaseline(locator, name, new VisualOptions());
+    }
+
+    public static void assertMatchesBaseline(Locator locator, String name, VisualOptions options) {
+        byte[] screenshot = locator.screenshot(new Locator.ScreenshotOptions()
+            .setAnimations(ScreenshotAnimations.DISABLED)
+            .setCaret(ScreenshotCaret.HIDE)
+            .setMask(options.mask));
+        assertMatchesBaseline(screenshot, name, options);
+    }
+
+    public static void assertMatchesBaseline(byte[] png, String name, VisualOptions options) {
+
+        String fileName = TestNames.sanitize(name);
+        Path baseline = SuiteProperties.path("pw.visual.baselineDir", "src/uiTest/resources/visual-baselines").resolve(fileName + ".png");
+
+        try {
+            if (SuiteProperties.bool("pw.visual.update", false)) {
+                Files.createDirectories(baseline.toAbsolutePath().getParent());
+                Files.write(baseline, png);
+                System.out.println("Recorded visual baseline : " + baseline.toAbsolutePath());
+                return;
+            }
+            if (!Files.exists(baseline)) {
+                ArtifactService artifacts = ArtifactService.getInstance();
+                artifacts.saveScreenshot(fileName, png, fileName + "-actual.png");
+                throw new AssertionError(String.format("No baseline %s for screenshot '%s', see %s-actual.png in %s. Record it with"
+                    + " -Dpw.visual.update=true and commit it", baseline, name, fileName, artifacts.directory(ArtifactType.SCREENSHOT).toAbsolutePath()));
+            }
+
+            ImageDiff.Result result = ImageDiff.compare(Files.readAllBytes(baseline), png, options);
+            if (result.matches()) {
+                return;
+            }
+
+            ArtifactService artifacts = ArtifactService.getInstance();
+            artifacts.saveScreenshot(fileName, png, fileName + "-actual.png");
+            artifacts.saveScreenshot(fileName, encode(result, options), fileName + "-diff.png");
+
+            throw new AssertionError(String.format("Screenshot '%s' does not match %s : %s. See %s-actual.png and %s-diff.png in %s",
+                name, baseline, result.reason(), fileName, fileName, artifacts.directory(ArtifactType.SCREENSHOT).toAbsolutePath()));
+
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] encode(ImageDiff.Result result, VisualOptions options) throws IOException {
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(ImageDiff.renderDiff(result, options), "png", png);
+        return png.toByteArray();
+    }
+}
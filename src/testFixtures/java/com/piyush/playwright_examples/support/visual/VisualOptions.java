@@ -0,0 +1,72 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.support.visual;
+
+import com.microsoft.playwright.Locator;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tolerances of a visual comparison, set in the same chained style as the Playwright options classes :
+ * <pre>
+ *     new VisualOptions().setMaxDiffPixelRatio(0.001).setMask(page.locator(".clock")).addMaskedRegion(new Rectangle(0, 0, 1920, 80))
+ * </pre>
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class VisualOptions {
+
+    /* Per pixel colour difference (0 - 1, YIQ distance like pixelmatch) below which two pixels are considered same. */
+    public double threshold = 0.1;
+
+    /* Fraction of the pixels which may differ and the comparison still passes. */
+    public double maxDiffPixelRatio = 0.0;
+
+    /* Pixels which differ only because of anti-aliasing (detected like pixelmatch, on an edge of either image) are not counted. */
+    public boolean ignoreAntiAliasing = true;
+
+    /* Hashes farther apart than this (of 64 bits) are reported as a mismatch straight away, without the pixel diff. Kept loose,
+     * a single changed card on a mostly white page already moves the hash by ~18 bits while a different page is above 30. */
+    public int maxHashDistance = 26;
+
+    /* Regions (in screenshot coordinates) ignored by the comparison. */
+    public List<Rectangle> maskedRegions = new ArrayList<>();
+
+    /* Elements painted over by Playwright itself while taking the screenshot. */
+    public List<Locator> mask = new ArrayList<>();
+
+    public VisualOptions setThreshold(double threshold) {
+        this.threshold = threshold;
+        return this;
+    }
+
+    public VisualOptions setMaxDiffPixelRatio(double maxDiffPixelRatio) {
+        this.maxDiffPixelRatio = maxDiffPixelRatio;
+        return this;
+    }
+
+    public VisualOptions setIgnoreAntiAliasing(boolean ignoreAntiAliasing) {
+        this.ignoreAntiAliasing = ignoreAntiAliasing;
+        return this;
+    }
+
+    public VisualOptions setMaxHashDistance(int maxHashDistance) {
+        this.maxHashDistance = maxHashDistance;
+        return this;
+    }
+
+    public VisualOptions addMaskedRegion(Rectangle region) {
+        this.maskedRegions.add(region);
+        return this;
+    }
+
+    public VisualOptions setMask(Locator... locators) {
+        this.mask = new ArrayList<>(List.of(locators));
+        return this;
+    }
+}
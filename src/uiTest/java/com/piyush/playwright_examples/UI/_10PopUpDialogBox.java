@@ -5,10 +5,17 @@
 
 package com.piyush.playwright_examples.UI;
 
+import static org.assertj.core.api.Assertions.assertThat;
+
 import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Playwright;
+import com.piyush.playwright_examples.support.dialogs.DialogPolicy;
+import com.piyush.playwright_examples.support.dialogs.DialogResponder;
+import com.piyush.playwright_examples.support.dialogs.DialogType;
+import com.piyush.playwright_examples.support.launch.LaunchProfile;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -28,7 +35,7 @@ public class _10PopUpDialogBox {
     public void testHandlePopUpDefaultBehaviour() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://the-internet.herokuapp.com/javascript_alerts");
@@ -53,7 +60,7 @@ public class _10PopUpDialogBox {
     public void testHandlePopUpWithSpecificBehaviour() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.onDialog(dialog -> {
@@ -82,4 +89,45 @@ public class _10PopUpDialogBox {
         browser.close();
         playwright.close();
     }
+
+    /*
+     * Rules for the whole context, compiled once. Matching alert/confirm/prompt are answered inside the page, without a
+     * dialog and a round trip to the test, popups included and nothing to register per page.
+     */
+    @Test
+    public void testHandlePopUpsWithContextWidePolicy() {
+
+        Playwright playwright = Playwright.create();
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
+        BrowserContext browserContext = browser.newContext();
+
+        DialogResponder dialogs = DialogResponder.install(browserContext, DialogPolicy.builder()
+            .on(DialogType.CONFIRM).accept()
+            .on(DialogType.PROMPT).respond("Hello! This is Piyush")
+            .on(DialogType.ALERT).accept()
+            .build());
+
+        Page page = browserContext.newPage();
+        page.navigate("https://the-internet.herokuapp.com/javascript_alerts");
+
+        page.click("button:has-text('Click for JS Alert')");
+        System.out.println("alertTxt : " + page.locator("#result").textContent());
+
+        page.click("button:has-text('Click for JS Confirm')");
+        String confirmTxt = page.locator("#result").textContent();
+        System.out.println("confirmTxt : " + confirmTxt);
+
+        page.click("button:has-text('Click for JS Prompt')");
+        String promptTxt = page.locator("#result").textContent();
+        System.out.println("promptTxt : " + promptTxt);
+
+        System.out.println(dialogs.stats());
+
+        assertThat(confirmTxt).isEqualTo("You clicked: Ok");
+        assertThat(promptTxt).isEqualTo("You entered: Hello! This is Piyush");
+        assertThat(dialogs.stats().handled()).isEqualTo(3);
+
+        browser.close();
+        playwright.close();
+    }
 }
@@ -10,6 +10,7 @@ import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Playwright;
+import com.piyush.playwright_examples.support.launch.LaunchProfile;
 import java.awt.Dimension;
 import java.awt.Toolkit;
 import org.junit.jupiter.api.Test;
@@ -37,7 +38,7 @@ public class _11MaximizeWindow {
         System.out.println("Height is : " + height);
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
 
         /* We can also refer this site to find our window size : https://whatismyviewport.com/ */
         BrowserContext browserContext = browser.newContext(new Browser.NewContextOptions().setViewportSize(width, height));
@@ -0,0 +1,60 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.UI;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.piyush.playwright_examples.support.launch.LaunchProfile;
+import com.piyush.playwright_examples.support.video.VideoRecordingExtension;
+import java.nio.file.Paths;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+/**
+ * Video recording costs CPU (encoding) and disk for every run. With VIDEOS extension it is driven by -Dpw.video.policy :
+ * off - nothing is recorded, on - everything is recorded and kept, retain-on-failure (default) - everything is recorded but
+ * videos of passing tests are deleted as soon as the context is closed, sampled - only -Dpw.video.sampleRate of the tests are recorded.
+ * Kept videos are written to build/artifacts/videos and linked in the test report.
+ *
+ * @author Piyush Kumar.
+ * @since 27/12/24.
+ */
+public class _12RecordVideo {
+
+    @RegisterExtension
+    static final VideoRecordingExtension VIDEOS = VideoRecordingExtension.fromSystemProperties();
+
+    @Test
+    public void testRecordVideoOfOperationPerformed(){
+
+        Playwright playwright = Playwright.create();
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
+
+//        BrowserContext browserContext = browser.newContext(
+//            new Browser.NewContextOptions()
+//                .setRecordVideoDir(Paths.get("test-execution-videos/"))
+//                .setRecordVideoSize(640, 480)
+//        ); // this records and keeps the video of every run.
+
+        BrowserContext browserContext = VIDEOS.newContext(browser, new Browser.NewContextOptions().setRecordVideoSize(640, 480));
+
+        Page page = browserContext.newPage();
+
+        page.navigate("https://academy.naveenautomationlabs.com/");
+
+        page.locator("a:has-text('Login')").click();
+
+        page.waitForTimeout(2000);
+
+        browserContext.close(); // video is completely written only once the context is closed.
+
+        browser.close();
+        playwright.close();
+    }
+}
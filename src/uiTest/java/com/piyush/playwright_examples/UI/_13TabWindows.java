@@ -0,0 +1,122 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.UI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.piyush.playwright_examples.support.launch.LaunchProfile;
+import com.piyush.playwright_examples.support.tabs.TabOrchestrator;
+import com.piyush.playwright_examples.support.tabs.TabState;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Piyush Kumar.
+ * @since 27/12/24.
+ */
+public class _13TabWindows {
+
+    @Test
+    public void testOpenPageInTab(){
+
+        Playwright playwright = Playwright.create();
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
+
+        BrowserContext browserContext = browser.newContext();
+        Page page = browserContext.newPage();
+
+        page.navigate("https://www.orangehrm.com/");
+
+        TabOrchestrator tabs = TabOrchestrator.attach(browserContext);
+
+        Page popup = tabs.open(1, () -> {
+            page.click("img[alt='linkedin logo']");
+        }).get(0);
+
+        /*
+         * Linkedin redirects on its own once loaded (i.e. to its auth wall), so title() right after DOMCONTENTLOADED used
+         * to fail with "Execution context was destroyed". SETTLED waits for the last of those navigations to be loaded.
+         */
+        tabs.awaitAll(List.of(popup), TabState.SETTLED, Duration.ofSeconds(30));
+        System.out.println("Popup URL: " + popup.url() + " after " + tabs.tab(popup).navigations() + " navigations");
+        System.out.println("Pop up title : " + popup.title());
+
+        browser.close();
+        playwright.close();
+    }
+
+    @Test
+    public void testOpenBlankPageInTabAndThenNavigate(){
+
+        Playwright playwright = Playwright.create();
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
+
+        BrowserContext browserContext = browser.newContext();
+        Page page = browserContext.newPage();
+
+        page.navigate("https://www.orangehrm.com/");
+
+        Page popup = page.waitForPopup(() -> {
+            page.click("a[target='_blank']");
+        });
+
+        popup.waitForLoadState();
+        popup.navigate("https://www.google.com/");
+
+        System.out.println("Pop up title" + popup.title());
+        System.out.println("Parent page title" + page.title());
+
+        browser.close();
+        playwright.close();
+    }
+
+    @Test
+    public void testOpenSeveralTabsTogether(){
+
+        Playwright playwright = Playwright.create();
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
+
+        BrowserContext browserContext = browser.newContext();
+        Page page = browserContext.newPage();
+        TabOrchestrator tabs = TabOrchestrator.attach(browserContext);
+
+        page.navigate("https://www.orangehrm.com/");
+
+        /* Both popups are opened right away and load at the same time, there is one wait for all of them. */
+        List<Page> popups = tabs.open(2, () -> {
+            page.click("img[alt='linkedin logo']");
+            page.locator("a[target='_blank']").first().click();
+        });
+        tabs.awaitAll(popups, TabState.SETTLED, Duration.ofSeconds(30));
+
+        for (Page popup : popups) {
+            System.out.println("Pop up title : " + popup.title() + ", loaded in " + tabs.tab(popup).timeToLoad().toMillis() + " ms");
+        }
+
+        /* Same for work spread over tabs : all navigations start together and finish within one deadline. */
+        Map<Page, String> titles = tabs.navigateAll(
+            Map.of(
+                popups.get(0), "https://www.google.com/",
+                popups.get(1), "https://playwright.dev/java/"),
+            TabState.LOADED,
+            Page::title,
+            Duration.ofSeconds(30)
+        );
+        titles.forEach((tab, title) -> System.out.println(tab.url() + " : " + title));
+
+        assertThat(titles).hasSize(2).doesNotContainValue("");
+
+        browser.close();
+        playwright.close();
+    }
+}
@@ -13,6 +13,7 @@ import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Playwright;
 import com.microsoft.playwright.Route;
 import com.microsoft.playwright.options.AriaRole;
+import com.piyush.playwright_examples.support.launch.LaunchProfile;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -26,7 +27,7 @@ public class _14MockAPIsForUI {
     public void testWithoutMockAPIOfUIApp(){
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -47,7 +48,7 @@ public class _14MockAPIsForUI {
     public void testWithMockAPIOfUIApp(){
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.route("**/products/search?q=pliers", route -> { // Mocking the API here with single entry response
@@ -75,7 +76,7 @@ public class _14MockAPIsForUI {
     public void testWithMockAPIsOfUIAppWithEmptyResponse(){
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.route("**/products/search?q=pliers", route -> { // Mocking the API here with empty entry response
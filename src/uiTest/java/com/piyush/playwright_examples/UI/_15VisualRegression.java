@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.UI;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.piyush.playwright_examples.support.launch.LaunchProfile;
+import com.piyush.playwright_examples.support.visual.VisualAssertions;
+import com.piyush.playwright_examples.support.visual.VisualOptions;
+import java.awt.Rectangle;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Screenshot comparison against baselines, see {@link VisualAssertions}. Baselines live under
+ * src/uiTest/resources/visual-baselines, a missing one fails the test. Record them with : ./gradlew uiTest -Dpw.visual.update=true
+ *
+ * Screenshots never touch the disk unless they mismatch, then the actual screenshot and a diff image (different pixels in
+ * red, anti-aliasing in yellow) are written to build/artifacts/screenshots.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class _15VisualRegression {
+
+    private static final String PRODUCT_PAGE = """
+        <html>
+          <body style="font-family: sans-serif; margin: 0">
+            <header style="background: #212529; color: white; padding: 24px">Toolshop</header>
+            <div class="card" style="margin: 24px; padding: 16px; width: 280px; border: 1px solid #ccc">
+              <h5>Combination Pliers</h5>
+              <span class="price">$14.15</span>
+            </div>
+            <footer style="padding: 24px">Rendered at <span id="clock"></span></footer>
+            <script>document.getElementById('clock').textContent = new Date().toISOString();</script>
+          </body>
+        </html>
+        """;
+
+    @Test
+    public void testFullPageMatchesBaseline() {
+
+        Playwright playwright = Playwright.create();
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(true)));
+        BrowserContext browserContext = browser.newContext(new Browser.NewContextOptions().setViewportSize(1280, 720));
+        Page page = browserContext.newPage();
+
+        page.setContent(PRODUCT_PAGE);
+
+        /* Clock changes on every run, so Playwright paints over it while taking the screenshot. */
+        VisualAssertions.assertMatchesBaseline(page, "product-page", new VisualOptions().setMask(page.locator("#clock")));
+
+        browserContext.close();
+        browser.close();
+        playwright.close();
+    }
+
+    @Test
+    public void testElementMatchesBaselineWithMaskedRegion() {
+
+        Playwright playwright = Playwright.create();
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(true)));
+        Page page = browser.newPage();
+
+        page.setContent(PRODUCT_PAGE);
+
+        /* Price area of the card is ignored by the comparison (coordinates are relative to the element screenshot). */
+        VisualAssertions.assertMatchesBaseline(page.locator(".card"), "product-card", new VisualOptions()
+            .addMaskedRegion(new Rectangle(0, 60, 320, 40))
+            .setMaxDiffPixelRatio(0.001));
+
+        browser.close();
+        playwright.close();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.UI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Download;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import com.piyush.playwright_examples.support.SuiteProperties;
+import com.piyush.playwright_examples.support.downloads.DownloadReport;
+import com.piyush.playwright_examples.support.downloads.DownloadVerifier;
+import com.piyush.playwright_examples.support.fixtures.LargePayloadServer;
+import com.piyush.playwright_examples.support.launch.LaunchProfile;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Downloads are checked with {@link DownloadVerifier}, which reads download.createReadStream() once and gets the SHA-256,
+ * size, content type and zip listing in the same pass. No saveAs(..) copy is made unless asked for.
+ *
+ * Payloads come from {@link LargePayloadServer} running locally. Size of the binary download is -Dpw.download.sizeMb
+ * (default 8), the heap used by multi GB downloads is measured by LargeDownloadBenchmark rather than asserted here : the
+ * used heap includes garbage, so a bound on it depends on when the GC runs.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class _16StreamingDownloadVerification {
+
+    private static LargePayloadServer server;
+    private static Playwright playwright;
+    private static Browser browser;
+
+    @BeforeAll
+    public static void setUp() throws IOException {
+        server = LargePayloadServer.start();
+        playwright = Playwright.create();
+        browser = playwright.chromium().launch(LaunchProfile.options());
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        browser.close();
+        playwright.close();
+        server.close();
+    }
+
+    @Test
+    public void testBinaryDownloadIsHashedInOnePass() {
+
+        long size = SuiteProperties.integer("pw.download.sizeMb", 8) * 1024L * 1024L;
+
+        Page page = browser.newPage();
+        page.navigate(server.downloadPageUrl("/bytes?size=" + size));
+
+        Download download = page.waitForDownload(() -> page.click("#download"));
+        DownloadReport report = DownloadVerifier.verify(download);
+        System.out.println(report);
+
+        assertThat(report.size()).isEqualTo(size);
+        assertThat(report.sha256()).isEqualTo(LargePayloadServer.sha256OfBytes(size));
+        assertThat(report.persistedTo()).isNull();
+
+        page.context().close();
+    }
+
+    @Test
+    public void testZipDownloadIsListedAndPersistedOnlyWhenAsked() throws IOException {
+
+        Page page = browser.newPage();
+        page.navigate(server.downloadPageUrl("/zip?entries=20&entrySize=1048576"));
+
+        Download download = page.waitForDownload(() -> page.click("#download"));
+        DownloadReport report = DownloadVerifier.verify(download);
+        System.out.println(report);
+
+        assertThat(report.contentType()).isEqualTo("zip");
+        assertThat(report.zipEntries()).hasSize(20);
+        assertThat(report.zipEntries().get(0).name()).isEqualTo(LargePayloadServer.zipEntryName(0));
+        assertThat(report.zipEntries()).allSatisfy(entry -> assertThat(entry.size()).isEqualTo(1048576));
+
+        /* Same download read again, this time written to disk while it is hashed. */
+        Path target = Files.createTempDirectory("downloads").resolve(download.suggestedFilename());
+        DownloadReport persisted = DownloadVerifier.verify(download, new DownloadVerifier.Options().setPersistTo(target));
+
+        assertThat(persisted.sha256()).isEqualTo(report.sha256());
+        assertThat(Files.size(target)).isEqualTo(report.size());
+
+        page.context().close();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ *  Copyright (c) 2024 Piyush Kumar
+ *  All Rights Reserved Worldwide.
+ */
+
+package com.piyush.playwright_examples.UI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Route;
+import com.microsoft.playwright.options.AriaRole;
+import com.piyush.playwright_examples.support.async.AsyncPage;
+import com.piyush.playwright_examples.support.async.AsyncPlaywright;
+import com.piyush.playwright_examples.support.launch.LaunchProfile;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The three scenarios of {@link _14MockAPIsForUI} (real search API, mocked with a single entry, mocked with no entries)
+ * driven through {@link AsyncPlaywright} : first one after the other, then all together with an instance per scenario.
+ * Both include launching the browsers, the speedup is printed at the end.
+ *
+ * @author Piyush Kumar.
+ * @since 18/10/26.
+ */
+public class _17ConcurrentScenariosWithAsyncFacade {
+
+    private record Scenario(String name, String mockedResponse, int expectedCards) {
+    }
+
+    private static final List<Scenario> SCENARIOS = List.of(
+        new Scenario("without mock", null, 4),
+        new Scenario("mock with a single entry", _14MockAPIsForUI.MockSearchResponses.RESPONSE_WITH_A_SINGLE_ENTRY, 1),
+        new Scenario("mock with no entries", _14MockAPIsForUI.MockSearchResponses.RESPONSE_WITH_NO_ENTRIES, 0)
+    );
+
+    @Test
+    public void testMockScenariosSeriallyAndConcurrently() {
+
+        long start = System.nanoTime();
+        try (AsyncPlaywright playwright = launch()) {
+            for (Scenario scenario : SCENARIOS) {
+                int count = playwright.newPage().thenCompose(page -> searchPliers(page, scenario)).join();
+                assertThat(count).as(scenario.name()).isEqualTo(scenario.expectedCards());
+            }
+        }
+        long serialNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        List<AsyncPlaywright> instances = SCENARIOS.stream().map(scenario -> launch()).toList();
+        try {
+            List<CompletableFuture<Integer>> counts = IntStream.range(0, SCENARIOS.size())
+                .mapToObj(i -> instances.get(i).newPage().thenCompose(page -> searchPliers(page, SCENARIOS.get(i))))
+                .toList();
+            CompletableFuture.allOf(counts.toArray(CompletableFuture<?>[]::new)).join();
+
+            for (int i = 0; i < SCENARIOS.size(); i++) {
+                assertThat(counts.get(i).join()).as(SCENARIOS.get(i).name()).isEqualTo(SCENARIOS.get(i).expectedCards());
+            }
+        } finally {
+            instances.forEach(AsyncPlaywright::close);
+        }
+        long concurrentNanos = System.nanoTime() - start;
+
+        System.out.printf("Serial : %d ms, concurrent : %d ms, speedup : %.2fx%n",
+            serialNanos / 1_000_000, concurrentNanos / 1_000_000, (double) serialNanos / concurrentNanos);
+    }
+
+    private static AsyncPlaywright launch() {
+        return AsyncPlaywright.launch(playwright -> playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false))));
+    }
+
+    /* Same steps as in _14MockAPIsForUI, each one queued once the previous is done. */
+    private static CompletableFuture<Integer> searchPliers(AsyncPage page, Scenario scenario) {
+
+        CompletableFuture<Void> mocked = scenario.mockedResponse() == null
+            ? CompletableFuture.completedFuture(null)
+            : page.route("**/products/search?q=pliers", route -> route.fulfill(new Route.FulfillOptions()
+                .setBody(scenario.mockedResponse())
+                .setStatus(200)));
+
+        return mocked
+            .thenCompose(routed -> page.navigate("https://practicesoftwaretesting.com"))
+            .thenCompose(navigated -> page.run(currentPage -> currentPage.getByPlaceholder("Search").fill("pliers")))
+            .thenCompose(filled -> page.waitForResponse("**/products/search**", currentPage ->
+                currentPage.getByRole(AriaRole.BUTTON, new Page.GetByRoleOptions().setName("Search")).click()))
+            .thenCompose(response -> page.count(".card"))
+            .whenComplete((count, failure) -> page.close());
+    }
+}
@@ -10,6 +10,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.microsoft.playwright.Browser;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Playwright;
+import com.piyush.playwright_examples.support.launch.LaunchProfile;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -22,7 +23,7 @@ public class _1BasicPlaywrightTest {
     public void testBasicPlaywrightSetupAndSiteTitle() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch();
+        Browser browser = playwright.chromium().launch(LaunchProfile.options());
         Page page = browser.newPage(); // newPage() by default creates a new browser context
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -40,7 +41,7 @@ public class _1BasicPlaywrightTest {
     public void testSearchByKeywordUsingTimeOut() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch();
+        Browser browser = playwright.chromium().launch(LaunchProfile.options());
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -68,7 +69,7 @@ public class _1BasicPlaywrightTest {
     public void testSearchByKeywordUsingWaitForResponseWithEmptyCallback() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch();
+        Browser browser = playwright.chromium().launch(LaunchProfile.options());
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -98,7 +99,7 @@ public class _1BasicPlaywrightTest {
     public void testSearchByKeywordUsingWaitForResponseUsingCallback() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch();
+        Browser browser = playwright.chromium().launch(LaunchProfile.options());
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -125,7 +126,7 @@ public class _1BasicPlaywrightTest {
     public void testSearchByKeywordUsingWaitForResponseWithoutTimeoutUsingCallback() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch();
+        Browser browser = playwright.chromium().launch(LaunchProfile.options());
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -151,7 +152,7 @@ public class _1BasicPlaywrightTest {
     public void testSearchByKeywordUsingWaitForResponseWithoutTimeoutUsingCallback2() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch();
+        Browser browser = playwright.chromium().launch(LaunchProfile.options());
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -9,7 +9,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.junit.UsePlaywright;
+import com.piyush.playwright_examples.support.instrumentation.ActionTimingExtension;
+import com.piyush.playwright_examples.support.launch.LaunchProfileOptions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 
 /**
  * @author Piyush Kumar.
@@ -20,7 +23,10 @@ import org.junit.jupiter.api.Test;
  * which will take care of creating these object and to access these objects in test method, we can pass these objects
  * as parameters in test method. */
 
-@UsePlaywright
+/* With -Dpw.timing.actions=true ActionTimingExtension wraps the injected Page, so every call made on it is timed. It takes
+ * over the invocation to do so, which is why it is the last (innermost) extension of the class. */
+@UsePlaywright(LaunchProfileOptions.class)
+@ExtendWith(ActionTimingExtension.class)
 public class _3UsePlaywrightAnnotation {
 
 
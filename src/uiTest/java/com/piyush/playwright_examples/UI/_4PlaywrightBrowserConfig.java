@@ -11,6 +11,7 @@ import com.microsoft.playwright.Browser;
 import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Playwright;
+import com.piyush.playwright_examples.support.launch.LaunchProfile;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 
@@ -25,11 +26,11 @@ public class _4PlaywrightBrowserConfig {
 
         Playwright playwright = Playwright.create();
 
-        Browser browser = playwright.chromium().launch(
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply( // -Dpw.launch.profile=fast-ci|debug wins over these.
             new BrowserType.LaunchOptions()
                 .setHeadless(false)
                 .setArgs(List.of("--no-sandbox", "--disable-extensions", "--disable-gpu"))
-        );
+        ));
 
         Page page = browser.newPage();
 
@@ -57,11 +58,11 @@ public class _4PlaywrightBrowserConfig {
 
         Playwright playwright = Playwright.create();
 
-        Browser browser = playwright.chromium().launch(
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply( // -Dpw.launch.profile=fast-ci|debug wins over these.
             new BrowserType.LaunchOptions()
                 .setHeadless(false)
                 .setArgs(List.of("--no-sandbox", "--disable-extensions", "--disable-gpu"))
-        );
+        ));
         
         Page page = browser.newPage();
 
@@ -10,8 +10,10 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.junit.Options;
-import com.microsoft.playwright.junit.OptionsFactory;
 import com.microsoft.playwright.junit.UsePlaywright;
+import com.piyush.playwright_examples.support.launch.LaunchProfile;
+import com.piyush.playwright_examples.support.selectors.IndexedTestIdOptions;
+import com.piyush.playwright_examples.support.selectors.UsesTestIdIndex;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 
@@ -24,18 +26,20 @@ import org.junit.jupiter.api.Test;
  * which will take care of creating these object and to access these objects in test method, we can pass these objects
  * as parameters in test method. */
 
+/* CustomBrowserOptions builds on IndexedTestIdOptions (data-test as test id attribute) and UsesTestIdIndex registers the
+ * indexed "test-index=" selector engine, so data-test lookups can use either getByTestId(..) or the index. */
 @UsePlaywright(_5BrowserConfigWithUsePlaywrightAnnotation.CustomBrowserOptions.class)
-public class _5BrowserConfigWithUsePlaywrightAnnotation {
+public class _5BrowserConfigWithUsePlaywrightAnnotation implements UsesTestIdIndex {
 
-    public static class CustomBrowserOptions implements OptionsFactory {
+    public static class CustomBrowserOptions extends IndexedTestIdOptions {
 
         @Override
         public Options getOptions() {
-            return new Options().setLaunchOptions(
+            return super.getOptions().setLaunchOptions(LaunchProfile.current().apply( // -Dpw.launch.profile=fast-ci|debug wins over these.
                 new BrowserType.LaunchOptions()
                     .setHeadless(false)
                     .setArgs(List.of("--no-sandbox", "--disable-extensions", "--disable-gpu"))
-            ).setTestIdAttribute("data-test");
+            ));
         }
     }
 
@@ -90,4 +94,17 @@ public class _5BrowserConfigWithUsePlaywrightAnnotation {
 
         assertThat(cardsCount).isEqualTo(4);
     }
+
+    /* Same lookups as getByTestId("product-name") but answered from the in-page index, see TestIdIndexEngine. */
+    @Test
+    public void testProductNamesUsingIndexedTestIds(Page page) {
+
+        page.navigate("https://practicesoftwaretesting.com");
+        page.locator("test-index=product-name").first().waitFor();
+
+        List<String> names = page.locator("test-index=product-name").allInnerTexts();
+        System.out.println("Product names are : " + names);
+
+        assertThat(names).isEqualTo(page.getByTestId("product-name").allInnerTexts());
+    }
 }
@@ -7,16 +7,19 @@ package com.piyush.playwright_examples.UI;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.junit.Options;
 import com.microsoft.playwright.junit.OptionsFactory;
 import com.microsoft.playwright.junit.UsePlaywright;
-import io.github.uchagani.jp.BrowserConfig;
-import io.github.uchagani.jp.PlaywrightBrowserConfig;
+import com.piyush.playwright_examples.support.launch.LaunchProfileBrowserConfig;
+import com.piyush.playwright_examples.support.tracing.ChunkedTraceExtension;
 import io.github.uchagani.jp.UseBrowserConfig;
 import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
 
 /**
  * junit-playwright dependency provides way to provide custom configuration with annotation with configuration.
@@ -31,6 +34,14 @@ import org.junit.jupiter.api.Test;
 @UseBrowserConfig(_6BrowserConfigWithBrowserConfigAnnotation.DefaultBrowserConfig.class)
 public class _6BrowserConfigWithBrowserConfigAnnotation {
 
+    /* Instead of enableTracing() on the browser config (which traces and saves every test), traces are kept only for failed tests. */
+    @RegisterExtension
+    static final ChunkedTraceExtension TRACES = ChunkedTraceExtension.fromSystemProperties();
+
+    @BeforeEach
+    public void setUp(BrowserContext browserContext) {
+        TRACES.attach(browserContext);
+    }
 
     /* We can also inject Playwright, Browser, BrowserContext object in the test methods as well. */
     @Test
@@ -84,18 +95,14 @@ public class _6BrowserConfigWithBrowserConfigAnnotation {
         assertThat(cardsCount).isEqualTo(4);
     }
 
-    public static class DefaultBrowserConfig implements PlaywrightBrowserConfig {
+    /* Launches as per -Dpw.launch.profile, see LaunchProfile. */
+    public static class DefaultBrowserConfig extends LaunchProfileBrowserConfig {
 
 //        @Override
 //        public BrowserConfig getBrowserConfig() {
-//            return new BrowserConfig().chromium().launch();
+//            return new BrowserConfig().chromium()
+//                .enableTracing() // this traces every test, see TRACES above for retain on failure tracing.
+//                .launch();
 //        }
-
-        @Override
-        public BrowserConfig getBrowserConfig() {
-            return new BrowserConfig().chromium()
-                .enableTracing()
-                .launch();
-        }
     }
 }
@@ -7,19 +7,16 @@ package com.piyush.playwright_examples.UI;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-import com.microsoft.playwright.Browser;
-import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.Page;
-import com.microsoft.playwright.Playwright;
-import com.microsoft.playwright.Tracing;
-import java.nio.file.Paths;
+import com.piyush.playwright_examples.support.browser.SharedBrowserExtension;
+import com.piyush.playwright_examples.support.launch.LaunchProfile;
+import com.piyush.playwright_examples.support.tracing.ChunkedTraceExtension;
 import org.junit.jupiter.api.AfterAll;
-import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.TestInfo;
 import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.RegisterExtension;
 
 /**
  * @author Piyush Kumar.
@@ -31,59 +28,54 @@ import org.junit.jupiter.api.TestInstance;
  *
  *  On trace details can be found here : https://playwright.dev/java/docs/trace-viewer-intro
  *
+ *  Tracing is started once for the shared browser context and each test records its own trace chunk. By default, the chunk
+ *  is written to build/artifacts/traces/trace-{class}-{test}.zip only when the test fails. Use -Dpw.trace.mode=on to keep all of them or
+ *  -Dpw.trace.sampleRate=0.1 to keep 10% of the passing ones as well.
+ *
  *  To see the trace, you can do following :
  *
  *  1. Go to https://trace.playwright.dev/ and drag and drop trace zip file
  *  2. Or run this command from the project root directory mvn exec:java -e -D exec.mainClass=com.microsoft.playwright.CLI -D exec.args="show-trace trace.zip"
  *  3. Or run npx playwright show-trace {trace zip file}
+ *
+ *  To find where the time went across all the traces of a run (slowest actions, longest waits, largest responses), run ./gradlew analyzeTraces
+ *
+ *  The shared browser is recycled (replaced by a fresh one, in between two tests) once it has run -Dpw.recycle.maxTests tests,
+ *  is older than -Dpw.recycle.maxAgeSec or its processes use more than -Dpw.recycle.maxRssMb, see BrowserRecycler. So the
+ *  context is taken from BROWSER.context() for every test and tracing is started on every new one.
+ *
+ *  If chromium crashes (a page crash or the whole browser going away) in the middle of a test, only that test fails, the
+ *  context (and browser) is rebuilt by BROWSER before the next test, so the remaining tests of the class still run.
  */
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 public class _7BrowserContextSharedAmongTestsAndTracing {
 
-    private Playwright playwright;
-    private Browser browser;
-    private BrowserContext browserContext;
+    @RegisterExtension
+    static final ChunkedTraceExtension TRACES = ChunkedTraceExtension.fromSystemProperties();
+
+    /* Tracing is started only once per context, per test chunks are handled by TRACES. */
+    @RegisterExtension
+    static final SharedBrowserExtension BROWSER = SharedBrowserExtension
+        .fromSystemProperties(playwright -> playwright.chromium().launch(LaunchProfile.options()))
+        .onNewContext(TRACES::attach);
+
     private Page page;
 
     @BeforeAll
     public void oneTimeSetUp() {
-
         System.out.println("Inside before all one time setup");
-
-        playwright = Playwright.create();
-        browser = playwright.chromium().launch();
-        browserContext = browser.newContext();
-
     }
 
     @BeforeEach
     public void setUp(){
         System.out.println("Inside before each setup");
 
-        browserContext.tracing().start(new Tracing.StartOptions()
-            .setScreenshots(true)
-            .setSnapshots(true));
-
-        page = browserContext.newPage();
-    }
-
-    @AfterEach
-    public void traceEach(TestInfo testInfo){
-
-        String testName = testInfo.getDisplayName().replace(" ", "-").toLowerCase();
-
-        browserContext.tracing().stop(new Tracing.StopOptions()
-            .setPath(Paths.get("trace-" + testName + ".zip")));
+        page = BROWSER.context().newPage();
     }
 
     @AfterAll
     public void teardown() {
-
-        System.out.println("Inside after all teardown");
-
-        browserContext.close();
-        browser.close();
-        playwright.close();
+        System.out.println("Inside after all teardown"); // browser and context are closed by BROWSER.
     }
 
 
@@ -17,6 +17,11 @@ import com.microsoft.playwright.TimeoutError;
 import com.microsoft.playwright.assertions.PlaywrightAssertions;
 import com.microsoft.playwright.options.AriaRole;
 import com.microsoft.playwright.options.FilePayload;
+import com.piyush.playwright_examples.support.cache.FrameCache;
+import com.piyush.playwright_examples.support.downloads.DownloadReport;
+import com.piyush.playwright_examples.support.downloads.DownloadVerifier;
+import com.piyush.playwright_examples.support.extraction.ProductCard;
+import com.piyush.playwright_examples.support.launch.LaunchProfile;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
@@ -54,7 +59,7 @@ public class _8Locators {
     public void testGetByText() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(true));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(true)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -74,7 +79,7 @@ public class _8Locators {
     public void testGetByTextWithIsVisible() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -101,7 +106,7 @@ public class _8Locators {
     public void testGetByAltText() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -120,7 +125,7 @@ public class _8Locators {
     public void testGetByTitle() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(true));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(true)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -143,7 +148,7 @@ public class _8Locators {
     public void testGetByRole() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -178,7 +183,7 @@ public class _8Locators {
 
         Playwright playwright = Playwright.create();
         playwright.selectors().setTestIdAttribute("data-test"); // NOTE this, we need to define what is the name of the test id attribute.
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -199,7 +204,7 @@ public class _8Locators {
     public void testGetByLabel() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com/contact");
@@ -217,7 +222,7 @@ public class _8Locators {
     public void testGetByPlaceholder() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com/contact");
@@ -244,7 +249,7 @@ public class _8Locators {
     public void testGetByTextToTestTimeout() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -270,7 +275,7 @@ public class _8Locators {
     public void testGetByTextWaitingOnInnerTextOrTextContentMethod() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -293,7 +298,7 @@ public class _8Locators {
     public void testInnerTextOrTextContentMethodHasWaitingTime() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -327,7 +332,7 @@ public class _8Locators {
     @Test
     public void testFillForm() throws URISyntaxException {
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com/contact");
@@ -367,7 +372,7 @@ public class _8Locators {
     @Test
     public void testMultiFileUpload() throws URISyntaxException {
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://davidwalsh.name/demo/multiple-file-upload.php");
@@ -387,7 +392,7 @@ public class _8Locators {
     @Test
     public void testFileUploadWithFilePayload(){
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://davidwalsh.name/demo/multiple-file-upload.php");
@@ -404,7 +409,7 @@ public class _8Locators {
     @Test
     public void testDownloadFile(){
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://chromedriver.storage.googleapis.com/index.html?path=2.0/");
@@ -416,10 +421,17 @@ public class _8Locators {
 
         System.out.println("Downloaded url : " + download.url());
         System.out.println("Download Page title : " + download.page().title());
-        System.out.println("Download Path url : " + download.path().toString());
-        download.saveAs(Paths.get("piyush_chrome-1.zip"));
         System.out.println("Download suggested filename : " + download.suggestedFilename());
 
+        /*
+         * To inspect the download there is no need to copy it (saveAs) or wait for its path(), size, SHA-256 and zip entries
+         * are read in a single streaming pass. A copy, when needed, is written in the same pass :
+         * DownloadVerifier.verify(download, new DownloadVerifier.Options().setPersistTo(Paths.get("piyush_chrome-1.zip")))
+         */
+        DownloadReport report = DownloadVerifier.verify(download);
+        System.out.println("Download report : " + report);
+        assertThat(report.zipEntries()).extracting(DownloadReport.ZipEntryInfo::name).contains("chromedriver");
+
         browser.close();
         playwright.close();
     }
@@ -433,7 +445,7 @@ public class _8Locators {
 
         Playwright playwright = Playwright.create();
         playwright.selectors().setTestIdAttribute("data-test");
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -462,7 +474,7 @@ public class _8Locators {
     public void testNestedLocators1() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -479,7 +491,7 @@ public class _8Locators {
     public void testNestedLocators2() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -497,7 +509,7 @@ public class _8Locators {
 
         Playwright playwright = Playwright.create();
         playwright.selectors().setTestIdAttribute("data-test");
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com");
@@ -516,6 +528,37 @@ public class _8Locators {
         playwright.close();
     }
 
+    /**
+     * Same information as above tests but for all the cards at once : name, price and stock of every card is read in a single
+     * browser round-trip (locator.evaluateAll), instead of one round-trip per locator call. Filtering is then plain Java.
+     */
+    @Test
+    public void testBulkExtractProductCards() {
+
+        Playwright playwright = Playwright.create();
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(true)));
+        Page page = browser.newPage();
+
+        page.navigate("https://practicesoftwaretesting.com");
+        page.locator("[data-test=product-name]").first().waitFor(); // evaluateAll does not auto-wait.
+
+        List<ProductCard> cards = ProductCard.EXTRACTOR.extractFrom(page);
+        System.out.println("Cards are " + cards);
+
+        List<String> hammers = cards.stream().map(ProductCard::name).filter(name -> name.contains("Hammer")).toList();
+        List<String> outOfStock = cards.stream().filter(card -> !card.inStock()).map(ProductCard::name).toList();
+        System.out.println("Hammers are " + hammers + ", out of stock " + outOfStock);
+
+        assertThat(cards).isNotEmpty().allSatisfy(card -> assertThat(card.price()).isPositive());
+
+        /* Extraction can also be scoped to filtered containers. */
+        List<ProductCard> pliers = ProductCard.EXTRACTOR.extractFrom(page.locator(".card").filter(new Locator.FilterOptions().setHasText("Pliers")));
+        assertThat(pliers).allSatisfy(card -> assertThat(card.name()).contains("Pliers"));
+
+        browser.close();
+        playwright.close();
+    }
+
 
 
 
@@ -531,7 +574,7 @@ public class _8Locators {
     public void testGetNthElement() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
         page.navigate("https://practicesoftwaretesting.com");
 
@@ -563,7 +606,7 @@ public class _8Locators {
 
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com/contact");
@@ -581,7 +624,7 @@ public class _8Locators {
     public void testGetByClassCssSelector() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com/contact");
@@ -611,7 +654,7 @@ public class _8Locators {
 
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com/contact");
@@ -630,7 +673,7 @@ public class _8Locators {
 
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://practicesoftwaretesting.com/contact");
@@ -649,7 +692,7 @@ public class _8Locators {
     public void testMultipleElementCssSelector() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://www.orangehrm.com/en/contact-sales");
@@ -679,7 +722,7 @@ public class _8Locators {
     public void testTextCssSelector1() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://www.orangehrm.com/en/30-day-free-trial");
@@ -698,7 +741,7 @@ public class _8Locators {
     public void testTextCssSelector2() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://demo-opencart.com/index.php?route=account/login&language=en-gb");
@@ -718,7 +761,7 @@ public class _8Locators {
     public void testVisibleElement() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://www.amazon.in");
@@ -747,7 +790,7 @@ public class _8Locators {
     public void testElementContainingOtherElements1() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://www.orangehrm.com/en/30-day-free-trial");
@@ -763,7 +806,7 @@ public class _8Locators {
     @Test
     public void testElementContainingOtherElements2() {
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://www.amazon.in");
@@ -780,7 +823,7 @@ public class _8Locators {
     @Test
     public void testCommaSeperatedCssSelector() {
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://academy.naveenautomationlabs.com/");
@@ -794,7 +837,7 @@ public class _8Locators {
     @Test
     public void testCommaSeperatedCssSelectorGetMultipleElements() {
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://academy.naveenautomationlabs.com/");
@@ -813,7 +856,7 @@ public class _8Locators {
     public void testRelativeCssSelector() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://selectorshub.com/xpath-practice-page/");
@@ -842,7 +885,7 @@ public class _8Locators {
     public void testNthCssSelector() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://www.bigbasket.com/");
@@ -861,7 +904,7 @@ public class _8Locators {
     @Test
     public void testScopeSelector() {
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://datatables.net/extensions/fixedcolumns/examples/integration/select-checkbox.html");
@@ -881,7 +924,7 @@ public class _8Locators {
     public void testReactSelector() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://www.netflix.com/in/");
@@ -902,7 +945,7 @@ public class _8Locators {
     public void testBasicXPath(){
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://www.amazon.in");
@@ -923,7 +966,7 @@ public class _8Locators {
     public void testXPathWithParentSiblingProperties(){
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://selectorshub.com/xpath-practice-page/");
@@ -940,7 +983,7 @@ public class _8Locators {
     public void testXPathForGrandChildrenRelation(){
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://selectorshub.com/xpath-practice-page/");
@@ -957,7 +1000,7 @@ public class _8Locators {
     public void testXPathForGrandChildrenIndex(){
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://selectorshub.com/xpath-practice-page/");
@@ -974,7 +1017,7 @@ public class _8Locators {
     public void testVisibleElementViaXPath() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://www.amazon.in");
@@ -996,7 +1039,7 @@ public class _8Locators {
     @Test
     public void testXPathORing() {
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://academy.naveenautomationlabs.com/");
@@ -1010,7 +1053,7 @@ public class _8Locators {
     @Test
     public void testXPathORingGetMultipleElements() {
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://academy.naveenautomationlabs.com/");
@@ -1031,7 +1074,7 @@ public class _8Locators {
     public void testFrame() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://www.londonfreelance.org/courses/frames/index.html");
@@ -1052,7 +1095,7 @@ public class _8Locators {
     public void testIFrame() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://www.formsite.com/templates/registration-form-templates/vehicle-registration-form");
@@ -1067,6 +1110,29 @@ public class _8Locators {
         playwright.close();
     }
 
+    /* frameLocator(..) above finds the iframe again for every field. FrameCache resolves it once and the frame is reused for
+     * all the fields, until the page navigates or the iframe is detached. */
+    @Test
+    public void testIFrameWithFrameCache() {
+
+        Playwright playwright = Playwright.create();
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
+        Page page = browser.newPage();
+
+        page.navigate("https://www.formsite.com/templates/registration-form-templates/vehicle-registration-form");
+
+        page.locator("img[title='Vehicle-Registration-Forms-and-Examples']").click();
+
+        FrameCache frames = new FrameCache(page);
+        frames.frame("//iframe[contains(@id, 'frame-one')]").locator("#RESULT_TextField-1").fill("Hello");
+        frames.frame("//iframe[contains(@id, 'frame-one')]").locator("#RESULT_TextField-2").fill("World");
+
+        System.out.println("Frame cache : " + frames.stats());
+
+        browser.close();
+        playwright.close();
+    }
+
 
 
 
@@ -1089,7 +1155,7 @@ public class _8Locators {
     public void testShadowDom() {
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         Page page = browser.newPage();
 
         page.navigate("https://books-pwakit.appspot.com");
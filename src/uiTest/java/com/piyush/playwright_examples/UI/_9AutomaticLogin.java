@@ -10,6 +10,7 @@ import com.microsoft.playwright.BrowserContext;
 import com.microsoft.playwright.BrowserType;
 import com.microsoft.playwright.Page;
 import com.microsoft.playwright.Playwright;
+import com.piyush.playwright_examples.support.launch.LaunchProfile;
 import java.nio.file.Paths;
 import org.junit.jupiter.api.Test;
 
@@ -23,7 +24,7 @@ public class _9AutomaticLogin {
     public void testLoginToCreateCredJson(){
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         BrowserContext browserContext = browser.newContext();
         Page page = browserContext.newPage();
 
@@ -45,7 +46,7 @@ public class _9AutomaticLogin {
     public void testLoginToUseCredJson(){
 
         Playwright playwright = Playwright.create();
-        Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions().setHeadless(false));
+        Browser browser = playwright.chromium().launch(LaunchProfile.current().apply(new BrowserType.LaunchOptions().setHeadless(false)));
         BrowserContext browserContext = browser.newContext(new Browser.NewContextOptions().setStorageStatePath(Paths.get("credential.json")));
         Page page = browserContext.newPage();
 